@@ -0,0 +1,63 @@
+package com.apicatalog.multibase.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.apicatalog.multibase.CachingMultibase;
+import com.apicatalog.multibase.Multibase;
+
+/**
+ * Compares {@link Multibase#encode(byte[])} with a cache hit of
+ * {@link CachingMultibase}, the data behind the default minimal lengths of
+ * {@link CachingMultibase#defaultMinLength(Multibase)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CachingEncodeBenchmark {
+
+    @Param({ "base16", "base32", "base58btc", "base64url" })
+    String base;
+
+    @Param({ "1", "4", "8", "16", "32", "64", "256", "1024", "4096" })
+    int size;
+
+    Multibase multibase;
+
+    CachingMultibase caching;
+
+    byte[] data;
+
+    @Setup
+    public void setup() {
+        multibase = Payloads.base(base);
+        caching = CachingMultibase.getInstance(multibase, 16, 1);
+        data = Payloads.create(size);
+        // a hit on every call
+        caching.encode(data);
+    }
+
+    @Benchmark
+    public String encode() {
+        return multibase.encode(data);
+    }
+
+    @Benchmark
+    public String cached() {
+        return caching.encode(data);
+    }
+}
@@ -0,0 +1,57 @@
+package com.apicatalog.multibase.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.apicatalog.multibase.Multibase;
+
+/**
+ * Measures {@link Multibase#decode(String)} of every provided base.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecodeBenchmark {
+
+    @Param({
+            "base2",
+            "base16", "base16upper",
+            "base32", "base32upper", "base32pad", "base32padupper",
+            "base32hex", "base32hexupper", "base32hexpad", "base32hexpadupper",
+            "base58btc",
+            "base64", "base64pad", "base64url", "base64urlpad"
+    })
+    String base;
+
+    @Param({ "32", "34", "64", "1024", "65536", "1048576" })
+    int size;
+
+    Multibase multibase;
+
+    String encoded;
+
+    @Setup
+    public void setup() {
+        multibase = Payloads.base(base);
+        encoded = multibase.encode(Payloads.create(size));
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return multibase.decode(encoded);
+    }
+}
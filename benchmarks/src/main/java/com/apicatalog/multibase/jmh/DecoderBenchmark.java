@@ -0,0 +1,61 @@
+package com.apicatalog.multibase.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.apicatalog.multibase.Multibase;
+import com.apicatalog.multibase.MultibaseDecoder;
+
+/**
+ * Measures {@link MultibaseDecoder#decode(String)} prefix dispatch over a mix
+ * of values encoded with every provided base, as seen when verifying
+ * credentials.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecoderBenchmark {
+
+    @Param({ "32", "34", "64", "1024", "65536", "1048576" })
+    int size;
+
+    MultibaseDecoder decoder;
+
+    String[] encoded;
+
+    @Setup
+    public void setup() {
+        decoder = MultibaseDecoder.getInstance();
+
+        final byte[] data = Payloads.create(size);
+        final Multibase[] bases = Multibase.provided();
+
+        encoded = new String[bases.length];
+
+        for (int i = 0; i < bases.length; i++) {
+            encoded[i] = bases[i].encode(data);
+        }
+    }
+
+    @Benchmark
+    public void decode(final Blackhole blackhole) {
+        for (final String value : encoded) {
+            blackhole.consume(decoder.decode(value));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.apicatalog.multibase.jmh;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.apicatalog.multibase.Multibase;
+
+/**
+ * Deterministic benchmark payloads and lookup helpers.
+ */
+final class Payloads {
+
+    /** ed25519-pub multicodec header, e.g. {@code z6Mk...} keys. */
+    static final byte[] ED25519_PUB = new byte[] { (byte) 0xed, 0x01 };
+
+    private Payloads() {
+        /* protected */}
+
+    /**
+     * Creates a pseudo-random payload of the given size. A 34-byte payload is
+     * shaped as a multicodec prefixed ed25519 public key.
+     *
+     * @param size the payload size in bytes
+     * @return a new payload
+     */
+    static byte[] create(final int size) {
+        final byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+
+        if (size == 34) {
+            System.arraycopy(ED25519_PUB, 0, data, 0, ED25519_PUB.length);
+        }
+        return data;
+    }
+
+    /**
+     * Returns the provided {@link Multibase} with the given name.
+     *
+     * @param name the multibase name
+     * @return the multibase
+     * @throws IllegalArgumentException if there is no such base
+     */
+    static Multibase base(final String name) {
+        return Arrays.stream(Multibase.provided())
+                .filter(base -> base.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown multibase [" + name + "]."));
+    }
+}
@@ -0,0 +1,48 @@
+package com.apicatalog.base;
+
+/**
+ * A read-only {@link CharSequence} view of US-ASCII characters held by a byte
+ * array.
+ */
+final class AsciiChars implements CharSequence {
+
+    private final byte[] ascii;
+    private final int offset;
+    private final int length;
+
+    AsciiChars(final byte[] ascii, final int offset, final int length) {
+        this.ascii = ascii;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return (char) (ascii[offset + index] & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        return new AsciiChars(ascii, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        final char[] chars = new char[length];
+        for (int index = 0; index < length; index++) {
+            chars[index] = (char) (ascii[offset + index] & 0xff);
+        }
+        return new String(chars);
+    }
+}
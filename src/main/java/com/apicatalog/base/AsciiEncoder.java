@@ -0,0 +1,66 @@
+package com.apicatalog.base;
+
+/**
+ * The encoding loop of a base, writing US-ASCII characters into a byte array.
+ * <p>
+ * Each base has a single loop, the US-ASCII one, and encodes into character
+ * arrays by widening its output, so that both forms always produce the same
+ * characters and share the vectorized paths.
+ * </p>
+ */
+@FunctionalInterface
+interface AsciiEncoder {
+
+    /** The maximal number of characters encoded at a time before widening. */
+    int CHUNK_LENGTH = 1024;
+
+    /**
+     * Encodes a range of the given bytes as US-ASCII characters.
+     *
+     * @return the number of characters written
+     */
+    int encode(byte[] src, int off, int len, byte[] dst, int dstOff);
+
+    /**
+     * Encodes a range of the given bytes into the given character array, a chunk
+     * of whole blocks at a time through a bounded US-ASCII buffer. Only the last
+     * chunk may end with a partial, possibly padded, block. The capacity of
+     * {@code dst} is expected to be checked by the caller.
+     *
+     * @param encoder      the encoding loop
+     * @param block        the number of bytes of a block
+     * @param encodedBlock the number of characters a block is encoded into
+     * @return the number of characters written
+     */
+    static int toChars(final AsciiEncoder encoder, final int block, final int encodedBlock,
+            final byte[] src, final int off, final int len, final char[] dst, final int dstOff) {
+
+        final int step = CHUNK_LENGTH / encodedBlock * block;
+
+        final byte[] ascii = new byte[(int) Math.min(CHUNK_LENGTH, ((long) len + block - 1) / block * encodedBlock)];
+
+        int index = 0;
+        int encoded = dstOff;
+
+        while (index < len) {
+
+            final int chunk = Math.min(step, len - index);
+            final int count = encoder.encode(src, off + index, chunk, ascii, 0);
+
+            widen(ascii, 0, count, dst, encoded);
+
+            index += chunk;
+            encoded += count;
+        }
+        return encoded - dstOff;
+    }
+
+    /**
+     * Copies US-ASCII characters into a character array.
+     */
+    static void widen(final byte[] ascii, final int off, final int len, final char[] dst, final int dstOff) {
+        for (int index = 0; index < len; index++) {
+            dst[dstOff + index] = (char) (ascii[off + index] & 0xff);
+        }
+    }
+}
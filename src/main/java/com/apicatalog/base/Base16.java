@@ -1,5 +1,8 @@
 package com.apicatalog.base;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 /*
  * https://datatracker.ietf.org/doc/html/rfc4648
  */
@@ -15,6 +18,24 @@ public class Base16 {
             'A', 'B', 'C', 'D', 'E', 'F',
     };
 
+    /**
+     * Encoded character pairs indexed by a byte value, the first character held
+     * in the upper 16 bits.
+     */
+    private static final int[] PAIRS_LOWER = pairs(ALPHABET_LOWER);
+    private static final int[] PAIRS_UPPER = pairs(ALPHABET_UPPER);
+
+    /** Nibble values indexed by an ASCII character, {@code -1} if invalid. */
+    private static final byte[] NIBBLES = new byte[128];
+
+    static {
+        Arrays.fill(NIBBLES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            NIBBLES[ALPHABET_LOWER[i]] = (byte) i;
+            NIBBLES[ALPHABET_UPPER[i]] = (byte) i;
+        }
+    }
+
     /**
      * Encodes the given byte array into a hexadecimal string using the specified
      * alphabet.
@@ -32,14 +53,74 @@ public class Base16 {
             return "";
         }
 
-        final StringBuilder encoded = new StringBuilder(data.length * 2);
+        final byte[] encoded = new byte[data.length * 2];
+
+        encode(data, 0, data.length, encoded, 0, alphabet);
+
+        return new String(encoded, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Encodes a range of the given byte array into the given character array
+     * using the specified alphabet.
+     *
+     * @param src      the data to encode
+     * @param off      the index of the first byte to encode
+     * @param len      the number of bytes to encode
+     * @param dst      the output array
+     * @param dstOff   the index at which the first character is written
+     * @param alphabet the 16-character alphabet (lowercase or uppercase)
+     * @return the number of characters written, always {@code len * 2}
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int encode(final byte[] src, final int off, final int len, final char[] dst, final int dstOff, final char[] alphabet) {
+
+        final int length = len * 2;
+
+        if (dst.length - dstOff < length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + length + " encoded characters.");
+        }
+
+        return AsciiEncoder.toChars((s, o, l, d, dOff) -> encode(s, o, l, d, dOff, alphabet), 1, 2, src, off, len, dst, dstOff);
+    }
+
+    /**
+     * Encodes a range of the given byte array into the given array as US-ASCII
+     * characters using the specified alphabet.
+     *
+     * @param src      the data to encode
+     * @param off      the index of the first byte to encode
+     * @param len      the number of bytes to encode
+     * @param dst      the output array
+     * @param dstOff   the index at which the first character is written
+     * @param alphabet the 16-character alphabet (lowercase or uppercase)
+     * @return the number of characters written, always {@code len * 2}
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int encode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final char[] alphabet) {
+
+        final int length = len * 2;
+
+        if (dst.length - dstOff < length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + length + " encoded characters.");
+        }
+
+        final int vectorized = VectorCodec.INSTANCE != null && len >= VectorCodec.THRESHOLD
+                ? VectorCodec.INSTANCE.encodeBase16(src, off, len, dst, dstOff, alphabet)
+                : 0;
 
-        for (int index = 0; index < data.length; index++) {
-            encoded.append(alphabet[0x0f & (data[index] >>> 4)]);
-            encoded.append(alphabet[0x0f & data[index]]);
+        final int[] pairs = pairs(alphabet);
+
+        int index = dstOff + vectorized * 2;
+
+        for (int i = off + vectorized; i < off + len; i++) {
+            final int pair = pairs[src[i] & 0xff];
+            dst[index] = (byte) (pair >>> 16);
+            dst[index + 1] = (byte) pair;
+            index += 2;
         }
 
-        return encoded.toString();
+        return length;
     }
 
     /**
@@ -58,23 +139,176 @@ public class Base16 {
             return new byte[0];
         }
 
-        final char[] chars = encoded.toCharArray();
+        if (encoded.length() % 2 != 0) {
+            throw new IllegalArgumentException("Encoded string must have an even number of characters.");
+        }
+
+        final byte[] data = new byte[encoded.length() / 2];
+
+        decode(encoded, 0, encoded.length(), data, 0);
+
+        return data;
+    }
+
+    /**
+     * Decodes a range of the given base16 characters into the given byte array.
+     * Both lowercase and uppercase characters are accepted.
+     *
+     * @param src    the base16 characters to decode
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode, an even number
+     * @param dst    the output array
+     * @param dstOff the index at which the first byte is written
+     * @return the number of bytes written, always {@code len / 2}
+     * @throws IllegalArgumentException if {@code len} is odd, the input contains
+     *                                  non-hex characters, or {@code dst} does
+     *                                  not have enough space
+     */
+    public static int decode(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff) {
 
-        if (chars.length % 2 != 0) {
+        final int decoded = tryDecode(src, off, len, dst, dstOff);
+
+        if (decoded == DecodeStatus.INVALID_LENGTH.code()) {
             throw new IllegalArgumentException("Encoded string must have an even number of characters.");
         }
+        if (decoded < 0) {
+            throw invalidCharacter(src, off, len);
+        }
+        return decoded;
+    }
 
-        final byte[] data = new byte[chars.length / 2];
+    /**
+     * Decodes a range of the given base16 characters into the given byte array
+     * without throwing an exception on malformed input. Both lowercase and
+     * uppercase characters are accepted.
+     *
+     * @param src    the base16 characters to decode
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode
+     * @param dst    the output array, partially written on failure
+     * @param dstOff the index at which the first byte is written
+     * @return the number of bytes written, always {@code len / 2}, or the
+     *         negative {@link DecodeStatus#code()} of the reason the input
+     *         cannot be decoded
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int tryDecode(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff) {
 
-        for (int index = 0; index < data.length; index++) {
+        if (len % 2 != 0) {
+            return DecodeStatus.INVALID_LENGTH.code();
+        }
 
-            int a = charToCode(chars[index * 2]);
-            int b = charToCode(chars[(index * 2) + 1]);
+        final int length = len / 2;
 
-            data[index] = (byte) (a << 4 | b);
+        if (dst.length - dstOff < length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + length + " decoded bytes.");
         }
 
-        return data;
+        final int blocks = dstOff + (length & ~3);
+        final int end = dstOff + length;
+
+        int index = off;
+        int decoded = dstOff;
+
+        // 8 characters into 4 bytes, validated at once
+        while (decoded < blocks) {
+
+            final int n0 = nibble(src.charAt(index));
+            final int n1 = nibble(src.charAt(index + 1));
+            final int n2 = nibble(src.charAt(index + 2));
+            final int n3 = nibble(src.charAt(index + 3));
+            final int n4 = nibble(src.charAt(index + 4));
+            final int n5 = nibble(src.charAt(index + 5));
+            final int n6 = nibble(src.charAt(index + 6));
+            final int n7 = nibble(src.charAt(index + 7));
+
+            if ((n0 | n1 | n2 | n3 | n4 | n5 | n6 | n7) < 0) {
+                return DecodeStatus.INVALID_CHARACTER.code();
+            }
+
+            dst[decoded] = (byte) (n0 << 4 | n1);
+            dst[decoded + 1] = (byte) (n2 << 4 | n3);
+            dst[decoded + 2] = (byte) (n4 << 4 | n5);
+            dst[decoded + 3] = (byte) (n6 << 4 | n7);
+
+            index += 8;
+            decoded += 4;
+        }
+
+        while (decoded < end) {
+
+            final int n0 = nibble(src.charAt(index));
+            final int n1 = nibble(src.charAt(index + 1));
+
+            if ((n0 | n1) < 0) {
+                return DecodeStatus.INVALID_CHARACTER.code();
+            }
+
+            dst[decoded++] = (byte) (n0 << 4 | n1);
+            index += 2;
+        }
+
+        return length;
+    }
+
+    /**
+     * Decodes a range of the given US-ASCII base16 characters into the given byte
+     * array. Both lowercase and uppercase characters are accepted.
+     *
+     * @param src    the base16 US-ASCII characters to decode
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode, an even number
+     * @param dst    the output array
+     * @param dstOff the index at which the first byte is written
+     * @return the number of bytes written, always {@code len / 2}
+     * @throws IllegalArgumentException if {@code len} is odd, the input contains
+     *                                  non-hex characters, or {@code dst} does
+     *                                  not have enough space
+     */
+    public static int decode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) {
+
+        if (len % 2 != 0) {
+            throw new IllegalArgumentException("Encoded string must have an even number of characters.");
+        }
+
+        final int length = len / 2;
+
+        if (dst.length - dstOff < length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + length + " decoded bytes.");
+        }
+
+        final int vectorized = VectorCodec.INSTANCE != null && len >= VectorCodec.THRESHOLD
+                ? VectorCodec.INSTANCE.decodeBase16(src, off, len, dst, dstOff)
+                : 0;
+
+        return vectorized / 2 + decode(new AsciiChars(src, off + vectorized, len - vectorized), 0, len - vectorized, dst, dstOff + vectorized / 2);
+    }
+
+    /**
+     * Validates a range of the given characters as base16 without decoding them.
+     * Both lowercase and uppercase characters are accepted.
+     *
+     * @param src the base16 characters to validate
+     * @param off the index of the first character to validate
+     * @param len the number of characters to validate
+     * @return {@link DecodeStatus#VALID} if the characters can be decoded,
+     *         otherwise the reason they cannot
+     */
+    public static DecodeStatus validate(final CharSequence src, final int off, final int len) {
+
+        if (len % 2 != 0) {
+            return DecodeStatus.INVALID_LENGTH;
+        }
+
+        int invalid = 0;
+
+        for (int index = off; index < off + len; index++) {
+            invalid |= nibble(src.charAt(index));
+        }
+
+        return invalid < 0
+                ? DecodeStatus.INVALID_CHARACTER
+                : DecodeStatus.VALID;
     }
 
     /**
@@ -85,15 +319,49 @@ public class Base16 {
      * @throws IllegalArgumentException if the character is not in [0-9a-fA-F]
      */
     public static int charToCode(char ch) {
-        if (ch >= 'a' && ch <= 'f') {
-            return ch - (int) 'a' + 10;
+        final int code = nibble(ch);
+        if (code < 0) {
+            throw new IllegalArgumentException("Invalid hexadecimal character: '" + ch + "'");
         }
-        if (ch >= 'A' && ch <= 'F') {
-            return ch - (int) 'A' + 10;
+        return code;
+    }
+
+    /**
+     * Returns the nibble value of the given character, or {@code -1} if the
+     * character is not in [0-9a-fA-F], without branching.
+     */
+    static int nibble(final char ch) {
+        // characters above 0x7f turn the result negative
+        return NIBBLES[ch & 0x7f] | ((0x7f - ch) >> 31);
+    }
+
+    static IllegalArgumentException invalidCharacter(final CharSequence src, final int off, final int len) {
+        for (int index = off; index < off + len; index++) {
+            if (nibble(src.charAt(index)) < 0) {
+                return new IllegalArgumentException("Invalid hexadecimal character: '" + src.charAt(index) + "'");
+            }
+        }
+        return new IllegalArgumentException("Invalid hexadecimal character.");
+    }
+
+    /**
+     * Returns encoded character pairs for the given alphabet, precomputed for the
+     * provided alphabets.
+     */
+    static int[] pairs(final char[] alphabet) {
+
+        if (alphabet == ALPHABET_LOWER && PAIRS_LOWER != null) {
+            return PAIRS_LOWER;
         }
-        if (ch >= '0' && ch <= '9') {
-            return ch - (int) '0';
+        if (alphabet == ALPHABET_UPPER && PAIRS_UPPER != null) {
+            return PAIRS_UPPER;
+        }
+
+        final int[] pairs = new int[256];
+
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = alphabet[i >>> 4] << 16 | alphabet[i & 0x0f];
         }
-        throw new IllegalArgumentException("Invalid hexadecimal character: '" + ch + "'");
+        return pairs;
     }
 }
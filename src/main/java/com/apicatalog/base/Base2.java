@@ -1,5 +1,7 @@
 package com.apicatalog.base;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Base2 encoding and decoding (binary).
  * <p>
@@ -7,6 +9,34 @@ package com.apicatalog.base;
  */
 public class Base2 {
 
+    /**
+     * Eight US-ASCII characters encoding a byte value, indexed by the value, the
+     * first character held in the most significant byte.
+     */
+    private static final long[] OCTETS = new long[256];
+
+    /** Eight US-ASCII '0' characters packed into a long. */
+    private static final long ZEROS = 0x3030303030303030L;
+
+    /** The lowest bit of each byte of a long. */
+    private static final long ONES = 0x0101010101010101L;
+
+    /**
+     * Gathers the lowest bits of each byte into the most significant byte, the
+     * bit of the most significant byte becomes its highest bit.
+     */
+    private static final long GATHER = 0x0102040810204080L;
+
+    static {
+        for (int value = 0; value < 256; value++) {
+            long octet = 0;
+            for (int bit = 7; bit >= 0; bit--) {
+                octet = octet << 8 | ('0' + ((value >>> bit) & 1));
+            }
+            OCTETS[value] = octet;
+        }
+    }
+
     private Base2() {
         /* protected */}
 
@@ -25,19 +55,73 @@ public class Base2 {
             return "";
         }
 
-        final StringBuilder encoded = new StringBuilder(data.length * 8);
+        final byte[] encoded = new byte[data.length * 8];
+
+        encode(data, 0, data.length, encoded, 0);
+
+        return new String(encoded, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Encodes a range of the given byte array into the given character array.
+     *
+     * @param src    the data to encode
+     * @param off    the index of the first byte to encode
+     * @param len    the number of bytes to encode
+     * @param dst    the output array
+     * @param dstOff the index at which the first character is written
+     * @return the number of characters written, always {@code len * 8}
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int encode(final byte[] src, final int off, final int len, final char[] dst, final int dstOff) {
+
+        final int length = len * 8;
+
+        if (dst.length - dstOff < length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + length + " encoded characters.");
+        }
+
+        return AsciiEncoder.toChars(Base2::encode, 1, 8, src, off, len, dst, dstOff);
+    }
+
+    /**
+     * Encodes a range of the given byte array into the given array as US-ASCII
+     * characters.
+     *
+     * @param src    the data to encode
+     * @param off    the index of the first byte to encode
+     * @param len    the number of bytes to encode
+     * @param dst    the output array
+     * @param dstOff the index at which the first character is written
+     * @return the number of characters written, always {@code len * 8}
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int encode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) {
+
+        final int length = len * 8;
+
+        if (dst.length - dstOff < length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + length + " encoded characters.");
+        }
+
+        int index = dstOff;
 
-        for (int index = 0; index < data.length; index++) {
-            encoded.append(codeToChar(0x80 & data[index]))
-                    .append(codeToChar(0x40 & data[index]))
-                    .append(codeToChar(0x20 & data[index]))
-                    .append(codeToChar(0x10 & data[index]))
-                    .append(codeToChar(0x08 & data[index]))
-                    .append(codeToChar(0x04 & data[index]))
-                    .append(codeToChar(0x02 & data[index]))
-                    .append(codeToChar(0x01 & data[index]));
+        for (int i = off; i < off + len; i++) {
+
+            final long octet = OCTETS[src[i] & 0xff];
+
+            dst[index] = (byte) (octet >>> 56);
+            dst[index + 1] = (byte) (octet >>> 48);
+            dst[index + 2] = (byte) (octet >>> 40);
+            dst[index + 3] = (byte) (octet >>> 32);
+            dst[index + 4] = (byte) (octet >>> 24);
+            dst[index + 5] = (byte) (octet >>> 16);
+            dst[index + 6] = (byte) (octet >>> 8);
+            dst[index + 7] = (byte) octet;
+
+            index += 8;
         }
-        return encoded.toString();
+        return length;
     }
 
     /**
@@ -56,39 +140,211 @@ public class Base2 {
             return new byte[0];
         }
 
-        final char[] chars = encoded.toCharArray();
+        if (encoded.length() % 8 != 0) {
+            throw new IllegalArgumentException("Encoded string length must be a multiple of 8.");
+        }
+
+        final byte[] data = new byte[encoded.length() / 8];
+
+        decode(encoded, 0, encoded.length(), data, 0);
+
+        return data;
+    }
+
+    /**
+     * Decodes a range of the given Base2 characters into the given byte array.
+     *
+     * @param src    the binary characters to decode
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode, a multiple of 8
+     * @param dst    the output array
+     * @param dstOff the index at which the first byte is written
+     * @return the number of bytes written, always {@code len / 8}
+     * @throws IllegalArgumentException if {@code len} is not a multiple of 8, the
+     *                                  input contains characters other than '0' or
+     *                                  '1', or {@code dst} does not have enough
+     *                                  space
+     */
+    public static int decode(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff) {
+
+        final int decoded = tryDecode(src, off, len, dst, dstOff);
+
+        if (decoded == DecodeStatus.INVALID_LENGTH.code()) {
+            throw new IllegalArgumentException("Encoded string length must be a multiple of 8.");
+        }
+        if (decoded < 0) {
+            throw invalidCharacter(src, off, len);
+        }
+        return decoded;
+    }
+
+    /**
+     * Decodes a range of the given Base2 characters into the given byte array
+     * without throwing an exception on malformed input.
+     *
+     * @param src    the binary characters to decode
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode
+     * @param dst    the output array, partially written on failure
+     * @param dstOff the index at which the first byte is written
+     * @return the number of bytes written, always {@code len / 8}, or the
+     *         negative {@link DecodeStatus#code()} of the reason the input
+     *         cannot be decoded
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int tryDecode(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff) {
+
+        if (len % 8 != 0) {
+            return DecodeStatus.INVALID_LENGTH.code();
+        }
+
+        final int length = len / 8;
+
+        if (dst.length - dstOff < length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + length + " decoded bytes.");
+        }
+
+        for (int index = 0; index < length; index++) {
+
+            final int i = off + index * 8;
+
+            final char c0 = src.charAt(i);
+            final char c1 = src.charAt(i + 1);
+            final char c2 = src.charAt(i + 2);
+            final char c3 = src.charAt(i + 3);
+            final char c4 = src.charAt(i + 4);
+            final char c5 = src.charAt(i + 5);
+            final char c6 = src.charAt(i + 6);
+            final char c7 = src.charAt(i + 7);
+
+            // characters above 0xff would overlap in the packed octet
+            if ((c0 | c1 | c2 | c3 | c4 | c5 | c6 | c7) > 0xff) {
+                return DecodeStatus.INVALID_CHARACTER.code();
+            }
+
+            final long octet = (long) c0 << 56
+                    | (long) c1 << 48
+                    | (long) c2 << 40
+                    | (long) c3 << 32
+                    | (long) c4 << 24
+                    | (long) c5 << 16
+                    | (long) c6 << 8
+                    | c7;
+
+            final int value = fold(octet);
+
+            if (value < 0) {
+                return DecodeStatus.INVALID_CHARACTER.code();
+            }
+
+            dst[dstOff + index] = (byte) value;
+        }
+
+        return length;
+    }
+
+    /**
+     * Decodes a range of the given US-ASCII Base2 characters into the given byte
+     * array, 8 characters into a byte at a time.
+     *
+     * @param src    the binary US-ASCII characters to decode
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode, a multiple of 8
+     * @param dst    the output array
+     * @param dstOff the index at which the first byte is written
+     * @return the number of bytes written, always {@code len / 8}
+     * @throws IllegalArgumentException if {@code len} is not a multiple of 8, the
+     *                                  input contains characters other than '0' or
+     *                                  '1', or {@code dst} does not have enough
+     *                                  space
+     */
+    public static int decode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) {
 
-        if (chars.length % 8 != 0) {
+        if (len % 8 != 0) {
             throw new IllegalArgumentException("Encoded string length must be a multiple of 8.");
         }
 
-        final byte[] data = new byte[chars.length / 8];
+        final int length = len / 8;
 
-        for (int index = 0; index < data.length; index++) {
-            data[index] = (byte) (charToCode(chars[index * 8]) << 7
-                    | charToCode(chars[(index * 8) + 1]) << 6
-                    | charToCode(chars[(index * 8) + 2]) << 5
-                    | charToCode(chars[(index * 8) + 3]) << 4
-                    | charToCode(chars[(index * 8) + 4]) << 3
-                    | charToCode(chars[(index * 8) + 5]) << 2
-                    | charToCode(chars[(index * 8) + 6]) << 1
-                    | charToCode(chars[(index * 8) + 7]));
+        if (dst.length - dstOff < length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + length + " decoded bytes.");
         }
 
-        return data;
+        for (int index = 0; index < length; index++) {
+
+            final int i = off + index * 8;
+
+            final long octet = (src[i] & 0xffL) << 56
+                    | (src[i + 1] & 0xffL) << 48
+                    | (src[i + 2] & 0xffL) << 40
+                    | (src[i + 3] & 0xffL) << 32
+                    | (src[i + 4] & 0xffL) << 24
+                    | (src[i + 5] & 0xffL) << 16
+                    | (src[i + 6] & 0xffL) << 8
+                    | (src[i + 7] & 0xffL);
+
+            final int value = fold(octet);
+
+            if (value < 0) {
+                throw invalidCharacter(new AsciiChars(src, off, len), i - off, 8);
+            }
+
+            dst[dstOff + index] = (byte) value;
+        }
+
+        return length;
     }
 
-    static char codeToChar(int code) {
-        return code == 0 ? '0' : '1';
+    /**
+     * Validates a range of the given characters as Base2 without decoding them.
+     *
+     * @param src the binary characters to validate
+     * @param off the index of the first character to validate
+     * @param len the number of characters to validate
+     * @return {@link DecodeStatus#VALID} if the characters can be decoded,
+     *         otherwise the reason they cannot
+     */
+    public static DecodeStatus validate(final CharSequence src, final int off, final int len) {
+
+        if (len % 8 != 0) {
+            return DecodeStatus.INVALID_LENGTH;
+        }
+
+        for (int index = off; index < off + len; index++) {
+            // '0' and '1' differ in the lowest bit only
+            if ((src.charAt(index) | 1) != '1') {
+                return DecodeStatus.INVALID_CHARACTER;
+            }
+        }
+
+        return DecodeStatus.VALID;
     }
 
-    static int charToCode(char ch) {
-        if (ch == '0') {
-            return 0;
+    /**
+     * Folds eight packed '0' or '1' characters into a byte value, validating them
+     * at once.
+     *
+     * @return the byte value, or {@code -1} if a character is invalid
+     */
+    static int fold(final long octet) {
+
+        final long bits = octet ^ ZEROS;
+
+        // any bit other than the lowest one of each byte marks an invalid character
+        if ((bits & ~ONES) != 0) {
+            return -1;
         }
-        if (ch == '1') {
-            return 1;
+
+        return (int) ((bits * GATHER) >>> 56);
+    }
+
+    static IllegalArgumentException invalidCharacter(final CharSequence src, final int off, final int len) {
+        for (int i = off; i < off + len; i++) {
+            final char ch = src.charAt(i);
+            if (ch != '0' && ch != '1') {
+                return new IllegalArgumentException("Invalid character '" + ch + "'. Expected '0' or '1'.");
+            }
         }
-        throw new IllegalArgumentException("Invalid character '" + ch + "'. Expected '0' or '1'.");
+        return new IllegalArgumentException("Invalid base2 string.");
     }
 }
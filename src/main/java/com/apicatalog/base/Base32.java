@@ -1,5 +1,7 @@
 package com.apicatalog.base;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.function.Function;
 
 /**
@@ -44,6 +46,18 @@ public class Base32 {
             'U', 'V',
     };
 
+    /**
+     * Maps characters of the standard Base32 alphabet, regardless of case, to
+     * their 5-bit codes, other characters below 256 to -1.
+     */
+    public static final byte[] CODES = codes(ALPHABET_UPPER, ALPHABET_LOWER);
+
+    /**
+     * Maps characters of the Base32hex alphabet, regardless of case, to their
+     * 5-bit codes, other characters below 256 to -1.
+     */
+    public static final byte[] CODES_HEX = codes(ALPHABET_HEX_UPPER, ALPHABET_HEX_LOWER);
+
     static final int[] PADDING = new int[] {
             6, 4, 3, 1, 0,
     };
@@ -70,54 +84,122 @@ public class Base32 {
             return "";
         }
 
-        final StringBuilder encoded = new StringBuilder(((data.length / 5) + (data.length % 5 > 0 ? 1 : 0)) * 8);
+        final byte[] encoded = new byte[getEncodedLength(data.length, padding)];
 
-        int rest = -1;
+        encode(data, 0, data.length, encoded, 0, alphabet, padding);
 
-        for (int index = 0; index < data.length; index++) {
-            switch (index % 5) {
-            case 0:
-                encoded.append(alphabet[(0x1f & (data[index] >>> 3))]);
-                rest = (0x07 & data[index]) << 2;
-                break;
+        return new String(encoded, StandardCharsets.US_ASCII);
+    }
 
-            case 1:
-                encoded.append(alphabet[rest | 0x1f & (data[index] >>> 6)]);
-                encoded.append(alphabet[(0x3f & data[index]) >>> 1]);
-                rest = (0x01 & data[index]) << 4;
-                break;
+    /**
+     * Encodes a range of the given byte array into the given character array
+     * using the specified alphabet.
+     * <p>
+     * Whole blocks of 5 bytes, i.e. 40 bits, are read at once and emitted as 8
+     * characters. The tail block and padding are handled once at the end.
+     * </p>
+     *
+     * @param src      the data to encode
+     * @param off      the index of the first byte to encode
+     * @param len      the number of bytes to encode
+     * @param dst      the output array
+     * @param dstOff   the index at which the first character is written
+     * @param alphabet the encoding alphabet (must be 32 characters)
+     * @param padding  whether to include padding characters ('=') in the output
+     * @return the number of characters written
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int encode(final byte[] src, final int off, final int len, final char[] dst, final int dstOff, final char[] alphabet, final boolean padding) {
 
-            case 2:
-                encoded.append(alphabet[rest | 0x1f & (data[index] >>> 4)]);
-                rest = (0x0f & data[index]) << 1;
-                break;
+        final int length = getEncodedLength(len, padding);
 
-            case 3:
-                encoded.append(alphabet[rest | 0x1f & (data[index] >>> 7)]);
-                encoded.append(alphabet[(0x7f & data[index]) >>> 2]);
-                rest = (0x03 & data[index]) << 3;
-                break;
+        if (dst.length - dstOff < length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + length + " encoded characters.");
+        }
 
-            case 4:
-                encoded.append(alphabet[rest | 0x1f & (data[index] >>> 5)]);
-                encoded.append(alphabet[0x1f & data[index]]);
-                rest = -1;
-                break;
-            }
+        return AsciiEncoder.toChars((s, o, l, d, dOff) -> encode(s, o, l, d, dOff, alphabet, padding), 5, 8, src, off, len, dst, dstOff);
+    }
+
+    /**
+     * Encodes a range of the given byte array into the given array as US-ASCII
+     * characters, 5 bytes into 8 characters at a time.
+     *
+     * @param src      the data to encode
+     * @param off      the index of the first byte to encode
+     * @param len      the number of bytes to encode
+     * @param dst      the output array
+     * @param dstOff   the index at which the first character is written
+     * @param alphabet the 32-character alphabet
+     * @param padding  whether to pad the output with '=' characters
+     * @return the number of characters written
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int encode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final char[] alphabet, final boolean padding) {
+
+        final int length = getEncodedLength(len, padding);
+
+        if (dst.length - dstOff < length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + length + " encoded characters.");
         }
 
-        if (rest != -1) {
-            encoded.append(alphabet[rest]);
+        final int vectorized = VectorCodec.INSTANCE != null && len >= VectorCodec.THRESHOLD
+                ? VectorCodec.INSTANCE.encodeBase32(src, off, len, dst, dstOff, alphabet)
+                : 0;
+
+        final int end = off + len - len % 5;
+
+        int index = off + vectorized;
+        int encoded = dstOff + vectorized / 5 * 8;
+
+        while (index < end) {
+
+            final long block = (src[index] & 0xffL) << 32
+                    | (src[index + 1] & 0xffL) << 24
+                    | (src[index + 2] & 0xffL) << 16
+                    | (src[index + 3] & 0xffL) << 8
+                    | (src[index + 4] & 0xffL);
+
+            dst[encoded] = (byte) alphabet[(int) (block >>> 35) & 0x1f];
+            dst[encoded + 1] = (byte) alphabet[(int) (block >>> 30) & 0x1f];
+            dst[encoded + 2] = (byte) alphabet[(int) (block >>> 25) & 0x1f];
+            dst[encoded + 3] = (byte) alphabet[(int) (block >>> 20) & 0x1f];
+            dst[encoded + 4] = (byte) alphabet[(int) (block >>> 15) & 0x1f];
+            dst[encoded + 5] = (byte) alphabet[(int) (block >>> 10) & 0x1f];
+            dst[encoded + 6] = (byte) alphabet[(int) (block >>> 5) & 0x1f];
+            dst[encoded + 7] = (byte) alphabet[(int) block & 0x1f];
+
+            index += 5;
+            encoded += 8;
         }
 
-        // pads
-        if (padding) {
-            for (int index = 0; index < (PADDING[(data.length - 1) % 5]); index++) {
-                encoded.append('=');
+        final int trailing = len % 5;
+
+        if (trailing > 0) {
+
+            long block = 0;
+
+            for (int i = 0; i < 5; i++) {
+                block <<= 8;
+                if (i < trailing) {
+                    block |= src[index + i] & 0xffL;
+                }
+            }
+
+            final int chars = 8 - PADDING[trailing - 1];
+
+            for (int i = 0; i < chars; i++) {
+                dst[encoded++] = (byte) alphabet[(int) (block >>> (35 - i * 5)) & 0x1f];
+            }
+
+            // pads
+            if (padding) {
+                for (int i = 0; i < PADDING[trailing - 1]; i++) {
+                    dst[encoded++] = '=';
+                }
             }
         }
 
-        return encoded.toString();
+        return length;
     }
 
     /**
@@ -129,7 +211,11 @@ public class Base32 {
      * @return the decoded byte array
      * @throws IllegalArgumentException if the input is null, malformed, or contains
      *                                  invalid characters
+     * @deprecated boxes every character, use
+     *             {@link #decode(String, byte[], boolean)} with {@link #CODES} or
+     *             {@link #CODES_HEX}
      */
+    @Deprecated
     public static byte[] decode(final String encoded, final Function<Character, Integer> charToCode, boolean padding) {
         if (encoded == null) {
             throw new IllegalArgumentException("Encoded string must not be null.");
@@ -138,33 +224,18 @@ public class Base32 {
             return new byte[0];
         }
 
-        final char[] chars = encoded.toCharArray();
-
-        final int trailing = chars.length % 8;
-
-        final int pads;
-        final int length;
-
-        if (padding) {
-            if (trailing > 0) {
-                throw new IllegalArgumentException("Invalid padding: base32 string must be a multiple of 8 characters.");
-            }
-            pads = getPaddingLength(chars);
-            length = chars.length - pads;
-
-        } else {
-            pads = trailing > 0 ? 8 - trailing : 0;
-            length = chars.length;
-        }
+        final byte[] data = new byte[getDecodedLength(encoded, 0, encoded.length(), padding)];
 
-        final byte[] data = new byte[getDecodedLength(length, pads)];
+        final int length = padding
+                ? encoded.length() - getPaddingLength(encoded, 0, encoded.length())
+                : encoded.length();
 
         int decoded = 0;
         int rest = 0;
 
         for (int index = 0; index < length; index++) {
 
-            int code = charToCode.apply(chars[index]);
+            int code = charToCode.apply(encoded.charAt(index));
 
             switch (index % 8) {
             case 0:
@@ -220,6 +291,360 @@ public class Base32 {
         return data;
     }
 
+    /**
+     * Decodes a Base32 string into a byte array.
+     *
+     * @param encoded the encoded string
+     * @param codes   the decoding table, {@link #CODES} or {@link #CODES_HEX}
+     * @param padding whether padding is expected in the input
+     * @return the decoded byte array
+     * @throws IllegalArgumentException if the input is null, malformed, or contains
+     *                                  invalid characters
+     */
+    public static byte[] decode(final String encoded, final byte[] codes, final boolean padding) {
+        if (encoded == null) {
+            throw new IllegalArgumentException("Encoded string must not be null.");
+        }
+        if (encoded.isEmpty()) {
+            return new byte[0];
+        }
+
+        final byte[] data = new byte[getDecodedLength(encoded, 0, encoded.length(), padding)];
+
+        decode(encoded, 0, encoded.length(), data, 0, codes, padding);
+
+        return data;
+    }
+
+    /**
+     * Decodes a range of the given Base32 characters into the given byte array.
+     * <p>
+     * Characters are translated by the given table and decoded in whole blocks
+     * of 8 characters, i.e. 40 bits, yielding 5 bytes at once.
+     * </p>
+     *
+     * @param src     the encoded characters
+     * @param off     the index of the first character to decode
+     * @param len     the number of characters to decode
+     * @param dst     the output array
+     * @param dstOff  the index at which the first byte is written
+     * @param codes   the decoding table, {@link #CODES} or {@link #CODES_HEX}
+     * @param padding whether padding is expected in the input
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the input is malformed, contains invalid
+     *                                  characters, or {@code dst} does not have
+     *                                  enough space
+     */
+    public static int decode(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff, final byte[] codes, final boolean padding) {
+
+        final int decoded = tryDecode(src, off, len, dst, dstOff, codes, padding);
+
+        if (decoded < 0) {
+            throw failure(decoded, src, off, len, codes, padding);
+        }
+        return decoded;
+    }
+
+    /**
+     * Decodes a range of the given Base32 characters into the given byte array
+     * without throwing an exception on malformed input, reading the characters
+     * once.
+     *
+     * @param src     the encoded characters
+     * @param off     the index of the first character to decode
+     * @param len     the number of characters to decode
+     * @param dst     the output array, partially written on failure
+     * @param dstOff  the index at which the first byte is written
+     * @param codes   the decoding table, {@link #CODES} or {@link #CODES_HEX}
+     * @param padding whether padding is expected in the input
+     * @return the number of bytes written, or the negative
+     *         {@link DecodeStatus#code()} of the reason the input cannot be
+     *         decoded
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int tryDecode(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff, final byte[] codes, final boolean padding) {
+
+        final int decodedLength = tryDecodedLength(src, off, len, padding);
+
+        if (decodedLength <= 0) {
+            return decodedLength;
+        }
+
+        if (dst.length - dstOff < decodedLength) {
+            throw new IllegalArgumentException("Output array is too small to hold " + decodedLength + " decoded bytes.");
+        }
+
+        final int length = padding
+                ? len - getPaddingLength(src, off, len)
+                : len;
+
+        final int end = off + (length & ~7);
+
+        int index = off;
+        int decoded = dstOff;
+
+        while (index < end) {
+
+            final int c0 = code(src.charAt(index), codes);
+            final int c1 = code(src.charAt(index + 1), codes);
+            final int c2 = code(src.charAt(index + 2), codes);
+            final int c3 = code(src.charAt(index + 3), codes);
+            final int c4 = code(src.charAt(index + 4), codes);
+            final int c5 = code(src.charAt(index + 5), codes);
+            final int c6 = code(src.charAt(index + 6), codes);
+            final int c7 = code(src.charAt(index + 7), codes);
+
+            // an invalid character has a negative code
+            if ((c0 | c1 | c2 | c3 | c4 | c5 | c6 | c7) < 0) {
+                return DecodeStatus.INVALID_CHARACTER.code();
+            }
+
+            final long block = (long) c0 << 35
+                    | (long) c1 << 30
+                    | (long) c2 << 25
+                    | (long) c3 << 20
+                    | (long) c4 << 15
+                    | (long) c5 << 10
+                    | (long) c6 << 5
+                    | c7;
+
+            dst[decoded] = (byte) (block >>> 32);
+            dst[decoded + 1] = (byte) (block >>> 24);
+            dst[decoded + 2] = (byte) (block >>> 16);
+            dst[decoded + 3] = (byte) (block >>> 8);
+            dst[decoded + 4] = (byte) block;
+
+            index += 8;
+            decoded += 5;
+        }
+
+        final int trailing = length & 7;
+
+        if (trailing > 0) {
+
+            long block = 0;
+            int invalid = 0;
+
+            for (int i = 0; i < trailing; i++) {
+                final int code = code(src.charAt(index + i), codes);
+                invalid |= code;
+                block = block << 5 | (code & 0x1f);
+            }
+
+            if (invalid < 0) {
+                return DecodeStatus.INVALID_CHARACTER.code();
+            }
+
+            final int bytes = (trailing * 5) >>> 3;
+            final int bits = trailing * 5 - bytes * 8;
+
+            if ((block & ((1 << bits) - 1)) != 0) {
+                return DecodeStatus.LEFTOVER_BITS.code();
+            }
+
+            block >>>= bits;
+
+            for (int i = bytes - 1; i >= 0; i--) {
+                dst[decoded + i] = (byte) block;
+                block >>>= 8;
+            }
+        }
+
+        return decodedLength;
+    }
+
+    /**
+     * Decodes a range of the given US-ASCII Base32 characters into the given byte
+     * array, 8 characters into 5 bytes at a time.
+     *
+     * @param src     the encoded US-ASCII characters
+     * @param off     the index of the first character to decode
+     * @param len     the number of characters to decode, including padding
+     * @param dst     the output array
+     * @param dstOff  the index at which the first byte is written
+     * @param codes   the decoding table, {@link #CODES} or {@link #CODES_HEX}
+     * @param padding whether padding is expected in the input
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the input is malformed, contains invalid
+     *                                  characters, or {@code dst} does not have
+     *                                  enough space
+     */
+    public static int decode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final byte[] codes, final boolean padding) {
+
+        final CharSequence chars = new AsciiChars(src, off, len);
+
+        if (VectorCodec.INSTANCE == null || len < VectorCodec.THRESHOLD) {
+            return decode(chars, 0, len, dst, dstOff, codes, padding);
+        }
+
+        final int decodedLength = getDecodedLength(chars, 0, len, padding);
+
+        if (dst.length - dstOff < decodedLength) {
+            throw new IllegalArgumentException("Output array is too small to hold " + decodedLength + " decoded bytes.");
+        }
+
+        // the last block, possibly padded, is left to the scalar code
+        final int vectorized = VectorCodec.INSTANCE.decodeBase32(src, off, (len - 1) & ~7, dst, dstOff, codes);
+
+        return vectorized / 8 * 5 + decode(chars, vectorized, len - vectorized, dst, dstOff + vectorized / 8 * 5, codes, padding);
+    }
+
+    static final int code(final char ch, final byte[] codes) {
+        return ch < 256 ? codes[ch] : -1;
+    }
+
+    static final IllegalArgumentException failure(final int code, final CharSequence src, final int off, final int len, final byte[] codes, final boolean padding) {
+        switch (DecodeStatus.of(code)) {
+        case INVALID_CHARACTER:
+            return invalidCharacter(src, off, len, codes);
+
+        case LEFTOVER_BITS:
+            return new IllegalArgumentException("Invalid base32 string: leftover bits after decoding.");
+
+        default:
+            // throws the detailed message
+            getDecodedLength(src, off, len, padding);
+            return new IllegalArgumentException("Invalid base32 string.");
+        }
+    }
+
+    static final IllegalArgumentException invalidCharacter(final CharSequence src, final int off, final int len, final byte[] codes) {
+        for (int index = off; index < off + len; index++) {
+            if (code(src.charAt(index), codes) < 0) {
+                return new IllegalArgumentException("Invalid base32" + (codes == CODES_HEX ? "hex" : "") + " character: '" + src.charAt(index) + "'");
+            }
+        }
+        return new IllegalArgumentException("Invalid base32 string.");
+    }
+
+    /**
+     * Returns the exact number of characters the given number of bytes is
+     * encoded into.
+     *
+     * @param length  the number of bytes to encode
+     * @param padding whether the output is padded with {@code '='}
+     * @return the number of encoded characters
+     */
+    public static final int getEncodedLength(final int length, final boolean padding) {
+        return padding
+                ? ((length + 4) / 5) * 8
+                : (length * 8 + 4) / 5;
+    }
+
+    /**
+     * Validates a range of the given characters as Base32 without decoding them,
+     * checking the alphabet, the length, the padding and that no bits are left
+     * over after the last decoded byte.
+     *
+     * @param src     the Base32 characters to validate
+     * @param off     the index of the first character to validate
+     * @param len     the number of characters to validate
+     * @param codes   the character codes, e.g. {@link #CODES}
+     * @param padding whether the characters are padded with {@code '='}
+     * @return {@link DecodeStatus#VALID} if the characters can be decoded,
+     *         otherwise the reason they cannot
+     */
+    public static DecodeStatus validate(final CharSequence src, final int off, final int len, final byte[] codes, final boolean padding) {
+
+        final int decodedLength = tryDecodedLength(src, off, len, padding);
+
+        if (decodedLength <= 0) {
+            return DecodeStatus.of(decodedLength);
+        }
+
+        final int length = padding
+                ? len - getPaddingLength(src, off, len)
+                : len;
+
+        int invalid = 0;
+
+        for (int index = off; index < off + length; index++) {
+            invalid |= code(src.charAt(index), codes);
+        }
+
+        if (invalid < 0) {
+            return DecodeStatus.INVALID_CHARACTER;
+        }
+
+        final int bits = (length & 7) * 5 % 8;
+
+        // the last character holds the bits that are not decoded
+        if (bits > 0 && (code(src.charAt(off + length - 1), codes) & ((1 << bits) - 1)) != 0) {
+            return DecodeStatus.LEFTOVER_BITS;
+        }
+
+        return DecodeStatus.VALID;
+    }
+
+    /**
+     * Returns the exact number of bytes a range of the given Base32 characters
+     * is decoded into, computed from the length and the padding only.
+     *
+     * @param encoded the Base32 characters
+     * @param off     the index of the first character
+     * @param len     the number of characters
+     * @param padding whether the characters are padded with {@code '='}
+     * @return the number of decoded bytes
+     * @throws IllegalArgumentException if no Base32 value has the given length or
+     *                                  padding
+     */
+    public static final int getDecodedLength(final CharSequence encoded, final int off, final int len, final boolean padding) {
+
+        if (len == 0) {
+            return 0;
+        }
+
+        final int trailing = len % 8;
+
+        if (padding) {
+            if (trailing > 0) {
+                throw new IllegalArgumentException("Invalid padding: base32 string must be a multiple of 8 characters.");
+            }
+            final int pads = getPaddingLength(encoded, off, len);
+            return getDecodedLength(len - pads, pads);
+        }
+
+        return getDecodedLength(len, trailing > 0 ? 8 - trailing : 0);
+    }
+
+    /**
+     * Returns the exact number of bytes a range of the given Base32 characters
+     * is decoded into, computed from the length and the padding only, without
+     * throwing an exception.
+     *
+     * @param encoded the Base32 characters
+     * @param off     the index of the first character
+     * @param len     the number of characters
+     * @param padding whether the characters are padded with {@code '='}
+     * @return the number of decoded bytes, or the negative
+     *         {@link DecodeStatus#code()} of the reason no Base32 value has the
+     *         given length or padding
+     */
+    public static final int tryDecodedLength(final CharSequence encoded, final int off, final int len, final boolean padding) {
+
+        if (len == 0) {
+            return 0;
+        }
+
+        final int trailing = len % 8;
+
+        if (padding) {
+            if (trailing > 0) {
+                return DecodeStatus.INVALID_LENGTH.code();
+            }
+            final int pads = getPaddingLength(encoded, off, len);
+            return PADDING_REVERSE[pads] == -1
+                    ? DecodeStatus.INVALID_PADDING.code()
+                    : (len - pads) / 8 * 5 + PADDING_REVERSE[pads];
+        }
+
+        final int pads = trailing > 0 ? 8 - trailing : 0;
+
+        return PADDING_REVERSE[pads] == -1
+                ? DecodeStatus.INVALID_LENGTH.code()
+                : len / 8 * 5 + PADDING_REVERSE[pads];
+    }
+
     static final int getDecodedLength(final int length, int pads) {
 
         final int total = (length / 8) * 5;
@@ -233,12 +658,25 @@ public class Base32 {
         return total + diff;
     }
 
-    static final int getPaddingLength(final char[] data) {
+    static final byte[] codes(final char[] upper, final char[] lower) {
+
+        final byte[] codes = new byte[256];
+
+        Arrays.fill(codes, (byte) -1);
+
+        for (int code = 0; code < upper.length; code++) {
+            codes[upper[code]] = (byte) code;
+            codes[lower[code]] = (byte) code;
+        }
+        return codes;
+    }
+
+    static final int getPaddingLength(final CharSequence data, final int off, final int len) {
 
         int pads = 0;
 
         for (int index = 1; index < 8; index++) {
-            if (data[data.length - index] != '=') {
+            if (data.charAt(off + len - index) != '=') {
                 return pads;
             }
             pads++;
@@ -20,7 +20,10 @@ package com.apicatalog.base;
  */
 
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * Base58 is a way to encode Bitcoin addresses (or arbitrary data) as
@@ -41,15 +44,20 @@ import java.util.Arrays;
  * alphanumeric.</li>
  * </ul>
  * <p>
- * However, note that the encoding/decoding runs in O(n&sup2;) time, so it is
- * not useful for large data.
- * <p>
  * The basic idea of the encoding is to treat the data bytes as a large number
  * represented using base-256 digits, convert the number to be represented using
  * base-58 digits, preserve the exact number of leading zeros (which are
  * otherwise lost during the mathematical operations on the numbers), and
  * finally represent the resulting base-58 digits as alphanumeric ASCII
  * characters.
+ * <p>
+ * The conversion works on word sized limbs, 32-bit words of input bytes are
+ * accumulated into limbs holding 5 base-58 digits (58<sup>5</sup> per
+ * {@code int}) and vice versa, so one division processes 4 bytes and 5 digits
+ * at once. The schoolbook conversion is still O(n&sup2;), large inputs are
+ * therefore converted by divide-and-conquer, splitting the number by powers of
+ * 58^(5&middot;2^k) and relying on sub-quadratic
+ * {@link BigInteger} multiplication and division.
  */
 public class Base58 {
 
@@ -59,6 +67,25 @@ public class Base58 {
 
     private static final int[] INDEXES = new int[128];
 
+    /** The number of base-58 digits held by a single limb. */
+    static final int LIMB_DIGITS = 5;
+
+    /** 58<sup>0</sup> to 58<sup>5</sup>, the last one is the limb base. */
+    static final int[] POWERS = new int[] {
+            1, 58, 3364, 195112, 11316496, 656356768
+    };
+
+    static final long LIMB_BASE = POWERS[LIMB_DIGITS];
+
+    /** Inputs of at least this number of bytes are encoded by divide-and-conquer. */
+    static final int ENCODE_SPLIT_THRESHOLD = 4096;
+
+    /** Inputs of at least this number of characters are decoded by divide-and-conquer. */
+    static final int DECODE_SPLIT_THRESHOLD = 5600;
+
+    /** Divide-and-conquer stops splitting at this number of digits. */
+    static final int LEAF_DIGITS = 5 << 6;
+
     static {
         Arrays.fill(INDEXES, -1);
 
@@ -74,35 +101,83 @@ public class Base58 {
      * @return the base58-encoded string
      */
     public static String encode(byte[] input) {
-        if (input.length == 0) {
-            return "";
+        final byte[] encoded = new byte[encodedLength(input, 0, input.length)];
+        return new String(encoded, 0, encode(input, 0, input.length, encoded, 0), StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Encodes a range of the given bytes as base58 characters into the given
+     * character array.
+     *
+     * @param src    the bytes to encode
+     * @param off    the index of the first byte to encode
+     * @param len    the number of bytes to encode
+     * @param dst    the output array
+     * @param dstOff the index at which the first character is written
+     * @return the number of characters written
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int encode(final byte[] src, final int off, final int len, final char[] dst, final int dstOff) {
+
+        final byte[] ascii = new byte[encodedLength(src, off, len)];
+
+        final int count = encode(src, off, len, ascii, 0);
+        checkCapacity(dst.length - dstOff, count);
+
+        AsciiEncoder.widen(ascii, 0, count, dst, dstOff);
+
+        return count;
+    }
+
+    /**
+     * Encodes a range of the given bytes as base58 US-ASCII characters into the
+     * given byte array.
+     *
+     * @param src    the bytes to encode
+     * @param off    the index of the first byte to encode
+     * @param len    the number of bytes to encode
+     * @param dst    the output array
+     * @param dstOff the index at which the first character is written
+     * @return the number of characters written
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int encode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) {
+        if (len == 0) {
+            return 0;
         }
         // Count leading zeros.
         int zeros = 0;
-        while (zeros < input.length && input[zeros] == 0) {
+        while (zeros < len && src[off + zeros] == 0) {
             ++zeros;
         }
-        // Convert base-256 digits to base-58 digits (plus conversion to ASCII
-        // characters)
-        input = Arrays.copyOf(input, input.length); // since we modify it in-place
-        char[] encoded = new char[input.length * 2]; // upper bound
-        int outputStart = encoded.length;
-        for (int inputStart = zeros; inputStart < input.length;) {
-            encoded[--outputStart] = ALPHABET[divmod(input, inputStart, 256, 58)];
-            if (input[inputStart] == 0) {
-                ++inputStart; // optimization - skip leading zeros
+
+        final int length = len - zeros;
+
+        if (length >= ENCODE_SPLIT_THRESHOLD) {
+            final byte[] digits = encodeSplit(src, off + zeros, length);
+            // Skip digits reserved by the upper bound estimate.
+            int start = 0;
+            while (digits[start] == ENCODED_ZERO) {
+                ++start;
             }
+            final int count = zeros + digits.length - start;
+            checkCapacity(dst.length - dstOff, count);
+
+            Arrays.fill(dst, dstOff, dstOff + zeros, (byte) ENCODED_ZERO);
+            System.arraycopy(digits, start, dst, dstOff + zeros, digits.length - start);
+            return count;
         }
-        // Preserve exactly as many leading encoded zeros in output as there were
-        // leading zeros in input.
-        while (outputStart < encoded.length && encoded[outputStart] == ENCODED_ZERO) {
-            ++outputStart;
-        }
-        while (--zeros >= 0) {
-            encoded[--outputStart] = ENCODED_ZERO;
-        }
-        // Return encoded string (including encoded leading zeros).
-        return new String(encoded, outputStart, encoded.length - outputStart);
+
+        final int[] limbs = new int[maxEncodedLimbs(length)];
+        final int size = toBase58Limbs(src, off + zeros, length, limbs);
+
+        final int count = zeros + digitCount(limbs, size);
+        checkCapacity(dst.length - dstOff, count);
+
+        Arrays.fill(dst, dstOff, dstOff + zeros, (byte) ENCODED_ZERO);
+        writeDigits(limbs, size, dst, dstOff + zeros);
+
+        return count;
     }
 
     /**
@@ -112,70 +187,490 @@ public class Base58 {
      * @return the decoded data bytes
      */
     public static byte[] decode(String input) {
-        if (input.length() == 0) {
-            return new byte[0];
-        }
-        // Convert the base58-encoded ASCII chars to a base58 byte sequence (base58
-        // digits).
-        byte[] input58 = new byte[input.length()];
-        for (int i = 0; i < input.length(); ++i) {
-            char c = input.charAt(i);
-            int digit = c < 128 ? INDEXES[c] : -1;
-            if (digit < 0) {
-                throw new IllegalArgumentException(String.format("Invalid character in Base58: 0x%04x", (int) c));
-            }
-            input58[i] = (byte) digit;
+        final byte[] decoded = new byte[decodedLength(input, 0, input.length())];
+        final int length = decode(input, 0, input.length(), decoded, 0);
+        return length == decoded.length
+                ? decoded
+                : Arrays.copyOf(decoded, length);
+    }
+
+    /**
+     * Decodes a range of the given base58 characters into the given byte array.
+     *
+     * @param src    the base58 characters to decode
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode
+     * @param dst    the output array
+     * @param dstOff the index at which the first byte is written
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the input contains a character outside
+     *                                  the alphabet, or {@code dst} does not have
+     *                                  enough space
+     */
+    public static int decode(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff) {
+        if (len == 0) {
+            return 0;
         }
         // Count leading zeros.
         int zeros = 0;
-        while (zeros < input58.length && input58[zeros] == 0) {
+        while (zeros < len && src.charAt(off + zeros) == ENCODED_ZERO) {
             ++zeros;
         }
-        // Convert base-58 digits to base-256 digits.
-        byte[] decoded = new byte[input.length()];
-        int outputStart = decoded.length;
-        for (int inputStart = zeros; inputStart < input58.length;) {
-            decoded[--outputStart] = divmod(input58, inputStart, 58, 256);
-            if (input58[inputStart] == 0) {
-                ++inputStart; // optimization - skip leading zeros
-            }
+
+        final int length = len - zeros;
+
+        if (length >= DECODE_SPLIT_THRESHOLD) {
+            final byte[] number = decodeSplit(src, off + zeros, length).toByteArray();
+            // Skip the sign byte.
+            final int start = number[0] == 0 ? 1 : 0;
+            final int count = zeros + number.length - start;
+            checkCapacity(dst.length - dstOff, count);
+
+            Arrays.fill(dst, dstOff, dstOff + zeros, (byte) 0);
+            System.arraycopy(number, start, dst, dstOff + zeros, number.length - start);
+            return count;
         }
-        // Ignore extra leading zeroes that were added during the calculation.
-        while (outputStart < decoded.length && decoded[outputStart] == 0) {
-            ++outputStart;
+
+        final int[] limbs = new int[maxDecodedLimbs(length)];
+        final int size = toBase256Limbs(src, off + zeros, length, limbs);
+
+        final int count = zeros + byteCount(limbs, size);
+        checkCapacity(dst.length - dstOff, count);
+
+        Arrays.fill(dst, dstOff, dstOff + zeros, (byte) 0);
+        writeBytes(limbs, size, dst, dstOff + zeros);
+
+        return count;
+    }
+
+    /**
+     * Decodes a range of the given base58 characters into the given byte array
+     * without throwing an exception on malformed input.
+     * <p>
+     * The characters are validated upfront, a linear pass next to the quadratic
+     * conversion, which looks the digits up deep in its recursion.
+     * </p>
+     *
+     * @param src    the base58 characters to decode
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode
+     * @param dst    the output array
+     * @param dstOff the index at which the first byte is written
+     * @return the number of bytes written, or the negative
+     *         {@link DecodeStatus#code()} of the reason the input cannot be
+     *         decoded
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int tryDecode(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff) {
+
+        final DecodeStatus status = validate(src, off, len);
+
+        return status == DecodeStatus.VALID
+                ? decode(src, off, len, dst, dstOff)
+                : status.code();
+    }
+
+    /**
+     * Returns an upper bound of characters the given number of bytes is encoded
+     * into, log<sub>58</sub>(256) &lt; 1.3657.
+     *
+     * @param length the number of bytes to encode
+     * @return the maximum number of encoded characters
+     */
+    public static int encodedLength(final int length) {
+        return length == 0 ? 0 : maxEncodedDigits(length);
+    }
+
+    /**
+     * Returns an upper bound of characters a range of the given bytes is encoded
+     * into. Leading zero bytes are counted exactly, the bound applies to the rest
+     * only.
+     *
+     * @param src the bytes to encode
+     * @param off the index of the first byte
+     * @param len the number of bytes
+     * @return the maximum number of encoded characters
+     */
+    public static int encodedLength(final byte[] src, final int off, final int len) {
+        int zeros = 0;
+        while (zeros < len && src[off + zeros] == 0) {
+            ++zeros;
+        }
+        return zeros + encodedLength(len - zeros);
+    }
+
+    /**
+     * Returns an upper bound of bytes a range of the given base58 characters is
+     * decoded into. Leading encoded zeros are counted exactly, the bound,
+     * log<sub>256</sub>(58) &lt; 0.7323, applies to the rest only.
+     *
+     * @param src the base58 characters
+     * @param off the index of the first character
+     * @param len the number of characters
+     * @return the maximum number of decoded bytes
+     */
+    public static int decodedLength(final CharSequence src, final int off, final int len) {
+        int zeros = 0;
+        while (zeros < len && src.charAt(off + zeros) == ENCODED_ZERO) {
+            ++zeros;
+        }
+        return zeros + (int) (((len - zeros) * 7323L + 9999) / 10000);
+    }
+
+    /**
+     * Validates a range of the given characters as base58 without decoding them.
+     *
+     * @param src the base58 characters to validate
+     * @param off the index of the first character to validate
+     * @param len the number of characters to validate
+     * @return {@link DecodeStatus#VALID} if the characters can be decoded,
+     *         otherwise the reason they cannot
+     */
+    public static DecodeStatus validate(final CharSequence src, final int off, final int len) {
+
+        int invalid = 0;
+
+        for (int index = off; index < off + len; index++) {
+            final char c = src.charAt(index);
+            invalid |= c < 128 ? INDEXES[c] : -1;
         }
-        // Return decoded data (including original number of leading zeros).
-        return Arrays.copyOfRange(decoded, outputStart - zeros, decoded.length);
+
+        return invalid < 0
+                ? DecodeStatus.INVALID_CHARACTER
+                : DecodeStatus.VALID;
     }
 
     public static BigInteger decodeToBigInteger(String input) {
         return new BigInteger(1, decode(input));
     }
 
+    static void checkCapacity(final int capacity, final int length) {
+        if (capacity < length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + length + " elements.");
+        }
+    }
+
+    /**
+     * Converts base-256 digits into base-58<sup>5</sup> limbs. The input is
+     * consumed in big-endian 32-bit words, each multiplying the accumulated
+     * number by 2<sup>32</sup>.
+     *
+     * @param input  the number bytes, most significant first
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @param limbs  the output limbs, least significant first, at least
+     *               {@link #maxEncodedLimbs(int)} long
+     * @return the number of used limbs
+     */
+    static int toBase58Limbs(final byte[] input, final int offset, final int length, final int[] limbs) {
+
+        final int end = offset + length;
+
+        int size = 0;
+        int index = offset;
+
+        // the first word takes the excess bytes so the rest is word aligned
+        int head = length & 3;
+        if (head == 0) {
+            head = 4;
+        }
+
+        while (index < end) {
+
+            long carry = 0;
+            for (int i = 0; i < head; i++) {
+                carry = (carry << 8) | (input[index++] & 0xff);
+            }
+
+            final int shift = head << 3;
+
+            for (int i = 0; i < size; i++) {
+                final long value = ((long) limbs[i] << shift) + carry;
+                carry = value / LIMB_BASE;
+                limbs[i] = (int) (value - carry * LIMB_BASE);
+            }
+
+            while (carry != 0) {
+                final long next = carry / LIMB_BASE;
+                limbs[size++] = (int) (carry - next * LIMB_BASE);
+                carry = next;
+            }
+
+            head = 4;
+        }
+        return size;
+    }
+
+    /**
+     * Converts base-58 characters into base-2<sup>32</sup> limbs. The input is
+     * consumed in groups of 5 digits, each multiplying the accumulated number by
+     * 58<sup>5</sup>.
+     *
+     * @param input  the base58 characters, most significant first
+     * @param offset the index of the first character
+     * @param length the number of characters
+     * @param limbs  the output limbs, least significant first, at least
+     *               {@link #maxDecodedLimbs(int)} long
+     * @return the number of used limbs
+     * @throws IllegalArgumentException if the input contains a character outside
+     *                                  the alphabet
+     */
+    static int toBase256Limbs(final CharSequence input, final int offset, final int length, final int[] limbs) {
+
+        final int end = offset + length;
+
+        int size = 0;
+        int index = offset;
+
+        // the first group takes the excess digits so the rest is limb aligned
+        int head = length % LIMB_DIGITS;
+        if (head == 0) {
+            head = LIMB_DIGITS;
+        }
+
+        while (index < end) {
+
+            long carry = 0;
+            for (int i = 0; i < head; i++) {
+                carry = carry * 58 + digit(input, index++);
+            }
+
+            final long multiplier = POWERS[head];
+
+            for (int i = 0; i < size; i++) {
+                final long value = (limbs[i] & 0xffffffffL) * multiplier + carry;
+                limbs[i] = (int) value;
+                carry = value >>> 32;
+            }
+
+            while (carry != 0) {
+                limbs[size++] = (int) carry;
+                carry >>>= 32;
+            }
+
+            head = LIMB_DIGITS;
+        }
+        return size;
+    }
+
+    static int digit(final CharSequence input, final int index) {
+        final char c = input.charAt(index);
+        final int digit = c < 128 ? INDEXES[c] : -1;
+        if (digit < 0) {
+            // same as String.format("0x%04x"), without parsing a format
+            throw new IllegalArgumentException("Invalid character in Base58: 0x" + Integer.toHexString(0x10000 | c).substring(1));
+        }
+        return digit;
+    }
+
     /**
-     * Divides a number, represented as an array of bytes each containing a single
-     * digit in the specified base, by the given divisor. The given number is
-     * modified in-place to contain the quotient, and the return value is the
-     * remainder.
+     * Returns the number of base-58 digits represented by the given limbs,
+     * without leading zeros.
+     */
+    static int digitCount(final int[] limbs, final int size) {
+        if (size == 0) {
+            return 0;
+        }
+        final int top = limbs[size - 1];
+        int digits = 1;
+        while (digits < LIMB_DIGITS && top >= POWERS[digits]) {
+            digits++;
+        }
+        return digits + (size - 1) * LIMB_DIGITS;
+    }
+
+    /**
+     * Writes base-58<sup>5</sup> limbs as US-ASCII characters, without leading
+     * zeros.
      *
-     * @param number     the number to divide
-     * @param firstDigit the index within the array of the first non-zero digit
-     *                   (this is used for optimization by skipping the leading
-     *                   zeros)
-     * @param base       the base in which the number's digits are represented (up
-     *                   to 256)
-     * @param divisor    the number to divide by (up to 256)
-     * @return the remainder of the division operation
-     */
-    private static byte divmod(byte[] number, int firstDigit, int base, int divisor) {
-        // this is just long division which accounts for the base of the input digits
-        int remainder = 0;
-        for (int i = firstDigit; i < number.length; i++) {
-            int digit = (int) number[i] & 0xFF;
-            int temp = remainder * base + digit;
-            number[i] = (byte) (temp / divisor);
-            remainder = temp % divisor;
-        }
-        return (byte) remainder;
-    }
-}
\ No newline at end of file
+     * @return the number of written characters
+     */
+    static int writeDigits(final int[] limbs, final int size, final byte[] output, final int offset) {
+
+        final int count = digitCount(limbs, size);
+
+        int index = offset + count;
+
+        for (int i = 0; i < size - 1; i++) {
+            int limb = limbs[i];
+            for (int j = 0; j < LIMB_DIGITS; j++) {
+                final int next = limb / 58;
+                output[--index] = (byte) ALPHABET[limb - next * 58];
+                limb = next;
+            }
+        }
+
+        if (size > 0) {
+            int limb = limbs[size - 1];
+            while (limb != 0) {
+                final int next = limb / 58;
+                output[--index] = (byte) ALPHABET[limb - next * 58];
+                limb = next;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of bytes represented by the given base-2<sup>32</sup>
+     * limbs, without leading zeros.
+     */
+    static int byteCount(final int[] limbs, final int size) {
+        if (size == 0) {
+            return 0;
+        }
+        return ((32 - Integer.numberOfLeadingZeros(limbs[size - 1]) + 7) >>> 3) + (size - 1) * 4;
+    }
+
+    /**
+     * Writes base-2<sup>32</sup> limbs as big-endian bytes, without leading
+     * zeros.
+     *
+     * @return the number of written bytes
+     */
+    static int writeBytes(final int[] limbs, final int size, final byte[] output, final int offset) {
+
+        final int count = byteCount(limbs, size);
+
+        int index = offset + count;
+
+        for (int i = 0; i < size - 1; i++) {
+            final int limb = limbs[i];
+            output[--index] = (byte) limb;
+            output[--index] = (byte) (limb >>> 8);
+            output[--index] = (byte) (limb >>> 16);
+            output[--index] = (byte) (limb >>> 24);
+        }
+
+        if (size > 0) {
+            int limb = limbs[size - 1];
+            while (limb != 0) {
+                output[--index] = (byte) limb;
+                limb >>>= 8;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns an upper bound of base-58<sup>5</sup> limbs needed to encode the
+     * given number of bytes, log<sub>58</sub>(256) &lt; 1.3657.
+     */
+    static int maxEncodedLimbs(final int length) {
+        return maxEncodedDigits(length) / LIMB_DIGITS + 1;
+    }
+
+    static int maxEncodedDigits(final int length) {
+        return (int) (length * 13657L / 10000L) + 1;
+    }
+
+    /**
+     * Returns an upper bound of base-2<sup>32</sup> limbs needed to decode the
+     * given number of digits, log<sub>256</sub>(58) &lt; 0.7323.
+     */
+    static int maxDecodedLimbs(final int length) {
+        return (int) (length * 7323L / 10000L) / 4 + 1;
+    }
+
+    /**
+     * Encodes a large number by recursively splitting it by powers of
+     * 58^(5&middot;2^k).
+     *
+     * @return base-58 US-ASCII digits of the number, left padded with encoded
+     *         zeros
+     */
+    static byte[] encodeSplit(final byte[] input, final int offset, final int length) {
+
+        final byte[] digits = new byte[maxEncodedDigits(length)];
+
+        final List<BigInteger> powers = splitPowers(digits.length);
+
+        encodeSplit(
+                new BigInteger(1, Arrays.copyOfRange(input, offset, offset + length)),
+                powers,
+                digits,
+                digits.length,
+                digits.length);
+
+        return digits;
+    }
+
+    /**
+     * Writes exactly {@code width} digits of the given number ending at
+     * {@code end}, left padded with encoded zeros.
+     */
+    static void encodeSplit(final BigInteger number, final List<BigInteger> powers, final byte[] output, final int end, final int width) {
+
+        if (width <= LEAF_DIGITS) {
+            final byte[] bytes = number.toByteArray();
+            final int[] limbs = new int[maxEncodedLimbs(bytes.length)];
+            final int size = toBase58Limbs(bytes, 0, bytes.length, limbs);
+            final int count = digitCount(limbs, size);
+
+            Arrays.fill(output, end - width, end - count, (byte) ENCODED_ZERO);
+            writeDigits(limbs, size, output, end - count);
+            return;
+        }
+
+        final int level = splitLevel(width);
+        final int low = LIMB_DIGITS << level;
+
+        final BigInteger[] split = number.divideAndRemainder(powers.get(level));
+
+        encodeSplit(split[1], powers, output, end, low);
+        encodeSplit(split[0], powers, output, end - low, width - low);
+    }
+
+    /**
+     * Decodes a large number by recursively splitting the digits at powers of
+     * 58^(5&middot;2^k) and combining the halves.
+     */
+    static BigInteger decodeSplit(final CharSequence input, final int offset, final int length) {
+        return decodeSplit(input, offset, length, splitPowers(length));
+    }
+
+    static BigInteger decodeSplit(final CharSequence input, final int offset, final int length, final List<BigInteger> powers) {
+
+        if (length <= LEAF_DIGITS) {
+            final int[] limbs = new int[maxDecodedLimbs(length)];
+            final int size = toBase256Limbs(input, offset, length, limbs);
+            final byte[] bytes = new byte[byteCount(limbs, size)];
+            writeBytes(limbs, size, bytes, 0);
+            return new BigInteger(1, bytes);
+        }
+
+        final int level = splitLevel(length);
+        final int low = LIMB_DIGITS << level;
+
+        return decodeSplit(input, offset, length - low, powers)
+                .multiply(powers.get(level))
+                .add(decodeSplit(input, offset + length - low, low, powers));
+    }
+
+    /**
+     * Returns the largest {@code k} such that 5&middot;2<sup>k</sup> is less
+     * than the given number of digits.
+     */
+    static int splitLevel(final int digits) {
+        return 31 - Integer.numberOfLeadingZeros((digits - 1) / LIMB_DIGITS);
+    }
+
+    /**
+     * Returns 58^(5&middot;2^k) for each level {@code k} needed
+     * to split the given number of digits.
+     */
+    static List<BigInteger> splitPowers(final int digits) {
+
+        final int levels = splitLevel(digits) + 1;
+
+        final List<BigInteger> powers = new ArrayList<>(levels);
+
+        powers.add(BigInteger.valueOf(LIMB_BASE));
+
+        for (int level = 1; level < levels; level++) {
+            final BigInteger power = powers.get(level - 1);
+            powers.add(power.multiply(power));
+        }
+        return powers;
+    }
+}
@@ -0,0 +1,643 @@
+package com.apicatalog.base;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Base64 encoder and decoder based on RFC 4648.
+ * <p>
+ * Supports both the standard and the URL and filename safe alphabets. Encoding
+ * is optionally padded, decoding accepts both padded and unpadded input in a
+ * single pass. Line separators are neither produced nor accepted.
+ * </p>
+ * <p>
+ * Whole arrays and strings of at least {@link #INTRINSIC_THRESHOLD} bytes or
+ * characters, using one of the RFC 4648 alphabets, are delegated to
+ * {@link java.util.Base64}, which HotSpot intrinsifies. Decoding still rejects
+ * leftover bits the JDK decoder would ignore. Other large ranges take the
+ * vectorized path where available.
+ * </p>
+ *
+ * @see <a href="https://datatracker.ietf.org/doc/html/rfc4648">RFC 4648</a>
+ */
+public class Base64 {
+
+    /** RFC 4648 standard Base64 alphabet. */
+    public static final char[] ALPHABET = new char[] {
+            'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M',
+            'N', 'O', 'P', 'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z',
+            'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l', 'm',
+            'n', 'o', 'p', 'q', 'r', 's', 't', 'u', 'v', 'w', 'x', 'y', 'z',
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', '+', '/',
+    };
+
+    /** RFC 4648 URL and filename safe Base64 alphabet. */
+    public static final char[] ALPHABET_URL = new char[] {
+            'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M',
+            'N', 'O', 'P', 'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z',
+            'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l', 'm',
+            'n', 'o', 'p', 'q', 'r', 's', 't', 'u', 'v', 'w', 'x', 'y', 'z',
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', '-', '_',
+    };
+
+    /**
+     * Maps characters of the standard Base64 alphabet to their 6-bit codes,
+     * other characters below 256 to -1.
+     */
+    public static final byte[] CODES = codes(ALPHABET);
+
+    /**
+     * Maps characters of the URL and filename safe Base64 alphabet to their
+     * 6-bit codes, other characters below 256 to -1.
+     */
+    public static final byte[] CODES_URL = codes(ALPHABET_URL);
+
+    /**
+     * Maps characters of both the standard and the URL and filename safe Base64
+     * alphabets to their 6-bit codes, other characters below 256 to -1. Decoding
+     * with this table accepts either alphabet, or a mix of both.
+     */
+    public static final byte[] CODES_LENIENT = codes(ALPHABET, ALPHABET_URL);
+
+    /**
+     * The minimal number of bytes or characters delegated to
+     * {@link java.util.Base64}, below which the call overhead outweighs the
+     * intrinsic.
+     */
+    static final int INTRINSIC_THRESHOLD = 128;
+
+    private static final java.util.Base64.Encoder ENCODER = java.util.Base64.getEncoder();
+    private static final java.util.Base64.Encoder ENCODER_UNPADDED = ENCODER.withoutPadding();
+    private static final java.util.Base64.Encoder ENCODER_URL = java.util.Base64.getUrlEncoder();
+    private static final java.util.Base64.Encoder ENCODER_URL_UNPADDED = ENCODER_URL.withoutPadding();
+
+    private Base64() {
+        /* protected */}
+
+    /**
+     * Encodes the given byte array into a Base64 string using the specified
+     * alphabet.
+     *
+     * @param data     the data to encode
+     * @param alphabet the encoding alphabet, {@link #ALPHABET} or
+     *                 {@link #ALPHABET_URL}
+     * @param padding  whether to include padding characters ('=') in the output
+     * @return the encoded string
+     * @throws IllegalArgumentException if {@code data} is null
+     */
+    public static String encode(final byte[] data, final char[] alphabet, final boolean padding) {
+        if (data == null) {
+            throw new IllegalArgumentException("Input data must not be null.");
+        }
+        if (data.length == 0) {
+            return "";
+        }
+
+        final java.util.Base64.Encoder intrinsic = data.length >= INTRINSIC_THRESHOLD
+                ? intrinsic(alphabet, padding)
+                : null;
+
+        if (intrinsic != null) {
+            return intrinsic.encodeToString(data);
+        }
+
+        final byte[] encoded = new byte[getEncodedLength(data.length, padding)];
+
+        encode(data, 0, data.length, encoded, 0, alphabet, padding);
+
+        return new String(encoded, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Encodes a range of the given byte array into the given character array
+     * using the specified alphabet, 3 bytes into 4 characters at a time.
+     *
+     * @param src      the data to encode
+     * @param off      the index of the first byte to encode
+     * @param len      the number of bytes to encode
+     * @param dst      the output array
+     * @param dstOff   the index at which the first character is written
+     * @param alphabet the encoding alphabet, {@link #ALPHABET} or
+     *                 {@link #ALPHABET_URL}
+     * @param padding  whether to include padding characters ('=') in the output
+     * @return the number of characters written
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int encode(final byte[] src, final int off, final int len, final char[] dst, final int dstOff, final char[] alphabet, final boolean padding) {
+
+        final int length = getEncodedLength(len, padding);
+
+        if (dst.length - dstOff < length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + length + " encoded characters.");
+        }
+
+        return AsciiEncoder.toChars((s, o, l, d, dOff) -> encode(s, o, l, d, dOff, alphabet, padding), 3, 4, src, off, len, dst, dstOff);
+    }
+
+    /**
+     * Encodes a range of the given byte array into the given array as US-ASCII
+     * characters, 3 bytes into 4 characters at a time.
+     *
+     * @param src      the data to encode
+     * @param off      the index of the first byte to encode
+     * @param len      the number of bytes to encode
+     * @param dst      the output array
+     * @param dstOff   the index at which the first character is written
+     * @param alphabet the encoding alphabet, {@link #ALPHABET} or
+     *                 {@link #ALPHABET_URL}
+     * @param padding  whether to pad the output with '=' characters
+     * @return the number of characters written
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int encode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final char[] alphabet, final boolean padding) {
+
+        final int length = getEncodedLength(len, padding);
+
+        if (dst.length - dstOff < length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + length + " encoded characters.");
+        }
+
+        if (off == 0 && len == src.length && dstOff == 0 && len >= INTRINSIC_THRESHOLD) {
+            final java.util.Base64.Encoder intrinsic = intrinsic(alphabet, padding);
+            if (intrinsic != null) {
+                return intrinsic.encode(src, dst);
+            }
+        }
+
+        final int vectorized = VectorCodec.INSTANCE != null && len >= VectorCodec.THRESHOLD
+                ? VectorCodec.INSTANCE.encodeBase64(src, off, len, dst, dstOff, alphabet)
+                : 0;
+
+        final int end = off + len - len % 3;
+
+        int index = off + vectorized;
+        int encoded = dstOff + vectorized / 3 * 4;
+
+        while (index < end) {
+
+            final int block = (src[index] & 0xff) << 16
+                    | (src[index + 1] & 0xff) << 8
+                    | (src[index + 2] & 0xff);
+
+            dst[encoded] = (byte) alphabet[block >>> 18];
+            dst[encoded + 1] = (byte) alphabet[(block >>> 12) & 0x3f];
+            dst[encoded + 2] = (byte) alphabet[(block >>> 6) & 0x3f];
+            dst[encoded + 3] = (byte) alphabet[block & 0x3f];
+
+            index += 3;
+            encoded += 4;
+        }
+
+        final int trailing = len % 3;
+
+        if (trailing > 0) {
+
+            final int block = (src[index] & 0xff) << 16
+                    | (trailing == 2 ? (src[index + 1] & 0xff) << 8 : 0);
+
+            dst[encoded++] = (byte) alphabet[block >>> 18];
+            dst[encoded++] = (byte) alphabet[(block >>> 12) & 0x3f];
+
+            if (trailing == 2) {
+                dst[encoded++] = (byte) alphabet[(block >>> 6) & 0x3f];
+            }
+
+            // pads
+            if (padding) {
+                for (int i = trailing; i < 3; i++) {
+                    dst[encoded++] = '=';
+                }
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * Decodes a Base64 string, padded or not, into a byte array.
+     *
+     * @param encoded the encoded string
+     * @param codes   the decoding table, {@link #CODES}, {@link #CODES_URL} or
+     *                {@link #CODES_LENIENT}
+     * @return the decoded byte array
+     * @throws IllegalArgumentException if the input is null, malformed, or contains
+     *                                  invalid characters
+     */
+    public static byte[] decode(final String encoded, final byte[] codes) {
+        if (encoded == null) {
+            throw new IllegalArgumentException("Encoded string must not be null.");
+        }
+        if (encoded.isEmpty()) {
+            return new byte[0];
+        }
+
+        final int length = getDecodedLength(encoded, 0, encoded.length());
+
+        final java.util.Base64.Decoder intrinsic = encoded.length() >= INTRINSIC_THRESHOLD
+                ? intrinsic(encoded, 0, encoded.length(), codes)
+                : null;
+
+        if (intrinsic != null) {
+            try {
+                return intrinsic.decode(encoded);
+
+            } catch (IllegalArgumentException e) {
+                // reported precisely by the scalar decoder
+            }
+        }
+
+        final byte[] data = new byte[length];
+
+        decode(encoded, 0, encoded.length(), data, 0, codes);
+
+        return data;
+    }
+
+    /**
+     * Decodes a range of the given Base64 characters, padded or not, into the
+     * given byte array.
+     * <p>
+     * Characters are translated by the given table and decoded in whole blocks
+     * of 4 characters, i.e. 24 bits, yielding 3 bytes at once. The padding is
+     * resolved upfront so the characters are read in a single pass.
+     * </p>
+     *
+     * @param src    the encoded characters
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode, including padding
+     * @param dst    the output array
+     * @param dstOff the index at which the first byte is written
+     * @param codes  the decoding table, {@link #CODES}, {@link #CODES_URL} or
+     *               {@link #CODES_LENIENT}
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the input is malformed, contains invalid
+     *                                  characters, or {@code dst} does not have
+     *                                  enough space
+     */
+    public static int decode(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff, final byte[] codes) {
+
+        final int decoded = tryDecode(src, off, len, dst, dstOff, codes);
+
+        if (decoded < 0) {
+            throw failure(decoded, src, off, len, codes);
+        }
+        return decoded;
+    }
+
+    /**
+     * Decodes a range of the given Base64 characters, padded or not, into the
+     * given byte array without throwing an exception on malformed input, reading
+     * the characters once.
+     *
+     * @param src    the encoded characters
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode, including padding
+     * @param dst    the output array, partially written on failure
+     * @param dstOff the index at which the first byte is written
+     * @param codes  the decoding table, {@link #CODES}, {@link #CODES_URL} or
+     *               {@link #CODES_LENIENT}
+     * @return the number of bytes written, or the negative
+     *         {@link DecodeStatus#code()} of the reason the input cannot be
+     *         decoded
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    public static int tryDecode(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff, final byte[] codes) {
+
+        final int decodedLength = tryDecodedLength(src, off, len);
+
+        if (decodedLength <= 0) {
+            return decodedLength;
+        }
+
+        if (dst.length - dstOff < decodedLength) {
+            throw new IllegalArgumentException("Output array is too small to hold " + decodedLength + " decoded bytes.");
+        }
+
+        final int length = len - getPaddingLength(src, off, len);
+
+        final int end = off + (length & ~3);
+
+        int index = off;
+        int decoded = dstOff;
+
+        while (index < end) {
+
+            final int c0 = code(src.charAt(index), codes);
+            final int c1 = code(src.charAt(index + 1), codes);
+            final int c2 = code(src.charAt(index + 2), codes);
+            final int c3 = code(src.charAt(index + 3), codes);
+
+            // an invalid character has a negative code
+            if ((c0 | c1 | c2 | c3) < 0) {
+                return DecodeStatus.INVALID_CHARACTER.code();
+            }
+
+            final int block = c0 << 18 | c1 << 12 | c2 << 6 | c3;
+
+            dst[decoded] = (byte) (block >>> 16);
+            dst[decoded + 1] = (byte) (block >>> 8);
+            dst[decoded + 2] = (byte) block;
+
+            index += 4;
+            decoded += 3;
+        }
+
+        final int trailing = length & 3;
+
+        if (trailing > 0) {
+
+            final int c0 = code(src.charAt(index), codes);
+            final int c1 = code(src.charAt(index + 1), codes);
+            final int c2 = trailing == 3 ? code(src.charAt(index + 2), codes) : 0;
+
+            if ((c0 | c1 | c2) < 0) {
+                return DecodeStatus.INVALID_CHARACTER.code();
+            }
+
+            final int block = c0 << 18 | c1 << 12 | c2 << 6;
+
+            if ((block & (trailing == 3 ? 0xff : 0xffff)) != 0) {
+                return DecodeStatus.LEFTOVER_BITS.code();
+            }
+
+            dst[decoded] = (byte) (block >>> 16);
+
+            if (trailing == 3) {
+                dst[decoded + 1] = (byte) (block >>> 8);
+            }
+        }
+
+        return decodedLength;
+    }
+
+    /**
+     * Decodes a range of the given US-ASCII Base64 characters, padded or not,
+     * into the given byte array, 4 characters into 3 bytes at a time.
+     *
+     * @param src    the encoded US-ASCII characters
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode, including padding
+     * @param dst    the output array
+     * @param dstOff the index at which the first byte is written
+     * @param codes  the decoding table, {@link #CODES}, {@link #CODES_URL} or
+     *               {@link #CODES_LENIENT}
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the input is malformed, contains invalid
+     *                                  characters, or {@code dst} does not have
+     *                                  enough space
+     */
+    public static int decode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final byte[] codes) {
+
+        final CharSequence chars = new AsciiChars(src, off, len);
+
+        if (off == 0 && len == src.length && dstOff == 0 && len >= INTRINSIC_THRESHOLD) {
+
+            final int decodedLength = getDecodedLength(chars, 0, len);
+
+            if (dst.length < decodedLength) {
+                throw new IllegalArgumentException("Output array is too small to hold " + decodedLength + " decoded bytes.");
+            }
+
+            final java.util.Base64.Decoder intrinsic = intrinsic(chars, 0, len, codes);
+
+            if (intrinsic != null) {
+                try {
+                    return intrinsic.decode(src, dst);
+
+                } catch (IllegalArgumentException e) {
+                    // reported precisely by the scalar decoder
+                }
+            }
+        }
+
+        if (VectorCodec.INSTANCE == null || len < VectorCodec.THRESHOLD) {
+            return decode(chars, 0, len, dst, dstOff, codes);
+        }
+
+        final int decodedLength = getDecodedLength(chars, 0, len);
+
+        if (dst.length - dstOff < decodedLength) {
+            throw new IllegalArgumentException("Output array is too small to hold " + decodedLength + " decoded bytes.");
+        }
+
+        // the last block, possibly padded, is left to the scalar code
+        final int vectorized = VectorCodec.INSTANCE.decodeBase64(src, off, (len - 1) & ~3, dst, dstOff, codes);
+
+        return vectorized / 4 * 3 + decode(chars, vectorized, len - vectorized, dst, dstOff + vectorized / 4 * 3, codes);
+    }
+
+    /**
+     * Validates a range of the given characters as Base64, padded or not,
+     * without decoding them, checking the alphabet, the length, the padding and
+     * that no bits are left over after the last decoded byte.
+     *
+     * @param src   the Base64 characters to validate
+     * @param off   the index of the first character to validate
+     * @param len   the number of characters to validate
+     * @param codes the decoding table, {@link #CODES}, {@link #CODES_URL} or
+     *              {@link #CODES_LENIENT}
+     * @return {@link DecodeStatus#VALID} if the characters can be decoded,
+     *         otherwise the reason they cannot
+     */
+    public static DecodeStatus validate(final CharSequence src, final int off, final int len, final byte[] codes) {
+
+        final int decodedLength = tryDecodedLength(src, off, len);
+
+        if (decodedLength <= 0) {
+            return DecodeStatus.of(decodedLength);
+        }
+
+        final int length = len - getPaddingLength(src, off, len);
+
+        int invalid = 0;
+
+        for (int index = off; index < off + length; index++) {
+            invalid |= code(src.charAt(index), codes);
+        }
+
+        if (invalid < 0) {
+            return DecodeStatus.INVALID_CHARACTER;
+        }
+
+        final int trailing = length & 3;
+
+        // the last character holds the bits that are not decoded
+        if (trailing > 0 && (code(src.charAt(off + length - 1), codes) & (trailing == 3 ? 0x3 : 0xf)) != 0) {
+            return DecodeStatus.LEFTOVER_BITS;
+        }
+
+        return DecodeStatus.VALID;
+    }
+
+    /**
+     * Returns the exact number of characters the given number of bytes is
+     * encoded into.
+     *
+     * @param length  the number of bytes to encode
+     * @param padding whether the output is padded with {@code '='}
+     * @return the number of encoded characters
+     */
+    public static final int getEncodedLength(final int length, final boolean padding) {
+        return padding
+                ? (length + 2) / 3 * 4
+                : (length * 4 + 2) / 3;
+    }
+
+    /**
+     * Returns the exact number of bytes a range of the given Base64 characters,
+     * padded or not, is decoded into, computed from the length and the padding
+     * only.
+     *
+     * @param encoded the Base64 characters
+     * @param off     the index of the first character
+     * @param len     the number of characters
+     * @return the number of decoded bytes
+     * @throws IllegalArgumentException if no Base64 value has the given length or
+     *                                  padding
+     */
+    public static final int getDecodedLength(final CharSequence encoded, final int off, final int len) {
+
+        final int length = tryDecodedLength(encoded, off, len);
+
+        if (length == DecodeStatus.INVALID_PADDING.code()) {
+            throw new IllegalArgumentException("Invalid padding: padded base64 string must be a multiple of 4 characters with at most 2 padding characters.");
+        }
+        if (length < 0) {
+            throw new IllegalArgumentException("Invalid base64 string length: " + len + ".");
+        }
+        return length;
+    }
+
+    /**
+     * Returns the exact number of bytes a range of the given Base64 characters,
+     * padded or not, is decoded into, computed from the length and the padding
+     * only, without throwing an exception.
+     *
+     * @param encoded the Base64 characters
+     * @param off     the index of the first character
+     * @param len     the number of characters
+     * @return the number of decoded bytes, or the negative
+     *         {@link DecodeStatus#code()} of the reason no Base64 value has the
+     *         given length or padding
+     */
+    public static final int tryDecodedLength(final CharSequence encoded, final int off, final int len) {
+
+        if (len == 0) {
+            return 0;
+        }
+
+        final int pads = getPaddingLength(encoded, off, len);
+
+        if (pads > 0 && (len % 4 != 0 || pads > 2)) {
+            return DecodeStatus.INVALID_PADDING.code();
+        }
+
+        final int length = len - pads;
+
+        if (length % 4 == 1) {
+            return DecodeStatus.INVALID_LENGTH.code();
+        }
+
+        return length / 4 * 3 + Math.max(0, (length & 3) - 1);
+    }
+
+    static final int getPaddingLength(final CharSequence data, final int off, final int len) {
+
+        int pads = 0;
+
+        // one more than allowed is counted to detect excessive padding
+        while (pads < 3 && pads < len && data.charAt(off + len - 1 - pads) == '=') {
+            pads++;
+        }
+
+        return pads;
+    }
+
+    /**
+     * Returns the {@link java.util.Base64} encoder of the given alphabet, or
+     * {@code null} if the alphabet is not one of the RFC 4648 ones.
+     */
+    static final java.util.Base64.Encoder intrinsic(final char[] alphabet, final boolean padding) {
+        if (alphabet == ALPHABET) {
+            return padding ? ENCODER : ENCODER_UNPADDED;
+        }
+        if (alphabet == ALPHABET_URL) {
+            return padding ? ENCODER_URL : ENCODER_URL_UNPADDED;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the {@link java.util.Base64} decoder of the given table, or
+     * {@code null} if there is none or the last block has leftover bits, which
+     * the JDK decoder ignores. The length is expected to be validated by
+     * {@link #getDecodedLength(CharSequence, int, int)}.
+     */
+    static final java.util.Base64.Decoder intrinsic(final CharSequence src, final int off, final int len, final byte[] codes) {
+
+        final java.util.Base64.Decoder decoder;
+
+        if (codes == CODES) {
+            decoder = java.util.Base64.getDecoder();
+
+        } else if (codes == CODES_URL) {
+            decoder = java.util.Base64.getUrlDecoder();
+
+        } else {
+            return null;
+        }
+
+        final int length = len - getPaddingLength(src, off, len);
+        final int trailing = length & 3;
+
+        if (trailing > 0) {
+            final int last = code(src.charAt(off + length - 1), codes);
+            if (last < 0 || (last & (trailing == 2 ? 0x0f : 0x03)) != 0) {
+                return null;
+            }
+        }
+        return decoder;
+    }
+
+    static final int code(final char ch, final byte[] codes) {
+        return ch < 256 ? codes[ch] : -1;
+    }
+
+    static final IllegalArgumentException failure(final int code, final CharSequence src, final int off, final int len, final byte[] codes) {
+        switch (DecodeStatus.of(code)) {
+        case INVALID_CHARACTER:
+            return invalidCharacter(src, off, len, codes);
+
+        case LEFTOVER_BITS:
+            return new IllegalArgumentException("Invalid base64 string: leftover bits after decoding.");
+
+        default:
+            // throws the detailed message
+            getDecodedLength(src, off, len);
+            return new IllegalArgumentException("Invalid base64 string.");
+        }
+    }
+
+    static final IllegalArgumentException invalidCharacter(final CharSequence src, final int off, final int len, final byte[] codes) {
+        for (int index = off; index < off + len; index++) {
+            if (code(src.charAt(index), codes) < 0) {
+                return new IllegalArgumentException("Invalid base64" + (codes == CODES_URL ? "url" : "") + " character: '" + src.charAt(index) + "'");
+            }
+        }
+        return new IllegalArgumentException("Invalid base64 string.");
+    }
+
+    static final byte[] codes(final char[]... alphabets) {
+
+        final byte[] codes = new byte[256];
+
+        Arrays.fill(codes, (byte) -1);
+
+        for (final char[] alphabet : alphabets) {
+            for (int code = 0; code < alphabet.length; code++) {
+                codes[alphabet[code]] = (byte) code;
+            }
+        }
+        return codes;
+    }
+}
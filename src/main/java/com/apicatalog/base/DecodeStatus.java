@@ -0,0 +1,65 @@
+package com.apicatalog.base;
+
+/**
+ * The outcome of validating encoded characters without decoding them.
+ * <p>
+ * Validation reports the first problem found, in the same order decoding
+ * detects it, so that a {@link #VALID} input is always decoded successfully.
+ * </p>
+ * <p>
+ * The non-throwing {@code tryDecode} methods report a failure as the negative
+ * {@link #code()} of its status in place of the number of decoded bytes.
+ * </p>
+ */
+public enum DecodeStatus {
+
+    /** The input is well formed. */
+    VALID,
+
+    /** The input is {@code null}, empty, or consists of whitespace only. */
+    EMPTY,
+
+    /** The prefix does not denote a supported encoding. */
+    UNSUPPORTED_PREFIX,
+
+    /** The input contains a character outside the alphabet. */
+    INVALID_CHARACTER,
+
+    /** The number of characters cannot be produced by the encoding. */
+    INVALID_LENGTH,
+
+    /** The input is padded with a wrong number of padding characters. */
+    INVALID_PADDING,
+
+    /** The last character carries non-zero bits that are not decoded. */
+    LEFTOVER_BITS,
+
+    /** The input cannot be decoded, no specific reason is known. */
+    MALFORMED,
+    ;
+
+    private static final DecodeStatus[] VALUES = values();
+
+    /**
+     * Returns the negative code a non-throwing {@code tryDecode} method reports
+     * this status with.
+     *
+     * @return the code, always negative, {@code -1} for {@link #VALID} which is
+     *         never reported
+     */
+    public int code() {
+        return -1 - ordinal();
+    }
+
+    /**
+     * Returns the status of the given result of a non-throwing
+     * {@code tryDecode} method.
+     *
+     * @param result the number of decoded bytes, or a negative code
+     * @return {@link #VALID} if the result is not negative, otherwise the status
+     *         the code denotes
+     */
+    public static DecodeStatus of(final int result) {
+        return result >= 0 ? VALID : VALUES[-1 - result];
+    }
+}
@@ -15,6 +15,9 @@
  */
 package com.apicatalog.base;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
 import java.util.stream.IntStream;
 
 /**
@@ -28,6 +31,9 @@ public final class Id32 {
 
 	public static final int MAX_ENCODED_LONG_SIZE = 13;
 
+	/** The fixed number of characters a 128-bit value is encoded into. */
+	public static final int ENCODED_128_SIZE = 26;
+
 	/**
 	 * Encodes {@code long} into {@code String} with the default alphabet.
 	 * 
@@ -47,32 +53,272 @@ public final class Id32 {
      */
 	public static final String encodeLong(final long number, final Alphabet alphabet) {
 
-		if (number < 0) {
-			throw new IllegalArgumentException("An identifier [" + number + "] must be equal or greater than zero.");
+		final char[] chars = new char[encodedLength(number)];
+
+		encodeLong(number, chars, 0, alphabet);
+
+		return new String(chars);
+	}
+
+	/**
+	 * Encodes {@code long} into the given array with the default alphabet.
+	 *
+	 * @param number to encode
+	 * @param dst the output array
+	 * @param off the index at which the first character is written
+	 * @return the number of characters written
+	 */
+	public static final int encodeLong(final long number, final char[] dst, final int off) {
+	    return encodeLong(number, dst, off, Alphabet.DEFAULT);
+	}
+
+	/**
+	 * Encodes {@code long} into the given array with the given alphabet.
+	 *
+	 * @param number to encode
+	 * @param dst the output array
+	 * @param off the index at which the first character is written
+	 * @param alphabet to use
+	 * @return the number of characters written
+	 */
+	public static final int encodeLong(final long number, final char[] dst, final int off, final Alphabet alphabet) {
+
+		final int length = encodedLength(number);
+
+		if (dst.length - off < length) {
+			throw new IllegalArgumentException("Output array is too small to hold " + length + " encoded characters.");
 		}
-		
+
 		long result = number;
-		int remainder = 0;
-		
-		char[] chars = new char[MAX_ENCODED_LONG_SIZE];
-		int index = 0; 
-		
-		do {
-			
-			if (index >= MAX_ENCODED_LONG_SIZE) {
-				throw new IllegalStateException();
+
+		for (int index = off + length - 1; index >= off; index--) {
+			dst[index] = alphabet.characters[(int) result & 0x1f];
+			result >>>= 5;
+		}
+
+		return length;
+	}
+
+	/**
+	 * Appends {@code long} encoded with the default alphabet to the given
+	 * appendable, e.g. a {@link java.io.Writer} or a {@link StringBuilder}.
+	 *
+	 * @param number to encode
+	 * @param dst the appendable to append to
+	 * @return the number of characters appended
+	 * @throws IOException if the characters cannot be appended
+	 */
+	public static final int encodeLong(final long number, final Appendable dst) throws IOException {
+	    return encodeLong(number, dst, Alphabet.DEFAULT);
+	}
+
+	/**
+	 * Appends {@code long} encoded with the given alphabet to the given
+	 * appendable, without an intermediate array.
+	 *
+	 * @param number to encode
+	 * @param dst the appendable to append to
+	 * @param alphabet to use
+	 * @return the number of characters appended
+	 * @throws IOException if the characters cannot be appended
+	 */
+	public static final int encodeLong(final long number, final Appendable dst, final Alphabet alphabet) throws IOException {
+
+		final int length = encodedLength(number);
+
+		for (int shift = (length - 1) * 5; shift >= 0; shift -= 5) {
+			dst.append(alphabet.characters[(int) (number >>> shift) & 0x1f]);
+		}
+
+		return length;
+	}
+
+	/**
+	 * Encodes the given {@code long}s with the default alphabet.
+	 *
+	 * @param numbers to encode
+	 * @return the encoded numbers, in the given order
+	 */
+	public static final String[] encode(final long[] numbers) {
+	    return encode(numbers, Alphabet.DEFAULT);
+	}
+
+	/**
+	 * Encodes the given {@code long}s with the given alphabet.
+	 *
+	 * @param numbers to encode
+	 * @param alphabet to use
+	 * @return the encoded numbers, in the given order
+	 */
+	public static final String[] encode(final long[] numbers, final Alphabet alphabet) {
+
+		final String[] encoded = new String[numbers.length];
+
+		final char[] chars = new char[MAX_ENCODED_LONG_SIZE];
+
+		for (int index = 0; index < numbers.length; index++) {
+			encoded[index] = new String(chars, 0, encodeLong(numbers[index], chars, 0, alphabet));
+		}
+
+		return encoded;
+	}
+
+	/**
+	 * Encodes the given {@code long}s with the default alphabet into a single
+	 * array, delimited by the given separator, e.g. a CSV row.
+	 *
+	 * @param numbers to encode
+	 * @param separator written between two encoded numbers
+	 * @return the encoded numbers, in the given order
+	 */
+	public static final char[] encode(final long[] numbers, final char separator) {
+	    return encode(numbers, separator, Alphabet.DEFAULT);
+	}
+
+	/**
+	 * Encodes the given {@code long}s with the given alphabet into a single
+	 * array, delimited by the given separator. The array is sized exactly
+	 * upfront.
+	 *
+	 * @param numbers to encode
+	 * @param separator written between two encoded numbers
+	 * @param alphabet to use
+	 * @return the encoded numbers, in the given order
+	 */
+	public static final char[] encode(final long[] numbers, final char separator, final Alphabet alphabet) {
+
+		int length = Math.max(0, numbers.length - 1);
+
+		for (final long number : numbers) {
+			length += encodedLength(number);
+		}
+
+		final char[] encoded = new char[length];
+
+		int offset = 0;
+
+		for (int index = 0; index < numbers.length; index++) {
+			if (index > 0) {
+				encoded[offset++] = separator;
 			}
+			offset += encodeLong(numbers[index], encoded, offset, alphabet);
+		}
+
+		return encoded;
+	}
+
+	/**
+	 * Returns the number of characters the given {@code long} is encoded into.
+	 *
+	 * @param number to encode
+	 * @return the number of encoded characters, 1 to 13
+	 * @throws IllegalArgumentException if the number is negative
+	 */
+	public static final int encodedLength(final long number) {
+
+		if (number < 0) {
+			throw new IllegalArgumentException("An identifier [" + number + "] must be equal or greater than zero.");
+		}
 
-			remainder = (int)(result % alphabet.length());
+		// 5 bits per character, at least one character
+		return Math.max(1, (68 - Long.numberOfLeadingZeros(number)) / 5);
+	}
 
-			chars[MAX_ENCODED_LONG_SIZE - 1 - index] = alphabet.characters[remainder];
-			result /= alphabet.length();
-			
-			index += 1;
-						
-		} while (result > 0);
-		
-		return String.copyValueOf(chars, MAX_ENCODED_LONG_SIZE - index, index);
+	/**
+	 * Encodes {@link UUID} into a fixed length {@code String} with the default
+	 * alphabet.
+	 *
+	 * @param uuid to encode
+	 * @return the encoded UUID, always {@value #ENCODED_128_SIZE} characters
+	 */
+	public static final String encodeUuid(final UUID uuid) {
+	    return encodeUuid(uuid, Alphabet.DEFAULT);
+	}
+
+	/**
+	 * Encodes {@link UUID} into a fixed length {@code String} with the given
+	 * alphabet.
+	 *
+	 * @param uuid to encode
+	 * @param alphabet to use
+	 * @return the encoded UUID, always {@value #ENCODED_128_SIZE} characters
+	 */
+	public static final String encodeUuid(final UUID uuid, final Alphabet alphabet) {
+
+		if (uuid == null) {
+			throw new IllegalArgumentException("An UUID must not be null.");
+		}
+
+		return encode128(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), alphabet);
+	}
+
+	/**
+	 * Encodes an unsigned 128-bit value into a fixed length {@code String} with
+	 * the default alphabet.
+	 *
+	 * @param hi the most significant 64 bits
+	 * @param lo the least significant 64 bits
+	 * @return the encoded value, always {@value #ENCODED_128_SIZE} characters
+	 */
+	public static final String encode128(final long hi, final long lo) {
+	    return encode128(hi, lo, Alphabet.DEFAULT);
+	}
+
+	/**
+	 * Encodes an unsigned 128-bit value into a fixed length {@code String} with
+	 * the given alphabet.
+	 *
+	 * @param hi the most significant 64 bits
+	 * @param lo the least significant 64 bits
+	 * @param alphabet to use
+	 * @return the encoded value, always {@value #ENCODED_128_SIZE} characters
+	 */
+	public static final String encode128(final long hi, final long lo, final Alphabet alphabet) {
+
+		final char[] chars = new char[ENCODED_128_SIZE];
+
+		encode128(hi, lo, chars, 0, alphabet);
+
+		return new String(chars);
+	}
+
+	/**
+	 * Encodes an unsigned 128-bit value into the given array with the given
+	 * alphabet, using shifts across the two halves only.
+	 *
+	 * @param hi the most significant 64 bits
+	 * @param lo the least significant 64 bits
+	 * @param dst the output array
+	 * @param off the index at which the first character is written
+	 * @param alphabet to use
+	 * @return the number of characters written, always {@value #ENCODED_128_SIZE}
+	 */
+	public static final int encode128(final long hi, final long lo, final char[] dst, final int off, final Alphabet alphabet) {
+
+		if (dst.length - off < ENCODED_128_SIZE) {
+			throw new IllegalArgumentException("Output array is too small to hold " + ENCODED_128_SIZE + " encoded characters.");
+		}
+
+		// the lower 60 bits
+		long result = lo;
+
+		for (int index = off + ENCODED_128_SIZE - 1; index > off + 13; index--) {
+			dst[index] = alphabet.characters[(int) result & 0x1f];
+			result >>>= 5;
+		}
+
+		// 4 bits left of the lower half and the lowest bit of the upper half
+		dst[off + 13] = alphabet.characters[(int) (result | hi << 4) & 0x1f];
+
+		// the upper 63 bits, the first character holds 3 bits only
+		result = hi >>> 1;
+
+		for (int index = off + 12; index >= off; index--) {
+			dst[index] = alphabet.characters[(int) result & 0x1f];
+			result >>>= 5;
+		}
+
+		return ENCODED_128_SIZE;
 	}
 
     /**
@@ -93,32 +339,172 @@ public final class Id32 {
      * @return the decoded number
      */
 	public static final long decodeLong(final String encoded, final Alphabet alphabet) {
-       if (encoded == null || encoded.length() == 0) {
+       if (encoded == null) {
+           throw new IllegalArgumentException("Encoded number must not be a null nor an empty string");
+       }
+       return decodeLong(encoded, 0, encoded.length(), alphabet);
+   }
+
+    /**
+     * Decodes {@code long} from a range of the given characters with the default
+     * alphabet.
+     *
+     * @param encoded characters holding the number to decode
+     * @param start the index of the first character
+     * @param end the index after the last character
+     * @return the decoded number
+     */
+    public static final long decodeLong(final CharSequence encoded, final int start, final int end) {
+        return decodeLong(encoded, start, end, Alphabet.DEFAULT);
+    }
+
+    /**
+     * Decodes {@code long} from a range of the given characters with the given
+     * alphabet, without copying them.
+     *
+     * @param encoded characters holding the number to decode
+     * @param start the index of the first character
+     * @param end the index after the last character
+     * @param alphabet to use
+     * @return the decoded number
+     */
+    public static final long decodeLong(final CharSequence encoded, final int start, final int end, final Alphabet alphabet) {
+
+       final int length = end - start;
+
+       if (encoded == null || length <= 0) {
            throw new IllegalArgumentException("Encoded number must not be a null nor an empty string");
        }
-       if (encoded.length() > MAX_ENCODED_LONG_SIZE) {
-           throw new IllegalArgumentException("Encoded number length (" + encoded.length() + ") exceeds maximal allowed length (" + MAX_ENCODED_LONG_SIZE + "), input='" + encoded + "'");
+       if (length > MAX_ENCODED_LONG_SIZE) {
+           throw new IllegalArgumentException("Encoded number length (" + length + ") exceeds maximal allowed length (" + MAX_ENCODED_LONG_SIZE + "), input='" + encoded.subSequence(start, end) + "'");
+       }
+
+       // 13 characters hold 65 bits, the first one may carry 3 bits only
+       if (length == MAX_ENCODED_LONG_SIZE && alphabet.indexOf(encoded.charAt(start)) > 7) {
+           throw new IllegalArgumentException("Encoded number exceeds " + Long.MAX_VALUE + ", input='" + encoded.subSequence(start, end) + "'");
        }
 
        long number = 0l;
-       long exponent = 1l;
-       
-       for (int index=encoded.length() - 1; index >= 0; index--) {
-           
+       int invalid = 0;
+
+       for (int index = start; index < end; index++) {
+
            final char ch = encoded.charAt(index);
-                      
-           final int value = alphabet.indexOf(ch);
 
-           if (value == -1) {
-               throw new IllegalArgumentException("Unsupported character '" + ch + "', index=" + encoded.length() + ", input='" + encoded + "'");
-           }
+           final int value = ch < 128 ? alphabet.codes[ch] : -1;
+
+           // an unsupported character has a negative value
+           invalid |= value;
+           number = number << 5 | (value & 0x1f);
+       }
 
-           number += exponent * value;
-           exponent *= alphabet.length();            
+       if (invalid < 0) {
+           for (int index = start; index < end; index++) {
+               if (alphabet.indexOf(encoded.charAt(index)) == -1) {
+                   throw new IllegalArgumentException("Unsupported character '" + encoded.charAt(index) + "', index=" + (index - start) + ", input='" + encoded.subSequence(start, end) + "'");
+               }
+           }
        }
        return number;
    }
-   
+
+    /**
+     * Decodes {@link UUID} from {@value #ENCODED_128_SIZE} characters with the
+     * default alphabet.
+     *
+     * @param encoded UUID to decode
+     * @return the decoded UUID
+     */
+    public static final UUID decodeUuid(final CharSequence encoded) {
+        return decodeUuid(encoded, Alphabet.DEFAULT);
+    }
+
+    /**
+     * Decodes {@link UUID} from {@value #ENCODED_128_SIZE} characters with the
+     * given alphabet, using shifts across the two halves only.
+     *
+     * @param encoded UUID to decode
+     * @param alphabet to use
+     * @return the decoded UUID
+     */
+    public static final UUID decodeUuid(final CharSequence encoded, final Alphabet alphabet) {
+
+       if (encoded == null || encoded.length() != ENCODED_128_SIZE) {
+           throw new IllegalArgumentException("Encoded UUID must consist of " + ENCODED_128_SIZE + " characters, input='" + encoded + "'");
+       }
+
+       // 26 characters hold 130 bits, the first one may carry 3 bits only
+       if (alphabet.indexOf(encoded.charAt(0)) > 7) {
+           throw new IllegalArgumentException("Encoded UUID exceeds 128 bits, input='" + encoded + "'");
+       }
+
+       int invalid = 0;
+
+       // the upper 63 bits
+       long hi = 0l;
+
+       for (int index = 0; index < 13; index++) {
+           final int value = code(encoded.charAt(index), alphabet);
+           invalid |= value;
+           hi = hi << 5 | (value & 0x1f);
+       }
+
+       // the lowest bit of the upper half and 4 bits of the lower half
+       final int split = code(encoded.charAt(13), alphabet);
+       invalid |= split;
+
+       hi = hi << 1 | (split & 0x1f) >>> 4;
+
+       long lo = split & 0xf;
+
+       for (int index = 14; index < ENCODED_128_SIZE; index++) {
+           final int value = code(encoded.charAt(index), alphabet);
+           invalid |= value;
+           lo = lo << 5 | (value & 0x1f);
+       }
+
+       if (invalid < 0) {
+           for (int index = 0; index < ENCODED_128_SIZE; index++) {
+               if (alphabet.indexOf(encoded.charAt(index)) == -1) {
+                   throw new IllegalArgumentException("Unsupported character '" + encoded.charAt(index) + "', index=" + index + ", input='" + encoded + "'");
+               }
+           }
+       }
+       return new UUID(hi, lo);
+   }
+
+    /**
+     * Decodes the given encoded {@code long}s with the default alphabet.
+     *
+     * @param encoded numbers to decode
+     * @return the decoded numbers, in the given order
+     */
+    public static final long[] decode(final String[] encoded) {
+        return decode(encoded, Alphabet.DEFAULT);
+    }
+
+    /**
+     * Decodes the given encoded {@code long}s with the given alphabet.
+     *
+     * @param encoded numbers to decode
+     * @param alphabet to use
+     * @return the decoded numbers, in the given order
+     */
+    public static final long[] decode(final String[] encoded, final Alphabet alphabet) {
+
+        final long[] numbers = new long[encoded.length];
+
+        for (int index = 0; index < encoded.length; index++) {
+            numbers[index] = decodeLong(encoded[index], alphabet);
+        }
+
+        return numbers;
+    }
+
+   static final int code(final char ch, final Alphabet alphabet) {
+       return ch < 128 ? alphabet.codes[ch] : -1;
+   }
+
    public static class Alphabet {
 
        public static final Alphabet DEFAULT = new Alphabet(
@@ -148,10 +534,22 @@ public final class Id32 {
        final int[] alphas;
        final int[] numbers;
 
+       /**
+        * Character values indexed by an ASCII character, regardless of case,
+        * with I folded to 1 and O to 0, {@code -1} if unsupported.
+        */
+       final byte[] codes;
+
        public Alphabet(char[] characters, int[] alpha, int[] number) {
+
+           if (characters == null || characters.length != ALPHABET_SIZE) {
+               throw new IllegalArgumentException("An alphabet must consist of " + ALPHABET_SIZE + " characters.");
+           }
+
            this.characters = characters;
            this.alphas = alpha;
            this.numbers = number;
+           this.codes = codes(alpha, number);
        }
           
        public static final Alphabet of(final char...characters) {
@@ -194,28 +592,31 @@ public final class Id32 {
        }
        
        public int indexOf(final char ch) {
+           return ch < 128 ? codes[ch] : -1;
+       }
 
-           if (ch == 'I' || ch == 'i') { // I,i -> 1
-               return numbers[1];
-           } 
-           
-           if (ch == 'O' || ch == 'o') { // O,o -> 0
-               return numbers[0];
-           } 
-           
-           if (ch >= 'A' && ch <= 'Z') {
-               return alphas[ch - 'A'];
-           }
+       static final byte[] codes(final int[] alphas, final int[] numbers) {
+
+           final byte[] codes = new byte[128];
 
-           if (ch >= 'a' && ch <= 'z') {
-               return alphas[ch - 'a'];
+           Arrays.fill(codes, (byte) -1);
+
+           for (int i = 0; i < 26; i++) {
+               codes['A' + i] = (byte) alphas[i];
+               codes['a' + i] = (byte) alphas[i];
            }
 
-           if (ch >= '0' && ch <= '9') {    
-               return numbers[ch - '0'];
+           for (int i = 0; i < 10; i++) {
+               codes['0' + i] = (byte) numbers[i];
            }
-           
-           return -1;
+
+           // I,i -> 1
+           codes['I'] = codes['i'] = (byte) numbers[1];
+
+           // O,o -> 0
+           codes['O'] = codes['o'] = (byte) numbers[0];
+
+           return codes;
        }
    }
 }
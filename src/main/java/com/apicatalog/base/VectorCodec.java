@@ -0,0 +1,94 @@
+package com.apicatalog.base;
+
+/**
+ * Vectorized fast paths encoding and decoding large inputs, provided for
+ * Base16, Base32 and Base64.
+ * <p>
+ * An implementation built on {@code jdk.incubator.vector} is provided by the
+ * multi-release overlay for JDK 17+ and is used when the module has been added
+ * to the runtime, e.g. {@code --add-modules jdk.incubator.vector}, and the
+ * platform supports 256-bit vectors. The scalar code remains the fallback and
+ * the fast paths can be turned off with
+ * {@code -Dcom.apicatalog.base.vector=false}.
+ * </p>
+ * <p>
+ * Each method processes a prefix of the input made of whole vector blocks and
+ * returns its length, leaving the rest, including malformed input, to the
+ * scalar code. Nothing is written past the output of the given range, a
+ * method writing whole vectors stops before it would overrun it.
+ * </p>
+ */
+interface VectorCodec {
+
+    /** The minimal number of bytes or characters processed with vectors. */
+    int THRESHOLD = 64;
+
+    /** The vectorized codec, or {@code null} if not available. */
+    VectorCodec INSTANCE = load();
+
+    /**
+     * Encodes a prefix of the given bytes as US-ASCII Base16 characters.
+     *
+     * @return the number of bytes encoded
+     */
+    int encodeBase16(byte[] src, int off, int len, byte[] dst, int dstOff, char[] alphabet);
+
+    /**
+     * Decodes a prefix of the given US-ASCII Base16 characters, stopping before
+     * an invalid character.
+     *
+     * @return the number of characters decoded
+     */
+    int decodeBase16(byte[] src, int off, int len, byte[] dst, int dstOff);
+
+    /**
+     * Encodes a prefix of the given bytes as US-ASCII Base32 characters, 5 bytes
+     * into 8 characters, without padding.
+     *
+     * @return the number of bytes encoded
+     */
+    int encodeBase32(byte[] src, int off, int len, byte[] dst, int dstOff, char[] alphabet);
+
+    /**
+     * Decodes a prefix of the given US-ASCII Base32 characters, 8 characters into
+     * 5 bytes, stopping before an invalid character or padding. The range is
+     * expected to hold whole unpadded blocks, decoding into {@code len / 8 * 5}
+     * bytes at most.
+     *
+     * @return the number of characters decoded
+     */
+    int decodeBase32(byte[] src, int off, int len, byte[] dst, int dstOff, byte[] codes);
+
+    /**
+     * Encodes a prefix of the given bytes as US-ASCII Base64 characters, 3 bytes
+     * into 4 characters, without padding.
+     *
+     * @return the number of bytes encoded
+     */
+    int encodeBase64(byte[] src, int off, int len, byte[] dst, int dstOff, char[] alphabet);
+
+    /**
+     * Decodes a prefix of the given US-ASCII Base64 characters, 4 characters into
+     * 3 bytes, stopping before an invalid character or padding. The range is
+     * expected to hold whole unpadded blocks, decoding into {@code len / 4 * 3}
+     * bytes at most.
+     *
+     * @return the number of characters decoded
+     */
+    int decodeBase64(byte[] src, int off, int len, byte[] dst, int dstOff, byte[] codes);
+
+    static VectorCodec load() {
+        try {
+            if (!Boolean.parseBoolean(System.getProperty("com.apicatalog.base.vector", "true"))) {
+                return null;
+            }
+            // present in the multi-release overlay only
+            return (VectorCodec) Class.forName("com.apicatalog.base.IncubatorVectorCodec")
+                    .getDeclaredConstructor()
+                    .newInstance();
+
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+}
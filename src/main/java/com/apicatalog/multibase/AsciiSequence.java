@@ -0,0 +1,51 @@
+package com.apicatalog.multibase;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A read-only {@link CharSequence} view of US-ASCII characters held by a
+ * {@link ByteBuffer}, e.g. a direct or memory-mapped one, without copying
+ * them.
+ */
+final class AsciiSequence implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    AsciiSequence(final ByteBuffer buffer, final int offset, final int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return (char) (buffer.get(offset + index) & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        return new AsciiSequence(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        final char[] chars = new char[length];
+        for (int index = 0; index < length; index++) {
+            chars[index] = (char) (buffer.get(offset + index) & 0xff);
+        }
+        return new String(chars);
+    }
+}
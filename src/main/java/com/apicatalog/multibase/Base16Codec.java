@@ -0,0 +1,71 @@
+package com.apicatalog.multibase;
+
+import com.apicatalog.base.Base16;
+import com.apicatalog.base.DecodeStatus;
+
+/**
+ * {@link BaseCodec} backed by {@link Base16}.
+ */
+final class Base16Codec implements BaseCodec {
+
+    private final char[] alphabet;
+
+    Base16Codec(final char[] alphabet) {
+        this.alphabet = alphabet;
+    }
+
+    @Override
+    public int encode(byte[] src, int off, int len, char[] dst, int dstOff) {
+        return Base16.encode(src, off, len, dst, dstOff, alphabet);
+    }
+
+    @Override
+    public int encodeAscii(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        return Base16.encode(src, off, len, dst, dstOff, alphabet);
+    }
+
+    @Override
+    public int decode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+        return Base16.decode(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public DecodeStatus validate(CharSequence src, int off, int len) {
+        return Base16.validate(src, off, len);
+    }
+
+    @Override
+    public int tryDecode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+        return Base16.tryDecode(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public int decodedLength(CharSequence src, int off, int len) {
+        if (len % 2 != 0) {
+            throw new IllegalArgumentException("Encoded string must have an even number of characters.");
+        }
+        return len / 2;
+    }
+
+    @Override
+    public int decodeAscii(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        return Base16.decode(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public int blockLength() {
+        return 1;
+    }
+
+    @Override
+    public int encodedBlockLength() {
+        return 2;
+    }
+
+    @Override
+    public int tryDecodedLength(CharSequence src, int off, int len) {
+        return len % 2 != 0
+                ? DecodeStatus.INVALID_LENGTH.code()
+                : len / 2;
+    }
+}
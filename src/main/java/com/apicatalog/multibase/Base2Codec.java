@@ -0,0 +1,70 @@
+package com.apicatalog.multibase;
+
+import com.apicatalog.base.Base2;
+import com.apicatalog.base.DecodeStatus;
+
+/**
+ * {@link BaseCodec} backed by {@link Base2}.
+ */
+final class Base2Codec implements BaseCodec {
+
+    static final Base2Codec INSTANCE = new Base2Codec();
+
+    private Base2Codec() {
+        /* protected */}
+
+    @Override
+    public int encode(byte[] src, int off, int len, char[] dst, int dstOff) {
+        return Base2.encode(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public int encodeAscii(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        return Base2.encode(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public int decode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+        return Base2.decode(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public int decodeAscii(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        return Base2.decode(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public DecodeStatus validate(CharSequence src, int off, int len) {
+        return Base2.validate(src, off, len);
+    }
+
+    @Override
+    public int tryDecode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+        return Base2.tryDecode(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public int decodedLength(CharSequence src, int off, int len) {
+        if (len % 8 != 0) {
+            throw new IllegalArgumentException("Encoded string length must be a multiple of 8.");
+        }
+        return len / 8;
+    }
+
+    @Override
+    public int blockLength() {
+        return 1;
+    }
+
+    @Override
+    public int encodedBlockLength() {
+        return 8;
+    }
+
+    @Override
+    public int tryDecodedLength(CharSequence src, int off, int len) {
+        return len % 8 != 0
+                ? DecodeStatus.INVALID_LENGTH.code()
+                : len / 8;
+    }
+}
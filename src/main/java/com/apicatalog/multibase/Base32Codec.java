@@ -0,0 +1,75 @@
+package com.apicatalog.multibase;
+
+import com.apicatalog.base.Base32;
+import com.apicatalog.base.DecodeStatus;
+
+/**
+ * {@link BaseCodec} backed by {@link Base32}.
+ */
+final class Base32Codec implements BaseCodec {
+
+    private final char[] alphabet;
+    private final byte[] codes;
+    private final boolean padding;
+
+    Base32Codec(final char[] alphabet, final byte[] codes, final boolean padding) {
+        this.alphabet = alphabet;
+        this.codes = codes;
+        this.padding = padding;
+    }
+
+    @Override
+    public int encode(byte[] src, int off, int len, char[] dst, int dstOff) {
+        return Base32.encode(src, off, len, dst, dstOff, alphabet, padding);
+    }
+
+    @Override
+    public int encodeAscii(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        return Base32.encode(src, off, len, dst, dstOff, alphabet, padding);
+    }
+
+    @Override
+    public int decode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+        return Base32.decode(src, off, len, dst, dstOff, codes, padding);
+    }
+
+    @Override
+    public DecodeStatus validate(CharSequence src, int off, int len) {
+        return Base32.validate(src, off, len, codes, padding);
+    }
+
+    @Override
+    public int tryDecode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+        return Base32.tryDecode(src, off, len, dst, dstOff, codes, padding);
+    }
+
+    @Override
+    public int decodeAscii(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        return Base32.decode(src, off, len, dst, dstOff, codes, padding);
+    }
+
+    @Override
+    public int blockLength() {
+        return 5;
+    }
+
+    @Override
+    public int encodedBlockLength() {
+        return 8;
+    }
+
+    @Override
+    public int encodedLength(int length) {
+        return Base32.getEncodedLength(length, padding);
+    }
+
+    @Override
+    public int decodedLength(CharSequence src, int off, int len) {
+        return Base32.getDecodedLength(src, off, len, padding);
+    }
+
+    @Override
+    public int tryDecodedLength(CharSequence src, int off, int len) {
+        return Base32.tryDecodedLength(src, off, len, padding);
+    }
+}
@@ -0,0 +1,61 @@
+package com.apicatalog.multibase;
+
+import com.apicatalog.base.Base58;
+import com.apicatalog.base.DecodeStatus;
+
+/**
+ * {@link BaseCodec} backed by {@link Base58}.
+ */
+final class Base58Codec implements BaseCodec {
+
+    static final Base58Codec INSTANCE = new Base58Codec();
+
+    private Base58Codec() {
+        /* protected */}
+
+    @Override
+    public int encode(byte[] src, int off, int len, char[] dst, int dstOff) {
+        return Base58.encode(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public int encodeAscii(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        return Base58.encode(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public int decode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+        return Base58.decode(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public DecodeStatus validate(CharSequence src, int off, int len) {
+        return Base58.validate(src, off, len);
+    }
+
+    @Override
+    public int tryDecode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+        return Base58.tryDecode(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public int maxEncodedLength(int length) {
+        return Base58.encodedLength(length);
+    }
+
+    @Override
+    public int maxDecodedLength(int length) {
+        // each leading '1' is decoded into a zero byte
+        return length;
+    }
+
+    @Override
+    public int encodedLength(byte[] src, int off, int len) {
+        return Base58.encodedLength(src, off, len);
+    }
+
+    @Override
+    public int decodedLength(CharSequence src, int off, int len) {
+        return Base58.decodedLength(src, off, len);
+    }
+}
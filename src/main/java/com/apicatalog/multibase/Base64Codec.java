@@ -0,0 +1,75 @@
+package com.apicatalog.multibase;
+
+import com.apicatalog.base.Base64;
+import com.apicatalog.base.DecodeStatus;
+
+/**
+ * {@link BaseCodec} backed by {@link Base64}.
+ */
+final class Base64Codec implements BaseCodec {
+
+    private final char[] alphabet;
+    private final byte[] codes;
+    private final boolean padding;
+
+    Base64Codec(final char[] alphabet, final byte[] codes, final boolean padding) {
+        this.alphabet = alphabet;
+        this.codes = codes;
+        this.padding = padding;
+    }
+
+    @Override
+    public int encode(byte[] src, int off, int len, char[] dst, int dstOff) {
+        return Base64.encode(src, off, len, dst, dstOff, alphabet, padding);
+    }
+
+    @Override
+    public int encodeAscii(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        return Base64.encode(src, off, len, dst, dstOff, alphabet, padding);
+    }
+
+    @Override
+    public int decode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+        return Base64.decode(src, off, len, dst, dstOff, codes);
+    }
+
+    @Override
+    public int decodeAscii(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        return Base64.decode(src, off, len, dst, dstOff, codes);
+    }
+
+    @Override
+    public DecodeStatus validate(CharSequence src, int off, int len) {
+        return Base64.validate(src, off, len, codes);
+    }
+
+    @Override
+    public int tryDecode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+        return Base64.tryDecode(src, off, len, dst, dstOff, codes);
+    }
+
+    @Override
+    public int blockLength() {
+        return 3;
+    }
+
+    @Override
+    public int encodedBlockLength() {
+        return 4;
+    }
+
+    @Override
+    public int encodedLength(int length) {
+        return Base64.getEncodedLength(length, padding);
+    }
+
+    @Override
+    public int decodedLength(CharSequence src, int off, int len) {
+        return Base64.getDecodedLength(src, off, len);
+    }
+
+    @Override
+    public int tryDecodedLength(CharSequence src, int off, int len) {
+        return Base64.tryDecodedLength(src, off, len);
+    }
+}
@@ -0,0 +1,275 @@
+package com.apicatalog.multibase;
+
+import java.nio.ByteBuffer;
+
+import com.apicatalog.base.DecodeStatus;
+
+/**
+ * Encodes and decodes data with a single base encoding, without a multibase
+ * prefix, writing into caller provided arrays.
+ * <p>
+ * Working with ranges of existing arrays allows hot paths to reuse buffers
+ * instead of producing intermediate strings and arrays.
+ * </p>
+ *
+ * @see Multibase#encodeTo(byte[], int, int, char[], int)
+ * @see Multibase#decodeTo(CharSequence, int, int, byte[], int)
+ */
+public interface BaseCodec {
+
+    /**
+     * Encodes a range of the given byte array into the given character array.
+     *
+     * @param src    the data to encode
+     * @param off    the index of the first byte to encode
+     * @param len    the number of bytes to encode
+     * @param dst    the output array
+     * @param dstOff the index at which the first character is written
+     * @return the number of characters written
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    int encode(byte[] src, int off, int len, char[] dst, int dstOff);
+
+    /**
+     * Encodes a range of the given byte array into the given array as US-ASCII
+     * characters.
+     * <p>
+     * The default implementation encodes into an intermediate character array,
+     * codecs are expected to write directly from their alphabet.
+     * </p>
+     *
+     * @param src    the data to encode
+     * @param off    the index of the first byte to encode
+     * @param len    the number of bytes to encode
+     * @param dst    the output array
+     * @param dstOff the index at which the first character is written
+     * @return the number of characters written
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    default int encodeAscii(byte[] src, int off, int len, byte[] dst, int dstOff) {
+
+        final char[] encoded = new char[Math.max(0, dst.length - dstOff)];
+
+        final int length = encode(src, off, len, encoded, 0);
+
+        for (int index = 0; index < length; index++) {
+            dst[dstOff + index] = (byte) encoded[index];
+        }
+        return length;
+    }
+
+    /**
+     * Decodes a range of the given characters into the given byte array.
+     *
+     * @param src    the encoded characters
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode
+     * @param dst    the output array
+     * @param dstOff the index at which the first byte is written
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the input is malformed or {@code dst}
+     *                                  does not have enough space
+     */
+    int decode(CharSequence src, int off, int len, byte[] dst, int dstOff);
+
+    /**
+     * Decodes a range of the given US-ASCII characters into the given byte array.
+     * <p>
+     * The default implementation decodes through a {@link CharSequence} view of
+     * the characters.
+     * </p>
+     *
+     * @param src    the encoded US-ASCII characters
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode
+     * @param dst    the output array
+     * @param dstOff the index at which the first byte is written
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the input is malformed or {@code dst}
+     *                                  does not have enough space
+     */
+    default int decodeAscii(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        return decode(new AsciiSequence(ByteBuffer.wrap(src), off, len), 0, len, dst, dstOff);
+    }
+
+    /**
+     * Validates a range of the given characters without decoding them.
+     * <p>
+     * The default implementation decodes into a temporary array and so
+     * allocates, codecs are expected to check the characters in place.
+     * </p>
+     *
+     * @param src the encoded characters
+     * @param off the index of the first character to validate
+     * @param len the number of characters to validate
+     * @return {@link DecodeStatus#VALID} if the characters can be decoded,
+     *         otherwise the reason they cannot
+     */
+    default DecodeStatus validate(CharSequence src, int off, int len) {
+
+        final int maxLength = maxDecodedLength(len);
+
+        try {
+            decode(src, off, len, new byte[maxLength >= 0 ? maxLength : len], 0);
+            return DecodeStatus.VALID;
+
+        } catch (IllegalArgumentException e) {
+            return DecodeStatus.MALFORMED;
+        }
+    }
+
+    /**
+     * Decodes a range of the given characters into the given byte array without
+     * throwing an exception on malformed input, so that a failure costs neither
+     * an exception nor a message.
+     * <p>
+     * The default implementation validates the characters before decoding them,
+     * codecs are expected to detect malformed input while decoding, reading the
+     * characters once.
+     * </p>
+     *
+     * @param src    the encoded characters
+     * @param off    the index of the first character to decode
+     * @param len    the number of characters to decode
+     * @param dst    the output array, partially written on failure
+     * @param dstOff the index at which the first byte is written
+     * @return the number of bytes written, or the negative
+     *         {@link DecodeStatus#code()} of the reason the input cannot be
+     *         decoded
+     * @throws IllegalArgumentException if {@code dst} does not have enough space
+     */
+    default int tryDecode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+
+        final DecodeStatus status = validate(src, off, len);
+
+        return status == DecodeStatus.VALID
+                ? decode(src, off, len, dst, dstOff)
+                : status.code();
+    }
+
+    /**
+     * Returns the number of bytes forming a block encoded independently of the
+     * surrounding data, or {@code 0} if the encoding is not block aligned and so
+     * cannot be processed incrementally.
+     *
+     * @return the number of bytes in a block, or {@code 0}
+     */
+    default int blockLength() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of characters a block of {@link #blockLength()} bytes
+     * is encoded into, or {@code 0} if the encoding is not block aligned.
+     *
+     * @return the number of characters in an encoded block, or {@code 0}
+     */
+    default int encodedBlockLength() {
+        return 0;
+    }
+
+    /**
+     * Returns the maximum number of characters the given number of bytes is
+     * encoded into, or {@code -1} if the bound is unknown.
+     *
+     * @param length the number of bytes to encode
+     * @return the maximum number of encoded characters, or {@code -1}
+     */
+    default int maxEncodedLength(final int length) {
+        if (blockLength() == 0) {
+            return -1;
+        }
+        return (length + blockLength() - 1) / blockLength() * encodedBlockLength();
+    }
+
+    /**
+     * Returns the maximum number of bytes the given number of characters is
+     * decoded into, or {@code -1} if the bound is unknown.
+     *
+     * @param length the number of characters to decode
+     * @return the maximum number of decoded bytes, or {@code -1}
+     */
+    default int maxDecodedLength(final int length) {
+        if (encodedBlockLength() == 0) {
+            return -1;
+        }
+        return (length + encodedBlockLength() - 1) / encodedBlockLength() * blockLength();
+    }
+
+    /**
+     * Returns the number of characters the given number of bytes is encoded
+     * into. The length is exact for block aligned encodings, otherwise it is an
+     * upper bound, or {@code -1} if unknown.
+     * <p>
+     * The default implementation returns {@link #maxEncodedLength(int)}.
+     * </p>
+     *
+     * @param length the number of bytes to encode
+     * @return the number of encoded characters, or {@code -1}
+     */
+    default int encodedLength(final int length) {
+        return maxEncodedLength(length);
+    }
+
+    /**
+     * Returns the number of characters a range of the given bytes is encoded
+     * into. The length is exact for block aligned encodings, otherwise it is an
+     * upper bound which may be tightened by inspecting the bytes, or {@code -1}
+     * if unknown.
+     * <p>
+     * The default implementation returns {@link #encodedLength(int)}.
+     * </p>
+     *
+     * @param src the data to encode
+     * @param off the index of the first byte
+     * @param len the number of bytes
+     * @return the number of encoded characters, or {@code -1}
+     */
+    default int encodedLength(final byte[] src, final int off, final int len) {
+        return encodedLength(len);
+    }
+
+    /**
+     * Returns the number of bytes a range of the given characters is decoded
+     * into, without decoding them. The length is exact for block aligned
+     * encodings, otherwise it is an upper bound, or {@code -1} if unknown.
+     * <p>
+     * The default implementation returns {@link #maxDecodedLength(int)}.
+     * </p>
+     *
+     * @param src the encoded characters
+     * @param off the index of the first character
+     * @param len the number of characters
+     * @return the number of decoded bytes, or {@code -1}
+     * @throws IllegalArgumentException if no encoded value has the given length
+     *                                  or padding
+     */
+    default int decodedLength(final CharSequence src, final int off, final int len) {
+        return maxDecodedLength(len);
+    }
+
+    /**
+     * Returns the number of bytes a range of the given characters is decoded
+     * into, as {@link #decodedLength(CharSequence, int, int)} does, but without
+     * throwing an exception if no encoded value has the given length or padding.
+     * <p>
+     * The default implementation catches the exception thrown by
+     * {@link #decodedLength(CharSequence, int, int)}.
+     * </p>
+     *
+     * @param src the encoded characters
+     * @param off the index of the first character
+     * @param len the number of characters
+     * @return the number of decoded bytes, {@code -1} if unknown, or the negative
+     *         {@link DecodeStatus#code()} of the reason no encoded value has the
+     *         given length or padding
+     */
+    default int tryDecodedLength(final CharSequence src, final int off, final int len) {
+        try {
+            return decodedLength(src, off, len);
+
+        } catch (IllegalArgumentException e) {
+            return DecodeStatus.INVALID_LENGTH.code();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.apicatalog.multibase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of a bulk operation, in the order of the processed items.
+ * <p>
+ * An item that cannot be processed does not fail the whole batch, its error is
+ * reported by {@link #error(int)} instead.
+ * </p>
+ *
+ * @param <T> the type of the processed items
+ *
+ * @see MultibaseDecoder#decodeAll(List)
+ * @see Multibase#encodeAll(List)
+ */
+public final class BatchResult<T> {
+
+    private final Object[] values;
+    private final IllegalArgumentException[] errors;
+
+    BatchResult(final int size) {
+        this.values = new Object[size];
+        this.errors = new IllegalArgumentException[size];
+    }
+
+    /**
+     * Returns the number of processed items.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Returns the result of the item at the given index.
+     *
+     * @param index the index of the item
+     * @return the result or {@code null} if the item has failed
+     */
+    @SuppressWarnings("unchecked")
+    public T get(final int index) {
+        return (T) values[index];
+    }
+
+    /**
+     * Returns the error the item at the given index has failed with.
+     *
+     * @param index the index of the item
+     * @return the error or {@code null} if the item has been processed
+     */
+    public IllegalArgumentException error(final int index) {
+        return errors[index];
+    }
+
+    /**
+     * Returns {@code true} if the item at the given index has failed.
+     *
+     * @param index the index of the item
+     * @return {@code true} if the item has failed
+     */
+    public boolean isFailed(final int index) {
+        return errors[index] != null;
+    }
+
+    /**
+     * Returns {@code true} if any of the items has failed.
+     *
+     * @return {@code true} if there is at least one error
+     */
+    public boolean hasErrors() {
+        for (final IllegalArgumentException error : errors) {
+            if (error != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns an unmodifiable view of the results, failed items are
+     * {@code null}.
+     *
+     * @return the results in the order of the processed items
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> values() {
+        return (List<T>) Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    void set(final int index, final T value) {
+        values[index] = value;
+    }
+
+    void fail(final int index, final IllegalArgumentException error) {
+        errors[index] = error;
+    }
+}
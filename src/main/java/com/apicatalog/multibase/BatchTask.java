@@ -0,0 +1,100 @@
+package com.apicatalog.multibase;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Processes a range of batch items, splitting it across a {@link ForkJoinPool}
+ * into a few ranges per worker. Each range reuses a single {@link Scratch}.
+ */
+final class BatchTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The default number of items processed in parallel. */
+    static final int DEFAULT_THRESHOLD = 1024;
+
+    /** The number of ranges a batch is split into per worker. */
+    private static final int RANGES_PER_WORKER = 4;
+
+    /** Processes a single batch item. */
+    @FunctionalInterface
+    interface Item {
+
+        void process(int index, Scratch scratch);
+    }
+
+    private final transient Item item;
+    private final int from;
+    private final int to;
+    private final int range;
+
+    private BatchTask(final Item item, final int from, final int to, final int range) {
+        this.item = item;
+        this.from = from;
+        this.to = to;
+        this.range = range;
+    }
+
+    /**
+     * Processes all items, in parallel if there are at least {@code threshold} of
+     * them.
+     */
+    static void run(final int size, final Item item, final ForkJoinPool pool, final int threshold) {
+
+        if (size < threshold || pool.getParallelism() < 2) {
+            process(item, 0, size);
+            return;
+        }
+
+        pool.invoke(new BatchTask(item, 0, size,
+                Math.max(1, size / (pool.getParallelism() * RANGES_PER_WORKER))));
+    }
+
+    @Override
+    protected void compute() {
+
+        if (to - from <= range) {
+            process(item, from, to);
+            return;
+        }
+
+        final int middle = (from + to) >>> 1;
+
+        invokeAll(
+                new BatchTask(item, from, middle, range),
+                new BatchTask(item, middle, to, range));
+    }
+
+    private static void process(final Item item, final int from, final int to) {
+
+        final Scratch scratch = new Scratch();
+
+        for (int index = from; index < to; index++) {
+            item.process(index, scratch);
+        }
+    }
+
+    /**
+     * Growable buffers reused by items processed in sequence.
+     */
+    static final class Scratch {
+
+        private byte[] bytes = new byte[0];
+        private char[] chars = new char[0];
+
+        byte[] bytes(final int capacity) {
+            if (bytes.length < capacity) {
+                bytes = new byte[Math.max(capacity, bytes.length * 2)];
+            }
+            return bytes;
+        }
+
+        char[] chars(final int capacity) {
+            if (chars.length < capacity) {
+                chars = new char[Math.max(capacity, chars.length * 2)];
+            }
+            return chars;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.apicatalog.multibase;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded concurrent cache evicting the least recently used entries.
+ * <p>
+ * Entries are spread by a key hash across independently locked segments, each
+ * an access ordered {@link LinkedHashMap}, so that concurrent lookups of
+ * different keys rarely contend. There is a segment per 64 entries of the
+ * maximal size, rounded down to a power of two and at most 16, so caches of up
+ * to 127 entries are a single exact LRU.
+ * </p>
+ * <p>
+ * The size limit is per segment. Each segment is bounded by an equal share of
+ * the maximal size, rounded up, and evicts its own least recently used entries
+ * when it exceeds its share, regardless of the other segments. A set of hot
+ * keys hashing unevenly is therefore evicted while the cache as a whole holds
+ * fewer entries than the maximal size.
+ * </p>
+ * <p>
+ * The weight limit is global, the segments share a total weight. When a new
+ * entry makes the total exceed the maximal weight, its segment evicts its
+ * least recently used entries first, then the other segments, in turn, evict
+ * theirs until the total fits. Only a value heavier than the maximal weight
+ * is not cached.
+ * </p>
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class BoundedCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private final Segment<K, V>[] segments;
+    private final int mask;
+
+    private final int maxSize;
+    private final long maxWeight;
+
+    private final AtomicLong weight;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    @SuppressWarnings("unchecked")
+    BoundedCache(final int maxSize, final long maxWeight) {
+
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximal size must be a positive number, but was [" + maxSize + "].");
+        }
+
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("The maximal weight must be a positive number, but was [" + maxWeight + "].");
+        }
+
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+
+        final int count = Math.max(1, Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxSize / MIN_SEGMENT_SIZE)));
+
+        this.segments = new Segment[count];
+        this.mask = count - 1;
+
+        this.weight = new AtomicLong();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+
+        for (int index = 0; index < count; index++) {
+            segments[index] = new Segment<>(
+                    maxSize / count + (maxSize % count != 0 ? 1 : 0),
+                    maxWeight,
+                    weight,
+                    evictions);
+        }
+    }
+
+    /**
+     * Returns the value cached for the given key and marks it as recently used.
+     *
+     * @return the value or {@code null} if not cached
+     */
+    V get(final K key) {
+
+        final V value = segments[index(key)].get(key);
+
+        if (value != null) {
+            hits.increment();
+
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Caches the given value, evicting the least recently used entries of its
+     * segment if the segment exceeds its share of the size, and entries of any
+     * segment if the total weight exceeds the maximal weight. A value heavier
+     * than the maximal weight is not cached, and the value previously cached
+     * for the key is removed.
+     */
+    void put(final K key, final V value, final long weight) {
+        put(key, value, weight, true);
+    }
+
+    /**
+     * Caches the given value unless a value is already cached for the key.
+     *
+     * @return the value already cached, or the given value
+     */
+    V putIfAbsent(final K key, final V value, final long weight) {
+        return put(key, value, weight, false);
+    }
+
+    private V put(final K key, final V value, final long weight, final boolean replace) {
+
+        final int index = index(key);
+
+        final V cached = segments[index].put(key, value, weight, replace);
+
+        // the segment of the key has evicted all but the new entry, a segment
+        // lock is held at a time only
+        for (int next = 1; next < segments.length && this.weight.get() > maxWeight; next++) {
+            segments[(index + next) & mask].trim();
+        }
+        return cached;
+    }
+
+    void clear() {
+        for (final Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    int maxSize() {
+        return maxSize;
+    }
+
+    long maxWeight() {
+        return maxWeight;
+    }
+
+    CacheStatistics statistics() {
+
+        long size = 0;
+
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), size, weight.get());
+    }
+
+    private int index(final K key) {
+        final int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    static final class Segment<K, V> {
+
+        final LinkedHashMap<K, Entry<V>> entries;
+
+        final int maxSize;
+        final long maxWeight;
+
+        /** The total weight of all segments. */
+        final AtomicLong total;
+
+        final LongAdder evictions;
+
+        Segment(final int maxSize, final long maxWeight, final AtomicLong total, final LongAdder evictions) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true);
+            this.maxSize = maxSize;
+            this.maxWeight = maxWeight;
+            this.total = total;
+            this.evictions = evictions;
+        }
+
+        synchronized V get(final K key) {
+            final Entry<V> entry = entries.get(key);
+            return entry != null ? entry.value : null;
+        }
+
+        /**
+         * Returns the value cached for the key when not replaced, otherwise the
+         * given value.
+         */
+        synchronized V put(final K key, final V value, final long weight, final boolean replace) {
+
+            if (!replace) {
+                final Entry<V> current = entries.get(key);
+
+                if (current != null) {
+                    return current.value;
+                }
+            }
+
+            if (weight > maxWeight) {
+                // a rejected replacement does not leave a stale value cached
+                final Entry<V> previous = entries.remove(key);
+
+                if (previous != null) {
+                    total.addAndGet(-previous.weight);
+                }
+                return value;
+            }
+
+            final Entry<V> previous = entries.put(key, new Entry<>(value, weight));
+
+            total.addAndGet(previous != null
+                    ? weight - previous.weight
+                    : weight);
+
+            // the new entry, the most recently used, is kept
+            evict(entries.size() - 1);
+
+            return value;
+        }
+
+        /**
+         * Evicts the least recently used entries while the total weight
+         * exceeds the maximal weight.
+         */
+        synchronized void trim() {
+            evict(entries.size());
+        }
+
+        /**
+         * Evicts up to the given number of the least recently used entries
+         * while the segment exceeds its size or the total weight exceeds the
+         * maximal weight.
+         */
+        private void evict(final int limit) {
+
+            int evicted = 0;
+
+            // the eldest, i.e. least recently used, entries are iterated first
+            final Iterator<Entry<V>> eldest = entries.values().iterator();
+
+            while (evicted < limit && (entries.size() > maxSize || total.get() > maxWeight)) {
+                total.addAndGet(-eldest.next().weight);
+                eldest.remove();
+                evicted++;
+            }
+
+            if (evicted > 0) {
+                evictions.add(evicted);
+            }
+        }
+
+        synchronized void clear() {
+
+            long weight = 0;
+
+            for (final Entry<V> entry : entries.values()) {
+                weight += entry.weight;
+            }
+
+            entries.clear();
+            total.addAndGet(-weight);
+        }
+    }
+
+    static final class Entry<V> {
+
+        final V value;
+        final long weight;
+
+        Entry(final V value, final long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.apicatalog.multibase;
+
+/**
+ * A snapshot of cache counters.
+ *
+ * @see CachingMultibaseDecoder#cacheStatistics()
+ * @see CachingMultibase#cacheStatistics()
+ */
+public final class CacheStatistics {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long size;
+    private final long weight;
+
+    CacheStatistics(final long hits, final long misses, final long evictions, final long size, final long weight) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    /**
+     * Returns the number of lookups served from the cache.
+     *
+     * @return the number of hits
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups not served from the cache.
+     *
+     * @return the number of misses
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of lookups.
+     *
+     * @return the number of hits and misses
+     */
+    public long requests() {
+        return hits + misses;
+    }
+
+    /**
+     * Returns the ratio of lookups served from the cache.
+     *
+     * @return the hit rate between {@code 0} and {@code 1}, {@code 0} if there
+     *         has been no lookup
+     */
+    public double hitRate() {
+        final long requests = requests();
+        return requests > 0 ? (double) hits / requests : 0;
+    }
+
+    /**
+     * Returns the number of entries evicted to keep the cache within its
+     * limits.
+     *
+     * @return the number of evictions
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the number of entries
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the total weight of cached entries.
+     *
+     * @return the weight
+     */
+    public long weight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics [hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size + ", weight=" + weight + "]";
+    }
+}
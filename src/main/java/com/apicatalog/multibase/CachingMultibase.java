@@ -0,0 +1,364 @@
+package com.apicatalog.multibase;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * A {@link Multibase} keeping recently encoded strings in a bounded concurrent
+ * cache keyed on the content of the encoded bytes.
+ * <p>
+ * Meant for workloads encoding the same values over and over, e.g. issuer keys
+ * or digests. A hit returns the very same {@link String} instance as the
+ * previous calls, so the cache interns the encoded values and a hit neither
+ * encodes nor allocates a new string.
+ * </p>
+ * <p>
+ * A lookup hashes the bytes with a fast non-cryptographic hash, eight bytes at
+ * a time, and compares the bytes of a matching entry. Payloads shorter than
+ * the minimal length, cheaper to encode than to look up, are encoded directly.
+ * By default the minimal length depends on the cost of the encoding, see
+ * {@link #defaultMinLength(Multibase)}.
+ * </p>
+ * <p>
+ * The cache evicts the least recently used entries when it exceeds the
+ * maximal number of entries. As in {@link CachingMultibaseDecoder}, a cache of
+ * 128 entries or more is split into up to 16 segments, each limited to an
+ * equal share of the maximal number and evicting independently, so entries
+ * hashing unevenly may be evicted before the cache is full.
+ * </p>
+ * <p>
+ * Only {@link #encode(byte[])} and {@link #encodeAll(java.util.List)} are
+ * cached. The other operations are delegated to the wrapped multibase, so
+ * that they are reported to its listener, if any.
+ * </p>
+ *
+ * <pre>
+ * Multibase base58 = CachingMultibase.getInstance(Multibase.BASE_58_BTC, 1024);
+ * String encoded = base58.encode(publicKey);
+ * </pre>
+ */
+public class CachingMultibase extends Multibase {
+
+    /**
+     * The default minimal number of bytes to look up in the cache for encodings
+     * running in linear time through lookup tables.
+     */
+    public static final int DEFAULT_MIN_LENGTH = 64;
+
+    /**
+     * The default minimal number of bytes to look up in the cache for Base58,
+     * a radix conversion growing quadratically.
+     */
+    public static final int DEFAULT_MIN_LENGTH_BASE58 = 8;
+
+    protected final Multibase base;
+
+    protected final int minLength;
+
+    private final BoundedCache<Content, String> cache;
+
+    /**
+     * Constructs a {@code CachingMultibase} wrapping the given multibase.
+     *
+     * @param base      the multibase encoding the values
+     * @param maxSize   the maximal number of cached values
+     * @param minLength the minimal number of bytes to look up in the cache
+     * @throws IllegalArgumentException if {@code maxSize} is not a positive
+     *                                  number
+     */
+    protected CachingMultibase(final Multibase base, final int maxSize, final int minLength) {
+        super(base.name, base.prefix, base.length, base.decode, base.encode, base.codec);
+        this.base = base;
+        this.minLength = minLength;
+        this.cache = new BoundedCache<>(maxSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a {@code CachingMultibase} caching values of at least
+     * {@link #defaultMinLength(Multibase)} bytes.
+     *
+     * @param base    the multibase encoding the values
+     * @param maxSize the maximal number of cached values
+     * @return a new caching multibase
+     * @throws IllegalArgumentException if {@code base} is {@code null} or
+     *                                  {@code maxSize} is not a positive number
+     */
+    public static CachingMultibase getInstance(final Multibase base, final int maxSize) {
+        return getInstance(base, maxSize, defaultMinLength(base));
+    }
+
+    /**
+     * Returns the minimal number of bytes for which a cache hit is cheaper than
+     * encoding with the given multibase, {@link #DEFAULT_MIN_LENGTH_BASE58} for
+     * Base58 and {@link #DEFAULT_MIN_LENGTH} otherwise.
+     * <p>
+     * A hit hashes and compares the bytes, linear in their number, as is
+     * encoding with a lookup table, so short values are encoded faster than
+     * they are looked up. Base58 encoding costs more than a hit from a few
+     * bytes on.
+     * </p>
+     *
+     * @param base the multibase encoding the values
+     * @return the minimal number of bytes to look up in the cache
+     */
+    public static int defaultMinLength(final Multibase base) {
+        return base != null && base.codec() instanceof Base58Codec
+                ? DEFAULT_MIN_LENGTH_BASE58
+                : DEFAULT_MIN_LENGTH;
+    }
+
+    /**
+     * Creates a {@code CachingMultibase}.
+     *
+     * @param base      the multibase encoding the values
+     * @param maxSize   the maximal number of cached values
+     * @param minLength the minimal number of bytes to look up in the cache
+     * @return a new caching multibase
+     * @throws IllegalArgumentException if {@code base} is {@code null} or
+     *                                  {@code maxSize} is not a positive number
+     */
+    public static CachingMultibase getInstance(final Multibase base, final int maxSize, final int minLength) {
+
+        if (base == null) {
+            throw new IllegalArgumentException("The base must not be null.");
+        }
+
+        return new CachingMultibase(
+                base instanceof CachingMultibase
+                        ? ((CachingMultibase) base).base
+                        : base,
+                maxSize,
+                minLength);
+    }
+
+    /**
+     * Encodes the given byte array into a multibase-encoded string, the cached
+     * string if the same bytes have been encoded recently.
+     *
+     * @param data the byte array to encode
+     * @return the encoded string, including the base prefix
+     * @throws IllegalArgumentException if the input is {@code null} or empty
+     */
+    @Override
+    public String encode(final byte[] data) {
+
+        if (data == null || data.length < minLength) {
+            return base.encode(data);
+        }
+
+        final Content key = new Content(data);
+
+        final String cached = cache.get(key);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        return cache.putIfAbsent(key.copy(), base.encode(data), 1);
+    }
+
+    @Override
+    String encode(final byte[] data, final BatchTask.Scratch scratch) {
+
+        if (data == null || data.length < minLength) {
+            return base.encode(data, scratch);
+        }
+
+        final Content key = new Content(data);
+
+        final String cached = cache.get(key);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        return cache.putIfAbsent(key.copy(), base.encode(data, scratch), 1);
+    }
+
+    @Override
+    public byte[] decode(final String encoded) {
+        return base.decode(encoded);
+    }
+
+    @Override
+    public DecodeResult tryDecode(final CharSequence encoded) {
+        return base.tryDecode(encoded);
+    }
+
+    @Override
+    public MulticodecView decodeMulticodec(final CharSequence encoded) {
+        return base.decodeMulticodec(encoded);
+    }
+
+    @Override
+    public int decodeTo(final CharSequence encoded, final byte[] dst, final int dstOff) {
+        return base.decodeTo(encoded, dst, dstOff);
+    }
+
+    @Override
+    public int decodeTo(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff) {
+        return base.decodeTo(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public ByteBuffer decode(final CharBuffer src) {
+        return base.decode(src);
+    }
+
+    @Override
+    public ByteBuffer decode(final ByteBuffer src) {
+        return base.decode(src);
+    }
+
+    @Override
+    public int encodeTo(final byte[] data, final char[] dst, final int dstOff) {
+        return base.encodeTo(data, dst, dstOff);
+    }
+
+    @Override
+    public int encodeTo(final byte[] src, final int off, final int len, final char[] dst, final int dstOff) {
+        return base.encodeTo(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public byte[] encodeAscii(final byte[] data) {
+        return base.encodeAscii(data);
+    }
+
+    @Override
+    public int appendAscii(final byte[] data, final byte[] dst, final int dstOff) {
+        return base.appendAscii(data, dst, dstOff);
+    }
+
+    @Override
+    public int appendAscii(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) {
+        return base.appendAscii(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public CharBuffer encode(final ByteBuffer src) {
+        return base.encode(src);
+    }
+
+    @Override
+    public ByteBuffer encodeAscii(final ByteBuffer src) {
+        return base.encodeAscii(src);
+    }
+
+    /**
+     * Returns a caching copy of this multibase reporting to the given listener,
+     * with an empty cache of the same limits. Values served from the cache are
+     * not reported.
+     *
+     * @param metrics the listener, or {@code null} to obtain a multibase without
+     *                instrumentation
+     * @return the instrumented multibase
+     */
+    @Override
+    public CachingMultibase withMetrics(final MultibaseMetrics metrics) {
+        return new CachingMultibase(base.withMetrics(metrics), cache.maxSize(), minLength);
+    }
+
+    @Override
+    public MultibaseMetrics metrics() {
+        return base.metrics();
+    }
+
+    /**
+     * Returns a snapshot of the cache counters. The weight of each entry is
+     * {@code 1}.
+     *
+     * @return the hit and miss counts, evictions and size of the cache
+     */
+    public CacheStatistics cacheStatistics() {
+        return cache.statistics();
+    }
+
+    /**
+     * Discards all cached values. The counters are kept.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * Returns a 32-bit hash of the given bytes, reading eight bytes at a time,
+     * with the MurmurHash3 finalizer spreading all input bits.
+     */
+    static int hash(final byte[] data) {
+
+        long hash = 0x9e3779b97f4a7c15L ^ data.length;
+
+        int index = 0;
+
+        for (; index + 8 <= data.length; index += 8) {
+            final long word = (data[index] & 0xffL)
+                    | (data[index + 1] & 0xffL) << 8
+                    | (data[index + 2] & 0xffL) << 16
+                    | (data[index + 3] & 0xffL) << 24
+                    | (data[index + 4] & 0xffL) << 32
+                    | (data[index + 5] & 0xffL) << 40
+                    | (data[index + 6] & 0xffL) << 48
+                    | (data[index + 7] & 0xffL) << 56;
+
+            hash = Long.rotateLeft(hash ^ word * 0xc2b2ae3d27d4eb4fL, 31) * 0x9e3779b97f4a7c15L;
+        }
+
+        long tail = 0;
+
+        for (; index < data.length; index++) {
+            tail = tail << 8 | data[index] & 0xffL;
+        }
+
+        hash ^= tail * 0xc2b2ae3d27d4eb4fL;
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return (int) hash;
+    }
+
+    /**
+     * A cache key comparing bytes by content. A lookup key references the
+     * caller's array, a cached key a private copy.
+     */
+    static final class Content {
+
+        private final byte[] data;
+        private final int hash;
+
+        Content(final byte[] data) {
+            this(data, hash(data));
+        }
+
+        private Content(final byte[] data, final int hash) {
+            this.data = data;
+            this.hash = hash;
+        }
+
+        Content copy() {
+            return new Content(data.clone(), hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Content)) {
+                return false;
+            }
+            final Content other = (Content) obj;
+            return hash == other.hash && Arrays.equals(data, other.data);
+        }
+    }
+}
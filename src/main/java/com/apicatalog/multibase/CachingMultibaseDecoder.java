@@ -0,0 +1,242 @@
+package com.apicatalog.multibase;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * A {@link MultibaseDecoder} keeping recently decoded values in a bounded
+ * concurrent cache keyed on the encoded string.
+ * <p>
+ * Meant for workloads decoding the same values over and over, e.g. public
+ * keys, where a hit skips the decoding, which is quadratic for Base58. Each
+ * call returns a new copy of a cached value, or a read-only view with
+ * {@link #decodeReadOnly(String)}, so the cached values cannot be modified.
+ * Failures are not cached.
+ * </p>
+ * <p>
+ * The cache is bounded by the maximal number of entries and the maximal
+ * weight, the number of encoded characters and decoded bytes held. For
+ * concurrency, a cache of 128 entries or more is split by a hash of the
+ * encoded string into up to 16 segments, a segment per 64 entries. Each
+ * segment is limited to an equal share of the entries and evicts its own least
+ * recently used entries, so eviction starts when the values hashing into one
+ * segment exceed its share, possibly before the cache holds the maximal number
+ * of entries. The weight is limited globally, the segment of a new value
+ * evicting first and the others next, and only a value heavier than the
+ * maximal weight is never cached. Smaller caches are a single exact LRU.
+ * </p>
+ *
+ * <pre>
+ * CachingMultibaseDecoder decoder = CachingMultibaseDecoder.getInstance(4096);
+ * byte[] key = decoder.decode(encoded);
+ * double hitRate = decoder.cacheStatistics().hitRate();
+ * </pre>
+ */
+public class CachingMultibaseDecoder extends MultibaseDecoder {
+
+    private final BoundedCache<String, byte[]> cache;
+
+    /**
+     * Constructs a {@code CachingMultibaseDecoder} with the provided base prefix
+     * mappings.
+     *
+     * @param bases     a map of prefix characters to {@link Multibase} instances
+     * @param metrics   the listener, or {@code null}
+     * @param maxSize   the maximal number of cached values, shared evenly by
+     *                  the segments
+     * @param maxWeight the maximal number of encoded characters and decoded
+     *                  bytes held by the cache, shared evenly by the segments
+     * @throws IllegalArgumentException if a limit is not a positive number
+     */
+    protected CachingMultibaseDecoder(final Map<Character, Multibase> bases, final MultibaseMetrics metrics, final int maxSize, final long maxWeight) {
+        super(bases, metrics);
+        this.cache = new BoundedCache<>(maxSize, maxWeight);
+    }
+
+    /**
+     * Creates a {@code CachingMultibaseDecoder} configured with the encodings
+     * returned by {@link Multibase#provided()}, limited by the number of cached
+     * values only.
+     *
+     * @param maxSize the maximal number of cached values, shared evenly by the
+     *                segments
+     * @return a new decoder instance
+     * @throws IllegalArgumentException if {@code maxSize} is not a positive
+     *                                  number
+     */
+    public static CachingMultibaseDecoder getInstance(final int maxSize) {
+        return getInstance(MultibaseDecoder.getInstance(), maxSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a {@code CachingMultibaseDecoder} using the encodings, and the
+     * listener if any, of the given decoder.
+     *
+     * @param decoder   the decoder to take the encodings from
+     * @param maxSize   the maximal number of cached values, shared evenly by
+     *                  the segments
+     * @param maxWeight the maximal number of encoded characters and decoded
+     *                  bytes held by the cache, shared evenly by the segments
+     * @return a new decoder instance
+     * @throws IllegalArgumentException if {@code decoder} is {@code null} or a
+     *                                  limit is not a positive number
+     */
+    public static CachingMultibaseDecoder getInstance(final MultibaseDecoder decoder, final int maxSize, final long maxWeight) {
+
+        if (decoder == null) {
+            throw new IllegalArgumentException("The decoder must not be null.");
+        }
+
+        return new CachingMultibaseDecoder(decoder.bases(), decoder.metrics(), maxSize, maxWeight);
+    }
+
+    /**
+     * Decodes a multibase-encoded string into a byte array, a copy of the cached
+     * value if the string has been decoded recently.
+     *
+     * @param encoded the encoded string to decode
+     * @return the decoded byte array, owned by the caller
+     * @throws IllegalArgumentException if the encoding is not registered or input
+     *                                  is invalid
+     */
+    @Override
+    public byte[] decode(final String encoded) {
+
+        if (encoded != null) {
+            final byte[] cached = cache.get(encoded);
+
+            if (cached != null) {
+                return cached.clone();
+            }
+        }
+
+        final byte[] decoded = super.decode(encoded);
+
+        cache.put(encoded, decoded.clone(), weight(encoded, decoded));
+
+        return decoded;
+    }
+
+    /**
+     * Decodes a multibase-encoded string into a read-only buffer, a view of the
+     * cached value if the string has been decoded recently. Unlike
+     * {@link #decode(String)}, no copy is made.
+     *
+     * @param encoded the encoded string to decode
+     * @return a read-only buffer holding the decoded bytes
+     * @throws IllegalArgumentException if the encoding is not registered or input
+     *                                  is invalid
+     */
+    public ByteBuffer decodeReadOnly(final String encoded) {
+
+        byte[] decoded = encoded != null
+                ? cache.get(encoded)
+                : null;
+
+        if (decoded == null) {
+            decoded = super.decode(encoded);
+            cache.put(encoded, decoded, weight(encoded, decoded));
+        }
+
+        return ByteBuffer.wrap(decoded).asReadOnlyBuffer();
+    }
+
+    /**
+     * Decodes the given multibase-encoded characters holding a
+     * multicodec-prefixed value, a copy of the cached value if the characters
+     * have been decoded recently.
+     *
+     * @param encoded the multibase-encoded characters
+     * @return a view of the multicodec code and the payload, owned by the caller
+     * @throws IllegalArgumentException if the encoding is not registered, input
+     *                                  is invalid or does not start with a valid
+     *                                  multicodec header
+     */
+    @Override
+    public MulticodecView decodeMulticodec(final CharSequence encoded) {
+
+        final byte[] decoded = decode(encoded != null ? encoded.toString() : null);
+
+        return MulticodecView.of(decoded, 0, decoded.length);
+    }
+
+    @Override
+    public DecodeResult tryDecode(final CharSequence encoded) {
+
+        final String key = encoded != null
+                ? encoded.toString()
+                : null;
+
+        if (key != null) {
+            final byte[] cached = cache.get(key);
+
+            if (cached != null) {
+                return DecodeResult.success(base(key.charAt(0)), cached.clone());
+            }
+        }
+
+        final DecodeResult result = super.tryDecode(encoded);
+
+        if (result.isSuccess()) {
+            cache.put(key, result.value().clone(), weight(key, result.value()));
+        }
+
+        return result;
+    }
+
+    @Override
+    byte[] decode(final CharSequence encoded, final BatchTask.Scratch scratch) {
+
+        final String key = encoded != null
+                ? encoded.toString()
+                : null;
+
+        if (key != null) {
+            final byte[] cached = cache.get(key);
+
+            if (cached != null) {
+                return cached.clone();
+            }
+        }
+
+        final byte[] decoded = super.decode(encoded, scratch);
+
+        cache.put(key, decoded.clone(), weight(key, decoded));
+
+        return decoded;
+    }
+
+    /**
+     * Returns a caching decoder reporting every decoding to the given listener,
+     * with an empty cache of the same limits. Values served from the cache are
+     * not reported.
+     *
+     * @param metrics the listener, or {@code null} to obtain a decoder without
+     *                instrumentation
+     * @return the instrumented decoder
+     */
+    @Override
+    public CachingMultibaseDecoder withMetrics(final MultibaseMetrics metrics) {
+        return getInstance(super.withMetrics(metrics), cache.maxSize(), cache.maxWeight());
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the hit and miss counts, evictions, size and weight of the cache
+     */
+    public CacheStatistics cacheStatistics() {
+        return cache.statistics();
+    }
+
+    /**
+     * Discards all cached values. The counters are kept.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private static long weight(final String encoded, final byte[] decoded) {
+        return (long) encoded.length() + decoded.length;
+    }
+}
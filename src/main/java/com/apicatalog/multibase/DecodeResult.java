@@ -0,0 +1,132 @@
+package com.apicatalog.multibase;
+
+import com.apicatalog.base.DecodeStatus;
+
+/**
+ * The outcome of decoding a multibase-encoded value without throwing an
+ * exception, either the decoded bytes or the reason decoding has failed.
+ * <p>
+ * A failure carries a reusable {@link DecodeStatus} only. No exception is
+ * thrown to the caller and no message is built unless {@link #message()} or
+ * {@link #orElseThrow()} is called. The built-in encodings detect a failure
+ * without creating an exception at all, whereas an encoding defined by a
+ * decoding function alone fails with an exception, which is caught.
+ * </p>
+ *
+ * @see MultibaseDecoder#tryDecode(CharSequence)
+ * @see Multibase#tryDecode(CharSequence)
+ */
+public final class DecodeResult {
+
+    private static final DecodeResult EMPTY = new DecodeResult(DecodeStatus.EMPTY, null, null, null);
+
+    private final DecodeStatus status;
+    private final Multibase base;
+    private final CharSequence encoded;
+    private final byte[] value;
+
+    private DecodeResult(final DecodeStatus status, final Multibase base, final CharSequence encoded, final byte[] value) {
+        this.status = status;
+        this.base = base;
+        this.encoded = encoded;
+        this.value = value;
+    }
+
+    static DecodeResult success(final Multibase base, final byte[] value) {
+        return new DecodeResult(DecodeStatus.VALID, base, null, value);
+    }
+
+    static DecodeResult failure(final DecodeStatus status, final Multibase base, final CharSequence encoded) {
+        return status == DecodeStatus.EMPTY
+                ? EMPTY
+                : new DecodeResult(status, base, encoded, null);
+    }
+
+    /**
+     * Returns {@code true} if the value has been decoded.
+     *
+     * @return {@code true} on success, {@code false} on failure
+     */
+    public boolean isSuccess() {
+        return status == DecodeStatus.VALID;
+    }
+
+    /**
+     * Returns {@link DecodeStatus#VALID} on success, otherwise the reason
+     * decoding has failed.
+     *
+     * @return the status
+     */
+    public DecodeStatus status() {
+        return status;
+    }
+
+    /**
+     * Returns the encoding resolved from the prefix.
+     *
+     * @return the encoding, or {@code null} if the value is empty or the prefix
+     *         is not supported
+     */
+    public Multibase base() {
+        return base;
+    }
+
+    /**
+     * Returns the decoded bytes.
+     *
+     * @return the decoded bytes, or {@code null} on failure
+     */
+    public byte[] value() {
+        return value;
+    }
+
+    /**
+     * Returns the decoded bytes, or throws the exception the throwing
+     * {@code decode} methods fail with.
+     *
+     * @return the decoded bytes
+     * @throws IllegalArgumentException if decoding has failed
+     */
+    public byte[] orElseThrow() {
+        if (value == null) {
+            throw new IllegalArgumentException(message());
+        }
+        return value;
+    }
+
+    /**
+     * Builds a detailed message describing the failure, the same message the
+     * throwing {@code decode} methods report. The value is decoded again for
+     * the purpose, so the message is meant for diagnostics rather than for hot
+     * paths. The encoded characters are referenced rather than copied and must
+     * not be modified in the meantime.
+     *
+     * @return the message, or {@code null} on success
+     */
+    public String message() {
+        switch (status) {
+        case VALID:
+            return null;
+
+        case EMPTY:
+            return "The encoded value must be non empty string.";
+
+        case UNSUPPORTED_PREFIX:
+            return "Unsupported multibase encoding [" + encoded.charAt(0) + "].";
+
+        default:
+            try {
+                base.decode(encoded.toString());
+
+            } catch (IllegalArgumentException e) {
+                return e.getMessage();
+            }
+            return "Invalid " + base.name() + " value: " + status + ".";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DecodeResult[status=" + status + (base != null ? ", base=" + base.name() : "") + "]";
+    }
+}
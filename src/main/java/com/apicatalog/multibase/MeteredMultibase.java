@@ -0,0 +1,231 @@
+package com.apicatalog.multibase;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+import com.apicatalog.base.DecodeStatus;
+
+/**
+ * A {@link Multibase} reporting every encoding and decoding to a
+ * {@link MultibaseMetrics} listener.
+ * <p>
+ * The operations are delegated to the plain instance being instrumented, so
+ * that an operation built upon another one is reported once.
+ * </p>
+ */
+final class MeteredMultibase extends Multibase {
+
+    private final Multibase target;
+
+    private final MultibaseMetrics metrics;
+
+    private final boolean timed;
+
+    MeteredMultibase(final Multibase target, final MultibaseMetrics metrics) {
+        super(target.name, target.prefix, target.length, target.decode, target.encode, target.codec);
+        this.target = target;
+        this.metrics = metrics;
+        this.timed = metrics.isTimed();
+    }
+
+    @Override
+    public Multibase withMetrics(final MultibaseMetrics metrics) {
+        return target.withMetrics(metrics);
+    }
+
+    @Override
+    public MultibaseMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public byte[] decode(final String encoded) {
+        final long start = start();
+        try {
+            final byte[] decoded = target.decode(encoded);
+            metrics.onDecode(this, encoded.length(), decoded.length, elapsed(start));
+            return decoded;
+
+        } catch (IllegalArgumentException e) {
+            throw failed(encoded, e);
+        }
+    }
+
+    @Override
+    public DecodeResult tryDecode(final CharSequence encoded) {
+        final long start = start();
+
+        final DecodeResult result = target.tryDecode(encoded);
+
+        if (result.isSuccess()) {
+            metrics.onDecode(this, encoded.length(), result.value().length, elapsed(start));
+
+        } else {
+            metrics.onFailure(this, encoded != null ? encoded.length() : 0, result.status());
+        }
+        return result;
+    }
+
+    @Override
+    public MulticodecView decodeMulticodec(final CharSequence encoded) {
+        final long start = start();
+        try {
+            final MulticodecView decoded = target.decodeMulticodec(encoded);
+            metrics.onDecode(this, encoded.length(), decoded.offset() + decoded.length(), elapsed(start));
+            return decoded;
+
+        } catch (IllegalArgumentException e) {
+            throw failed(encoded, e);
+        }
+    }
+
+    @Override
+    public int decodeTo(final CharSequence encoded, final byte[] dst, final int dstOff) {
+        final long start = start();
+        try {
+            final int length = target.decodeTo(encoded, dst, dstOff);
+            metrics.onDecode(this, encoded.length(), length, elapsed(start));
+            return length;
+
+        } catch (IllegalArgumentException e) {
+            throw failed(encoded, e);
+        }
+    }
+
+    @Override
+    public int decodeTo(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff) {
+        final long start = start();
+        try {
+            final int length = target.decodeTo(src, off, len, dst, dstOff);
+            metrics.onDecode(this, len, length, elapsed(start));
+            return length;
+
+        } catch (IllegalArgumentException e) {
+            throw failed(src != null ? src.subSequence(off, off + len) : null, e);
+        }
+    }
+
+    @Override
+    public ByteBuffer decode(final CharBuffer src) {
+        final CharSequence encoded = src != null ? src.duplicate() : null;
+        final long start = start();
+        try {
+            final ByteBuffer decoded = target.decode(src);
+            metrics.onDecode(this, encoded.length(), decoded.remaining(), elapsed(start));
+            return decoded;
+
+        } catch (IllegalArgumentException e) {
+            throw failed(encoded, e);
+        }
+    }
+
+    @Override
+    public ByteBuffer decode(final ByteBuffer src) {
+        final CharSequence encoded = src != null ? new AsciiSequence(src, src.position(), src.remaining()) : null;
+        final long start = start();
+        try {
+            final ByteBuffer decoded = target.decode(src);
+            metrics.onDecode(this, encoded.length(), decoded.remaining(), elapsed(start));
+            return decoded;
+
+        } catch (IllegalArgumentException e) {
+            throw failed(encoded, e);
+        }
+    }
+
+    @Override
+    public String encode(final byte[] data) {
+        final long start = start();
+        final String encoded = target.encode(data);
+        metrics.onEncode(this, data.length, encoded.length(), elapsed(start));
+        return encoded;
+    }
+
+    @Override
+    public int encodeTo(final byte[] data, final char[] dst, final int dstOff) {
+        final long start = start();
+        final int length = target.encodeTo(data, dst, dstOff);
+        metrics.onEncode(this, data.length, length, elapsed(start));
+        return length;
+    }
+
+    @Override
+    public int encodeTo(final byte[] src, final int off, final int len, final char[] dst, final int dstOff) {
+        final long start = start();
+        final int length = target.encodeTo(src, off, len, dst, dstOff);
+        metrics.onEncode(this, len, length, elapsed(start));
+        return length;
+    }
+
+    @Override
+    public byte[] encodeAscii(final byte[] data) {
+        final long start = start();
+        final byte[] encoded = target.encodeAscii(data);
+        metrics.onEncode(this, data.length, encoded.length, elapsed(start));
+        return encoded;
+    }
+
+    @Override
+    public int appendAscii(final byte[] data, final byte[] dst, final int dstOff) {
+        final long start = start();
+        final int length = target.appendAscii(data, dst, dstOff);
+        metrics.onEncode(this, data.length, length, elapsed(start));
+        return length;
+    }
+
+    @Override
+    public int appendAscii(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) {
+        final long start = start();
+        final int length = target.appendAscii(src, off, len, dst, dstOff);
+        metrics.onEncode(this, len, length, elapsed(start));
+        return length;
+    }
+
+    @Override
+    public CharBuffer encode(final ByteBuffer src) {
+        final int bytes = src != null ? src.remaining() : 0;
+        final long start = start();
+        final CharBuffer encoded = target.encode(src);
+        metrics.onEncode(this, bytes, encoded.remaining(), elapsed(start));
+        return encoded;
+    }
+
+    @Override
+    public ByteBuffer encodeAscii(final ByteBuffer src) {
+        final int bytes = src != null ? src.remaining() : 0;
+        final long start = start();
+        final ByteBuffer encoded = target.encodeAscii(src);
+        metrics.onEncode(this, bytes, encoded.remaining(), elapsed(start));
+        return encoded;
+    }
+
+    @Override
+    String encode(final byte[] data, final BatchTask.Scratch scratch) {
+        final long start = start();
+        final String encoded = target.encode(data, scratch);
+        metrics.onEncode(this, data.length, encoded.length(), elapsed(start));
+        return encoded;
+    }
+
+    private long start() {
+        return timed ? System.nanoTime() : 0;
+    }
+
+    private long elapsed(final long start) {
+        return timed ? System.nanoTime() - start : -1;
+    }
+
+    /**
+     * Reports a failed decoding, classified by validating the characters again.
+     */
+    private IllegalArgumentException failed(final CharSequence encoded, final IllegalArgumentException e) {
+
+        final DecodeStatus reason = target.validate(encoded);
+
+        metrics.onFailure(this,
+                encoded != null ? encoded.length() : 0,
+                reason != DecodeStatus.VALID ? reason : DecodeStatus.MALFORMED);
+
+        return e;
+    }
+}
@@ -1,13 +1,20 @@
 package com.apicatalog.multibase;
 
-import java.util.Base64;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 import com.apicatalog.base.Base16;
 import com.apicatalog.base.Base2;
 import com.apicatalog.base.Base32;
 import com.apicatalog.base.Base58;
+import com.apicatalog.base.Base64;
+import com.apicatalog.base.DecodeStatus;
 
 /**
  * Represents a multibase encoding format.
@@ -26,6 +33,8 @@ import com.apicatalog.base.Base58;
  * <li>A single-character prefix used to identify the base in encoded data</li>
  * <li>The alphabet size (e.g., 32, 58, 64)</li>
  * <li>Functions for encoding and decoding</li>
+ * <li>An optional {@link BaseCodec} encoding and decoding into caller provided
+ * arrays</li>
  * </ul>
  *
  * @see <a href="https://github.com/multiformats/multibase">Multibase
@@ -33,69 +42,88 @@ import com.apicatalog.base.Base58;
  */
 public class Multibase {
 
+    /** The number of bytes copied at once from buffers not backed by an array. */
+    protected static final int BUFFER_CHUNK_SIZE = 8192;
+
     public static final Multibase BASE_2 = new Multibase("base2", '0', 2,
             Base2::decode,
-            Base2::encode);
+            Base2::encode,
+            Base2Codec.INSTANCE);
 
     public static final Multibase BASE_16 = new Multibase("base16", 'f', 16,
             Base16::decode,
-            d -> Base16.encode(d, Base16.ALPHABET_LOWER));
+            d -> Base16.encode(d, Base16.ALPHABET_LOWER),
+            new Base16Codec(Base16.ALPHABET_LOWER));
 
     public static final Multibase BASE_16_UPPER = new Multibase("base16upper", 'F', 16,
             Base16::decode,
-            d -> Base16.encode(d, Base16.ALPHABET_UPPER));
+            d -> Base16.encode(d, Base16.ALPHABET_UPPER),
+            new Base16Codec(Base16.ALPHABET_UPPER));
 
     public static final Multibase BASE_32_HEX = new Multibase("base32hex", 'v', 32,
-            e -> Base32.decode(e, Base32::charToCodeHex, false),
-            d -> Base32.encode(d, Base32.ALPHABET_HEX_LOWER, false));
+            e -> Base32.decode(e, Base32.CODES_HEX, false),
+            d -> Base32.encode(d, Base32.ALPHABET_HEX_LOWER, false),
+            new Base32Codec(Base32.ALPHABET_HEX_LOWER, Base32.CODES_HEX, false));
 
     public static final Multibase BASE_32_HEX_UPPER = new Multibase("base32hexupper", 'V', 32,
-            e -> Base32.decode(e, Base32::charToCodeHex, false),
-            d -> Base32.encode(d, Base32.ALPHABET_HEX_UPPER, false));
+            e -> Base32.decode(e, Base32.CODES_HEX, false),
+            d -> Base32.encode(d, Base32.ALPHABET_HEX_UPPER, false),
+            new Base32Codec(Base32.ALPHABET_HEX_UPPER, Base32.CODES_HEX, false));
 
     public static final Multibase BASE_32_HEX_PAD = new Multibase("base32hexpad", 't', 32,
-            e -> Base32.decode(e, Base32::charToCodeHex, true),
-            d -> Base32.encode(d, Base32.ALPHABET_LOWER, true));
+            e -> Base32.decode(e, Base32.CODES_HEX, true),
+            d -> Base32.encode(d, Base32.ALPHABET_HEX_LOWER, true),
+            new Base32Codec(Base32.ALPHABET_HEX_LOWER, Base32.CODES_HEX, true));
 
     public static final Multibase BASE_32_HEX_PAD_UPPER = new Multibase("base32hexpadupper", 'T', 32,
-            e -> Base32.decode(e, Base32::charToCodeHex, true),
-            d -> Base32.encode(d, Base32.ALPHABET_UPPER, true));
+            e -> Base32.decode(e, Base32.CODES_HEX, true),
+            d -> Base32.encode(d, Base32.ALPHABET_HEX_UPPER, true),
+            new Base32Codec(Base32.ALPHABET_HEX_UPPER, Base32.CODES_HEX, true));
 
     public static final Multibase BASE_32 = new Multibase("base32", 'b', 32,
-            e -> Base32.decode(e, Base32::charToCode, false),
-            d -> Base32.encode(d, Base32.ALPHABET_LOWER, false));
+            e -> Base32.decode(e, Base32.CODES, false),
+            d -> Base32.encode(d, Base32.ALPHABET_LOWER, false),
+            new Base32Codec(Base32.ALPHABET_LOWER, Base32.CODES, false));
 
     public static final Multibase BASE_32_UPPER = new Multibase("base32upper", 'B', 32,
-            e -> Base32.decode(e, Base32::charToCode, false),
-            d -> Base32.encode(d, Base32.ALPHABET_UPPER, false));
+            e -> Base32.decode(e, Base32.CODES, false),
+            d -> Base32.encode(d, Base32.ALPHABET_UPPER, false),
+            new Base32Codec(Base32.ALPHABET_UPPER, Base32.CODES, false));
 
     public static final Multibase BASE_32_PAD = new Multibase("base32pad", 'c', 32,
-            e -> Base32.decode(e, Base32::charToCode, true),
-            d -> Base32.encode(d, Base32.ALPHABET_LOWER, true));
+            e -> Base32.decode(e, Base32.CODES, true),
+            d -> Base32.encode(d, Base32.ALPHABET_LOWER, true),
+            new Base32Codec(Base32.ALPHABET_LOWER, Base32.CODES, true));
 
     public static final Multibase BASE_32_PAD_UPPER = new Multibase("base32padupper", 'C', 32,
-            e -> Base32.decode(e, Base32::charToCode, true),
-            d -> Base32.encode(d, Base32.ALPHABET_UPPER, true));
+            e -> Base32.decode(e, Base32.CODES, true),
+            d -> Base32.encode(d, Base32.ALPHABET_UPPER, true),
+            new Base32Codec(Base32.ALPHABET_UPPER, Base32.CODES, true));
 
     public static final Multibase BASE_64 = new Multibase("base64", 'm', 64,
-            Base64.getDecoder()::decode,
-            Base64.getEncoder().withoutPadding()::encodeToString);
+            e -> Base64.decode(e, Base64.CODES),
+            d -> Base64.encode(d, Base64.ALPHABET, false),
+            new Base64Codec(Base64.ALPHABET, Base64.CODES, false));
 
     public static final Multibase BASE_64_PAD = new Multibase("base64pad", 'M', 64,
-            Base64.getMimeDecoder()::decode,
-            Base64.getMimeEncoder()::encodeToString);
+            e -> Base64.decode(e, Base64.CODES),
+            d -> Base64.encode(d, Base64.ALPHABET, true),
+            new Base64Codec(Base64.ALPHABET, Base64.CODES, true));
 
     public static final Multibase BASE_64_URL = new Multibase("base64url", 'u', 64,
-            Base64.getUrlDecoder()::decode,
-            Base64.getUrlEncoder().withoutPadding()::encodeToString);
+            e -> Base64.decode(e, Base64.CODES_URL),
+            d -> Base64.encode(d, Base64.ALPHABET_URL, false),
+            new Base64Codec(Base64.ALPHABET_URL, Base64.CODES_URL, false));
 
     public static final Multibase BASE_64_URL_PAD = new Multibase("base64urlpad", 'U', 64,
-            Base64.getUrlDecoder()::decode,
-            Base64.getUrlEncoder()::encodeToString);
+            e -> Base64.decode(e, Base64.CODES_URL),
+            d -> Base64.encode(d, Base64.ALPHABET_URL, true),
+            new Base64Codec(Base64.ALPHABET_URL, Base64.CODES_URL, true));
 
     public static final Multibase BASE_58_BTC = new Multibase("base58btc", 'z', 58,
             Base58::decode,
-            Base58::encode);
+            Base58::encode,
+            Base58Codec.INSTANCE);
 
     protected static final Multibase[] ALL = new Multibase[] {
             Multibase.BASE_58_BTC,
@@ -124,6 +152,8 @@ public class Multibase {
     protected final Function<String, byte[]> decode;
     protected final Function<byte[], String> encode;
 
+    protected final BaseCodec codec;
+
     /**
      * Constructs a {@code Multibase} instance.
      *
@@ -139,10 +169,35 @@ public class Multibase {
             int length,
             Function<String, byte[]> decode,
             Function<byte[], String> encode) {
+        this(name, prefix, length, decode, encode, null);
+    }
+
+    /**
+     * Constructs a {@code Multibase} instance with a codec used by
+     * {@link #encodeTo(byte[], int, int, char[], int)} and
+     * {@link #decodeTo(CharSequence, int, int, byte[], int)} to work with
+     * caller provided arrays.
+     *
+     * @param name   the unique base name (e.g., "base64urlpad")
+     * @param prefix the unique prefix character indicating the base
+     * @param length the base alphabet length
+     * @param decode the decoding function
+     * @param encode the encoding function
+     * @param codec  the codec encoding and decoding array ranges, or
+     *               {@code null} to fall back to the functions
+     */
+    public Multibase(
+            String name,
+            char prefix,
+            int length,
+            Function<String, byte[]> decode,
+            Function<byte[], String> encode,
+            BaseCodec codec) {
         this.prefix = prefix;
         this.length = length;
         this.decode = decode;
         this.encode = encode;
+        this.codec = codec;
         this.name = name;
     }
 
@@ -156,6 +211,7 @@ public class Multibase {
         this.length = length;
         this.decode = decode;
         this.encode = encode;
+        this.codec = null;
         this.name = "" + prefix;
     }
 
@@ -196,10 +252,58 @@ public class Multibase {
      */
     public boolean isEncoded(final String encoded) {
         return encoded != null
-                && encoded.trim().length() > 0
+                && !MultibaseDecoder.isBlank(encoded)
                 && prefix == encoded.charAt(0);
     }
 
+    /**
+     * Checks whether the given characters are a well formed value encoded with
+     * this multibase, i.e. whether {@link #decode(String)} succeeds.
+     *
+     * @param encoded the multibase-encoded characters to test
+     * @return {@code true} if the characters can be decoded, {@code false}
+     *         otherwise
+     * @see #validate(CharSequence)
+     */
+    public boolean isValid(final CharSequence encoded) {
+        return validate(encoded) == DecodeStatus.VALID;
+    }
+
+    /**
+     * Validates the given multibase-encoded characters without decoding them.
+     * <p>
+     * Neither exceptions nor messages are created when this multibase has been
+     * constructed with a {@link BaseCodec}, otherwise the characters are decoded
+     * and a failure is reported as {@link DecodeStatus#MALFORMED}.
+     * </p>
+     *
+     * @param encoded the multibase-encoded characters to validate
+     * @return {@link DecodeStatus#VALID} if the characters can be decoded,
+     *         otherwise the reason they cannot
+     */
+    public DecodeStatus validate(final CharSequence encoded) {
+
+        if (encoded == null || MultibaseDecoder.isBlank(encoded)) {
+            return DecodeStatus.EMPTY;
+        }
+
+        if (prefix != encoded.charAt(0)) {
+            return DecodeStatus.UNSUPPORTED_PREFIX;
+        }
+
+        if (codec != null) {
+            return codec.validate(encoded, 1, encoded.length() - 1);
+        }
+
+        try {
+            decode.apply(encoded.subSequence(1, encoded.length()).toString());
+            return DecodeStatus.VALID;
+
+        } catch (IllegalArgumentException e) {
+            return DecodeStatus.MALFORMED;
+        }
+    }
+
     /**
      * Decodes the given multibase-encoded string into a byte array.
      *
@@ -213,7 +317,7 @@ public class Multibase {
             throw new IllegalArgumentException("The encoded value must not be null.");
         }
 
-        if (encoded.trim().length() == 0) {
+        if (MultibaseDecoder.isBlank(encoded)) {
             throw new IllegalArgumentException("The encoded value be non empty string.");
         }
 
@@ -228,6 +332,104 @@ public class Multibase {
         return decode.apply(data);
     }
 
+    /**
+     * Decodes the given multibase-encoded characters without throwing an
+     * exception when they are malformed.
+     * <p>
+     * If this multibase has been constructed with a {@link BaseCodec}, the
+     * characters are decoded by {@link BaseCodec#tryDecode(CharSequence, int,
+     * int, byte[], int)}, which reads valid characters once and reports a
+     * failure as a {@link DecodeStatus} without creating an exception. Otherwise
+     * the decoding function can fail with an exception only, which is caught
+     * and reported as {@link DecodeStatus#MALFORMED}.
+     * </p>
+     *
+     * @param encoded the multibase-encoded characters
+     * @return the decoded bytes, or the reason decoding has failed
+     */
+    public DecodeResult tryDecode(final CharSequence encoded) {
+
+        if (encoded == null || MultibaseDecoder.isBlank(encoded)) {
+            return DecodeResult.failure(DecodeStatus.EMPTY, null, encoded);
+        }
+
+        if (prefix != encoded.charAt(0)) {
+            return DecodeResult.failure(DecodeStatus.UNSUPPORTED_PREFIX, null, encoded);
+        }
+
+        if (codec == null) {
+            try {
+                return DecodeResult.success(this, decode.apply(encoded.subSequence(1, encoded.length()).toString()));
+
+            } catch (IllegalArgumentException e) {
+                return DecodeResult.failure(DecodeStatus.MALFORMED, this, encoded);
+            }
+        }
+
+        final int len = encoded.length() - 1;
+
+        final int decodedLength = codec.tryDecodedLength(encoded, 1, len);
+
+        // -1 denotes an unknown length
+        if (decodedLength < -1) {
+            return DecodeResult.failure(DecodeStatus.of(decodedLength), this, encoded);
+        }
+
+        final byte[] decoded = new byte[decodedLength >= 0 ? decodedLength : len];
+
+        final int length = codec.tryDecode(encoded, 1, len, decoded, 0);
+
+        if (length < 0) {
+            return DecodeResult.failure(DecodeStatus.of(length), this, encoded);
+        }
+
+        return DecodeResult.success(this, length == decoded.length
+                ? decoded
+                : Arrays.copyOf(decoded, length));
+    }
+
+    /**
+     * Decodes the given multibase-encoded characters holding a
+     * multicodec-prefixed value, e.g. a {@code z6Mk...} Ed25519 public key, and
+     * parses the unsigned varint header.
+     * <p>
+     * The returned view references the array the characters have been decoded
+     * into, so the payload is neither copied out of it nor trimmed when this
+     * multibase has been constructed with a {@link BaseCodec}.
+     * </p>
+     *
+     * @param encoded the multibase-encoded characters
+     * @return a view of the multicodec code and the payload
+     * @throws IllegalArgumentException if the input is {@code null}, empty, has an
+     *                                  incorrect prefix, or does not start with a
+     *                                  valid multicodec header
+     */
+    public MulticodecView decodeMulticodec(final CharSequence encoded) {
+
+        if (encoded == null) {
+            throw new IllegalArgumentException("The encoded value must not be null.");
+        }
+
+        if (MultibaseDecoder.isBlank(encoded)) {
+            throw new IllegalArgumentException("The encoded value must be non empty string.");
+        }
+
+        final char p = encoded.charAt(0);
+
+        if (prefix != p) {
+            throw new IllegalArgumentException("Unsupported multibase encoding [" + p + "], this instance process only [" + prefix + "].");
+        }
+
+        if (codec == null) {
+            final byte[] decoded = decode.apply(encoded.subSequence(1, encoded.length()).toString());
+            return MulticodecView.of(decoded, 0, decoded.length);
+        }
+
+        final byte[] decoded = new byte[codec.decodedLength(encoded, 1, encoded.length() - 1)];
+
+        return MulticodecView.of(decoded, 0, codec.decode(encoded, 1, encoded.length() - 1, decoded, 0));
+    }
+
     /**
      * Encodes the given byte array into a multibase-encoded string.
      *
@@ -248,6 +450,670 @@ public class Multibase {
         return prefix + encode.apply(data);
     }
 
+    /**
+     * Returns the number of characters the given number of bytes is encoded
+     * into, including the base prefix. The length is exact for block aligned
+     * encodings and an upper bound for base58.
+     *
+     * @param length the number of bytes to encode
+     * @return the number of encoded characters, including the prefix, or
+     *         {@code -1} if this multibase has been constructed without a
+     *         {@link BaseCodec}
+     * @throws IllegalArgumentException if {@code length} is negative
+     */
+    public int encodedLength(final int length) {
+
+        if (length < 0) {
+            throw new IllegalArgumentException("The length must not be negative.");
+        }
+
+        if (codec == null) {
+            return -1;
+        }
+
+        final int encoded = codec.encodedLength(length);
+
+        return encoded < 0 ? -1 : encoded + 1;
+    }
+
+    /**
+     * Returns the number of characters the given byte array is encoded into,
+     * including the base prefix. The length is exact for block aligned
+     * encodings, for base58 leading zero bytes are counted exactly and the rest
+     * is bounded from above.
+     *
+     * @param data the byte array to encode
+     * @return the number of encoded characters, including the prefix, or
+     *         {@code -1} if this multibase has been constructed without a
+     *         {@link BaseCodec}
+     * @throws IllegalArgumentException if {@code data} is {@code null}
+     */
+    public int encodedLength(final byte[] data) {
+
+        if (data == null) {
+            throw new IllegalArgumentException("The data must not be null.");
+        }
+
+        if (codec == null) {
+            return -1;
+        }
+
+        final int encoded = codec.encodedLength(data, 0, data.length);
+
+        return encoded < 0 ? -1 : encoded + 1;
+    }
+
+    /**
+     * Returns the number of bytes the given multibase-encoded characters are
+     * decoded into, without decoding them. The length is exact for block aligned
+     * encodings, for base58 leading zero characters are counted exactly and the
+     * rest is bounded from above.
+     *
+     * @param encoded the multibase-encoded characters, starting with the prefix
+     * @return the number of decoded bytes, or {@code -1} if this multibase has
+     *         been constructed without a {@link BaseCodec}
+     * @throws IllegalArgumentException if the input is {@code null}, empty, has an
+     *                                  incorrect prefix, or no encoded value has
+     *                                  its length or padding
+     */
+    public int decodedLength(final CharSequence encoded) {
+
+        if (encoded == null) {
+            throw new IllegalArgumentException("The encoded value must not be null.");
+        }
+
+        if (encoded.length() == 0) {
+            throw new IllegalArgumentException("The encoded value be non empty string.");
+        }
+
+        final char p = encoded.charAt(0);
+
+        if (prefix != p) {
+            throw new IllegalArgumentException("Unsupported multibase encoding [" + p + "], this instance process only [" + prefix + "].");
+        }
+
+        return codec != null
+                ? codec.decodedLength(encoded, 1, encoded.length() - 1)
+                : -1;
+    }
+
+    /**
+     * Encodes the given byte array into the given character array, including the
+     * base prefix.
+     *
+     * @param data   the byte array to encode
+     * @param dst    the output array
+     * @param dstOff the index at which the prefix is written
+     * @return the number of characters written, including the prefix
+     * @throws IllegalArgumentException if the input is {@code null} or empty, or
+     *                                  {@code dst} does not have enough space
+     */
+    public int encodeTo(final byte[] data, final char[] dst, final int dstOff) {
+
+        if (data == null) {
+            throw new IllegalArgumentException("The data must not be null.");
+        }
+
+        return encodeTo(data, 0, data.length, dst, dstOff);
+    }
+
+    /**
+     * Encodes a range of the given byte array into the given character array,
+     * including the base prefix. No intermediate string is produced when this
+     * multibase has been constructed with a {@link BaseCodec}.
+     *
+     * @param src    the data to encode
+     * @param off    the index of the first byte to encode
+     * @param len    the number of bytes to encode
+     * @param dst    the output array
+     * @param dstOff the index at which the prefix is written
+     * @return the number of characters written, including the prefix
+     * @throws IllegalArgumentException if the input is {@code null} or empty, or
+     *                                  {@code dst} does not have enough space
+     */
+    public int encodeTo(final byte[] src, final int off, final int len, final char[] dst, final int dstOff) {
+
+        if (src == null) {
+            throw new IllegalArgumentException("The data must not be null.");
+        }
+
+        if (len == 0) {
+            throw new IllegalArgumentException("The data must be non empty byte array.");
+        }
+
+        final int length;
+
+        if (codec != null) {
+            length = codec.encode(src, off, len, dst, dstOff + 1);
+
+        } else {
+            final String encoded = encode.apply(Arrays.copyOfRange(src, off, off + len));
+
+            if (dst.length - dstOff - 1 < encoded.length()) {
+                throw new IllegalArgumentException("Output array is too small to hold " + (encoded.length() + 1) + " encoded characters.");
+            }
+
+            encoded.getChars(0, encoded.length(), dst, dstOff + 1);
+            length = encoded.length();
+        }
+
+        dst[dstOff] = prefix;
+
+        return length + 1;
+    }
+
+    /**
+     * Encodes the given byte array into multibase-encoded US-ASCII characters,
+     * including the base prefix, without an intermediate string.
+     *
+     * @param data the byte array to encode
+     * @return the encoded US-ASCII characters, including the base prefix
+     * @throws IllegalArgumentException if the input is {@code null} or empty
+     */
+    public byte[] encodeAscii(final byte[] data) {
+
+        if (data == null) {
+            throw new IllegalArgumentException("The data must not be null.");
+        }
+
+        final int maxLength = codec != null
+                ? codec.encodedLength(data, 0, data.length)
+                : -1;
+
+        if (maxLength < 0) {
+            return encode(data).getBytes(StandardCharsets.US_ASCII);
+        }
+
+        final byte[] encoded = new byte[maxLength + 1];
+
+        final int length = appendAscii(data, 0, data.length, encoded, 0);
+
+        return length == encoded.length
+                ? encoded
+                : Arrays.copyOf(encoded, length);
+    }
+
+    /**
+     * Encodes the given byte array into the given array as multibase-encoded
+     * US-ASCII characters, including the base prefix.
+     *
+     * @param data   the byte array to encode
+     * @param dst    the output array
+     * @param dstOff the index at which the prefix is written
+     * @return the number of characters written, including the prefix
+     * @throws IllegalArgumentException if the input is {@code null} or empty, or
+     *                                  {@code dst} does not have enough space
+     */
+    public int appendAscii(final byte[] data, final byte[] dst, final int dstOff) {
+
+        if (data == null) {
+            throw new IllegalArgumentException("The data must not be null.");
+        }
+
+        return appendAscii(data, 0, data.length, dst, dstOff);
+    }
+
+    /**
+     * Encodes a range of the given byte array into the given array as
+     * multibase-encoded US-ASCII characters, including the base prefix. The
+     * characters are written directly from the alphabet when this multibase has
+     * been constructed with a {@link BaseCodec}.
+     *
+     * @param src    the data to encode
+     * @param off    the index of the first byte to encode
+     * @param len    the number of bytes to encode
+     * @param dst    the output array
+     * @param dstOff the index at which the prefix is written
+     * @return the number of characters written, including the prefix
+     * @throws IllegalArgumentException if the input is {@code null} or empty, or
+     *                                  {@code dst} does not have enough space
+     */
+    public int appendAscii(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) {
+
+        if (src == null) {
+            throw new IllegalArgumentException("The data must not be null.");
+        }
+
+        if (len == 0) {
+            throw new IllegalArgumentException("The data must be non empty byte array.");
+        }
+
+        final int length;
+
+        if (codec != null) {
+            length = codec.encodeAscii(src, off, len, dst, dstOff + 1);
+
+        } else {
+            final String encoded = encode.apply(Arrays.copyOfRange(src, off, off + len));
+
+            if (dst.length - dstOff - 1 < encoded.length()) {
+                throw new IllegalArgumentException("Output array is too small to hold " + (encoded.length() + 1) + " encoded characters.");
+            }
+
+            for (int index = 0; index < encoded.length(); index++) {
+                dst[dstOff + 1 + index] = (byte) encoded.charAt(index);
+            }
+            length = encoded.length();
+        }
+
+        dst[dstOff] = (byte) prefix;
+
+        return length + 1;
+    }
+
+    /**
+     * Decodes the given multibase-encoded characters into the given byte array.
+     *
+     * @param encoded the multibase-encoded characters
+     * @param dst     the output array
+     * @param dstOff  the index at which the first byte is written
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the input is {@code null}, empty, has an
+     *                                  incorrect prefix, or {@code dst} does not
+     *                                  have enough space
+     */
+    public int decodeTo(final CharSequence encoded, final byte[] dst, final int dstOff) {
+
+        if (encoded == null) {
+            throw new IllegalArgumentException("The encoded value must not be null.");
+        }
+
+        return decodeTo(encoded, 0, encoded.length(), dst, dstOff);
+    }
+
+    /**
+     * Decodes a range of the given multibase-encoded characters, starting with
+     * the base prefix, into the given byte array. No intermediate string or array
+     * is produced when this multibase has been constructed with a
+     * {@link BaseCodec}.
+     *
+     * @param src    the multibase-encoded characters
+     * @param off    the index of the prefix
+     * @param len    the number of characters to decode, including the prefix
+     * @param dst    the output array
+     * @param dstOff the index at which the first byte is written
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the input is {@code null}, empty, has an
+     *                                  incorrect prefix, or {@code dst} does not
+     *                                  have enough space
+     */
+    public int decodeTo(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff) {
+
+        if (src == null) {
+            throw new IllegalArgumentException("The encoded value must not be null.");
+        }
+
+        if (len == 0) {
+            throw new IllegalArgumentException("The encoded value be non empty string.");
+        }
+
+        final char p = src.charAt(off);
+
+        if (prefix != p) {
+            throw new IllegalArgumentException("Unsupported multibase encoding [" + p + "], this instance process only [" + prefix + "].");
+        }
+
+        if (codec != null) {
+            return codec.decode(src, off + 1, len - 1, dst, dstOff);
+        }
+
+        final byte[] decoded = decode.apply(src.subSequence(off + 1, off + len).toString());
+
+        if (dst.length - dstOff < decoded.length) {
+            throw new IllegalArgumentException("Output array is too small to hold " + decoded.length + " decoded bytes.");
+        }
+
+        System.arraycopy(decoded, 0, dst, dstOff, decoded.length);
+
+        return decoded.length;
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer into a multibase-encoded
+     * character buffer, including the base prefix. Heap, direct and
+     * memory-mapped buffers are read in place, or in bounded chunks for block
+     * aligned encodings.
+     * <p>
+     * Upon return, the source buffer's position is updated to its limit.
+     * </p>
+     *
+     * @param src the buffer to encode
+     * @return a new character buffer holding the encoded characters
+     * @throws IllegalArgumentException if the input is {@code null} or has no
+     *                                  remaining bytes
+     */
+    public CharBuffer encode(final ByteBuffer src) {
+
+        if (src == null) {
+            throw new IllegalArgumentException("The data must not be null.");
+        }
+
+        if (!src.hasRemaining()) {
+            throw new IllegalArgumentException("The data must be non empty byte array.");
+        }
+
+        final int maxLength = codec != null
+                ? codec.maxEncodedLength(src.remaining())
+                : -1;
+
+        if (maxLength < 0) {
+            return CharBuffer.wrap(encode(remaining(src)));
+        }
+
+        final char[] encoded = new char[maxLength + 1];
+
+        return CharBuffer.wrap(encoded, 0, encodeTo(src, encoded));
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer into a buffer of
+     * multibase-encoded US-ASCII characters, including the base prefix.
+     * <p>
+     * Upon return, the source buffer's position is updated to its limit.
+     * </p>
+     *
+     * @param src the buffer to encode
+     * @return a new byte buffer holding the encoded US-ASCII characters
+     * @throws IllegalArgumentException if the input is {@code null} or has no
+     *                                  remaining bytes
+     * @see #encode(ByteBuffer)
+     */
+    public ByteBuffer encodeAscii(final ByteBuffer src) {
+
+        if (src == null) {
+            throw new IllegalArgumentException("The data must not be null.");
+        }
+
+        if (!src.hasRemaining()) {
+            throw new IllegalArgumentException("The data must be non empty byte array.");
+        }
+
+        final int maxLength = codec != null
+                ? codec.maxEncodedLength(src.remaining())
+                : -1;
+
+        if (maxLength < 0) {
+            return ByteBuffer.wrap(encodeAscii(remaining(src)));
+        }
+
+        final byte[] encoded = new byte[maxLength + 1];
+
+        return ByteBuffer.wrap(encoded, 0, appendAscii(src, encoded));
+    }
+
+    /**
+     * Decodes the remaining multibase-encoded characters of the given buffer,
+     * starting with the base prefix, into a byte buffer.
+     * <p>
+     * Upon return, the source buffer's position is updated to its limit.
+     * </p>
+     *
+     * @param src the multibase-encoded characters
+     * @return a new byte buffer holding the decoded bytes
+     * @throws IllegalArgumentException if the input is {@code null}, empty, or has
+     *                                  an incorrect prefix
+     */
+    public ByteBuffer decode(final CharBuffer src) {
+
+        if (src == null) {
+            throw new IllegalArgumentException("The encoded value must not be null.");
+        }
+
+        final ByteBuffer decoded = decodeBuffer(src);
+
+        src.position(src.limit());
+
+        return decoded;
+    }
+
+    /**
+     * Decodes the remaining multibase-encoded US-ASCII characters of the given
+     * buffer, starting with the base prefix, into a byte buffer. Heap, direct and
+     * memory-mapped buffers are read in place.
+     * <p>
+     * Upon return, the source buffer's position is updated to its limit.
+     * </p>
+     *
+     * @param src the multibase-encoded US-ASCII characters
+     * @return a new byte buffer holding the decoded bytes
+     * @throws IllegalArgumentException if the input is {@code null}, empty, or has
+     *                                  an incorrect prefix
+     */
+    public ByteBuffer decode(final ByteBuffer src) {
+
+        if (src == null) {
+            throw new IllegalArgumentException("The encoded value must not be null.");
+        }
+
+        final int maxLength = codec != null && src.remaining() > 1
+                ? codec.maxDecodedLength(src.remaining() - 1)
+                : -1;
+
+        if (maxLength < 0 || !src.hasArray()) {
+            final ByteBuffer decoded = decodeBuffer(new AsciiSequence(src, src.position(), src.remaining()));
+            src.position(src.limit());
+            return decoded;
+        }
+
+        final char p = (char) (src.get(src.position()) & 0xff);
+
+        if (prefix != p) {
+            throw new IllegalArgumentException("Unsupported multibase encoding [" + p + "], this instance process only [" + prefix + "].");
+        }
+
+        final byte[] decoded = new byte[maxLength];
+
+        final int length = codec.decodeAscii(src.array(), src.arrayOffset() + src.position() + 1, src.remaining() - 1, decoded, 0);
+
+        src.position(src.limit());
+
+        return ByteBuffer.wrap(decoded, 0, length);
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer, including the base prefix,
+     * into an array with enough space.
+     */
+    protected int encodeTo(final ByteBuffer src, final char[] dst) {
+
+        final int length = src.remaining();
+
+        if (src.hasArray()) {
+            final int count = encodeTo(src.array(), src.arrayOffset() + src.position(), length, dst, 0);
+            src.position(src.limit());
+            return count;
+        }
+
+        if (codec.blockLength() == 0 || length <= BUFFER_CHUNK_SIZE) {
+            return encodeTo(remaining(src), dst, 0);
+        }
+
+        // whole blocks are encoded independently of each other
+        final byte[] chunk = new byte[BUFFER_CHUNK_SIZE - BUFFER_CHUNK_SIZE % codec.blockLength()];
+
+        dst[0] = prefix;
+
+        int count = 1;
+
+        while (src.hasRemaining()) {
+            final int chunkLength = Math.min(chunk.length, src.remaining());
+            src.get(chunk, 0, chunkLength);
+            count += codec.encode(chunk, 0, chunkLength, dst, count);
+        }
+        return count;
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer as US-ASCII characters,
+     * including the base prefix, into an array with enough space.
+     */
+    protected int appendAscii(final ByteBuffer src, final byte[] dst) {
+
+        final int length = src.remaining();
+
+        if (src.hasArray()) {
+            final int count = appendAscii(src.array(), src.arrayOffset() + src.position(), length, dst, 0);
+            src.position(src.limit());
+            return count;
+        }
+
+        if (codec.blockLength() == 0 || length <= BUFFER_CHUNK_SIZE) {
+            return appendAscii(remaining(src), dst, 0);
+        }
+
+        // whole blocks are encoded independently of each other
+        final byte[] chunk = new byte[BUFFER_CHUNK_SIZE - BUFFER_CHUNK_SIZE % codec.blockLength()];
+
+        dst[0] = (byte) prefix;
+
+        int count = 1;
+
+        while (src.hasRemaining()) {
+            final int chunkLength = Math.min(chunk.length, src.remaining());
+            src.get(chunk, 0, chunkLength);
+            count += codec.encodeAscii(chunk, 0, chunkLength, dst, count);
+        }
+        return count;
+    }
+
+    /**
+     * Decodes the given multibase-encoded characters into a new byte buffer.
+     */
+    protected ByteBuffer decodeBuffer(final CharSequence src) {
+
+        final int maxLength = codec != null && src.length() > 0 && prefix == src.charAt(0)
+                ? codec.decodedLength(src, 1, src.length() - 1)
+                : -1;
+
+        if (maxLength < 0) {
+            return ByteBuffer.wrap(decode(src.toString()));
+        }
+
+        final byte[] decoded = new byte[maxLength];
+
+        return ByteBuffer.wrap(decoded, 0, decodeTo(src, 0, src.length(), decoded, 0));
+    }
+
+    /**
+     * Reads the remaining bytes of the given buffer into a new array.
+     */
+    protected static byte[] remaining(final ByteBuffer src) {
+        final byte[] data = new byte[src.remaining()];
+        src.get(data);
+        return data;
+    }
+
+    /**
+     * Encodes the given byte arrays into multibase-encoded strings, splitting the
+     * work across the common {@link ForkJoinPool} for batches of at least 1024
+     * items.
+     *
+     * @param data the byte arrays to encode
+     * @return the encoded strings, in the order of the given arrays, and errors
+     *         of arrays that cannot be encoded
+     * @throws IllegalArgumentException if {@code data} is {@code null}
+     */
+    public BatchResult<String> encodeAll(final List<byte[]> data) {
+        return encodeAll(data, ForkJoinPool.commonPool(), BatchTask.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Encodes the given byte arrays into multibase-encoded strings, splitting the
+     * work across the given pool for batches of at least {@code threshold}
+     * items.
+     *
+     * @param data      the byte arrays to encode
+     * @param pool      the pool to encode large batches in
+     * @param threshold the minimal number of arrays encoded in parallel
+     * @return the encoded strings, in the order of the given arrays, and errors
+     *         of arrays that cannot be encoded
+     * @throws IllegalArgumentException if {@code data} or {@code pool} is
+     *                                  {@code null}
+     */
+    public BatchResult<String> encodeAll(final List<byte[]> data, final ForkJoinPool pool, final int threshold) {
+
+        if (data == null) {
+            throw new IllegalArgumentException("The data must not be null.");
+        }
+
+        if (pool == null) {
+            throw new IllegalArgumentException("The pool must not be null.");
+        }
+
+        final BatchResult<String> result = new BatchResult<>(data.size());
+
+        BatchTask.run(data.size(), (index, scratch) -> {
+            try {
+                result.set(index, encode(data.get(index), scratch));
+
+            } catch (IllegalArgumentException e) {
+                result.fail(index, e);
+            }
+        }, pool, threshold);
+
+        return result;
+    }
+
+    /**
+     * Encodes the given byte array into a string, using the scratch buffer for
+     * intermediate characters.
+     */
+    String encode(final byte[] data, final BatchTask.Scratch scratch) {
+
+        final int maxLength = codec != null && data != null
+                ? codec.maxEncodedLength(data.length)
+                : -1;
+
+        if (maxLength < 0) {
+            return encode(data);
+        }
+
+        final char[] encoded = scratch.chars(maxLength + 1);
+
+        return new String(encoded, 0, encodeTo(data, encoded, 0));
+    }
+
+    /**
+     * Returns the codec encoding and decoding array ranges, if this multibase has
+     * been constructed with one.
+     *
+     * @return the codec or {@code null}
+     */
+    public BaseCodec codec() {
+        return codec;
+    }
+
+    /**
+     * Returns a copy of this multibase reporting every encoding and decoding to
+     * the given listener, e.g. {@link MultibaseStatistics}. This instance is not
+     * affected and keeps running without any instrumentation.
+     * <p>
+     * Operations built upon another one, e.g. {@link #encodeAscii(byte[])} or
+     * {@link #encodeAll(List)}, are reported once per value. Validation and
+     * length calculations are not reported.
+     * </p>
+     *
+     * @param metrics the listener, or {@code null} to obtain an instance
+     *                without instrumentation
+     * @return the instrumented multibase
+     */
+    public Multibase withMetrics(final MultibaseMetrics metrics) {
+        return metrics != null
+                ? new MeteredMultibase(this, metrics)
+                : this;
+    }
+
+    /**
+     * Returns the listener this multibase reports to.
+     *
+     * @return the listener, or {@code null} if this multibase is not
+     *         instrumented
+     * @see #withMetrics(MultibaseMetrics)
+     */
+    public MultibaseMetrics metrics() {
+        return null;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(prefix);
@@ -257,9 +1123,7 @@ public class Multibase {
     public boolean equals(Object obj) {
         if (this == obj)
             return true;
-        if (obj == null)
-            return false;
-        if (getClass() != obj.getClass())
+        if (!(obj instanceof Multibase))
             return false;
         Multibase other = (Multibase) obj;
         return prefix == other.prefix;
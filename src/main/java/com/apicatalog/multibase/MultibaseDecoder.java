@@ -1,11 +1,17 @@
 package com.apicatalog.multibase;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.apicatalog.base.DecodeStatus;
+
 /**
  * Decodes multibase-encoded strings using the {@link Multibase} encodings
  * explicitly registered via prefix characters.
@@ -15,18 +21,56 @@ import java.util.stream.Collectors;
  * character of the input string to select the matching encoding and decode the
  * remaining data.
  * </p>
+ * <p>
+ * The registry is compiled into an array indexed by ASCII prefix characters
+ * and a name index, so resolving an encoding neither boxes the prefix nor
+ * allocates.
+ * </p>
  */
 public class MultibaseDecoder {
 
+    /** The number of prefix characters resolved through {@link #prefixes}. */
+    protected static final int PREFIX_TABLE_SIZE = 128;
+
     protected final Map<Character, Multibase> bases;
 
+    /** Registered encodings indexed by an ASCII prefix character. */
+    protected final Multibase[] prefixes;
+
+    /** Registered encodings indexed by a name. */
+    protected final Map<String, Multibase> names;
+
+    /** The listener values that cannot be resolved are reported to, or {@code null}. */
+    protected final MultibaseMetrics metrics;
+
     /**
      * Constructs a {@code MultibaseDecoder} with the provided base prefix mappings.
      *
      * @param bases a map of prefix characters to {@link Multibase} instances
      */
     protected MultibaseDecoder(final Map<Character, Multibase> bases) {
-        this.bases = bases;
+        this(bases, null);
+    }
+
+    /**
+     * Constructs a {@code MultibaseDecoder} with the provided base prefix mappings
+     * reporting empty values and unregistered prefixes to the given listener.
+     *
+     * @param bases   a map of prefix characters to {@link Multibase} instances
+     * @param metrics the listener, or {@code null}
+     */
+    protected MultibaseDecoder(final Map<Character, Multibase> bases, final MultibaseMetrics metrics) {
+        this.metrics = metrics;
+        this.bases = Collections.unmodifiableMap(bases);
+        this.prefixes = new Multibase[PREFIX_TABLE_SIZE];
+        this.names = new HashMap<>(bases.size() * 2);
+
+        for (final Multibase base : bases.values()) {
+            if (base.prefix() < PREFIX_TABLE_SIZE) {
+                prefixes[base.prefix()] = base;
+            }
+            names.putIfAbsent(base.name(), base);
+        }
     }
 
     /**
@@ -51,6 +95,39 @@ public class MultibaseDecoder {
                         .collect(Collectors.toMap(Multibase::prefix, Function.identity())));
     }
 
+    /**
+     * Returns a copy of this decoder reporting every decoding to the given
+     * listener, e.g. {@link MultibaseStatistics}. The registered encodings are
+     * replaced by instrumented copies, see
+     * {@link Multibase#withMetrics(MultibaseMetrics)}, and values that cannot be
+     * attributed to an encoding are reported with a {@code null} base. This
+     * decoder is not affected.
+     *
+     * @param metrics the listener, or {@code null} to obtain a decoder without
+     *                instrumentation
+     * @return the instrumented decoder
+     */
+    public MultibaseDecoder withMetrics(final MultibaseMetrics metrics) {
+
+        final Map<Character, Multibase> instrumented = new HashMap<>(bases.size() * 2);
+
+        for (final Map.Entry<Character, Multibase> entry : bases.entrySet()) {
+            instrumented.put(entry.getKey(), entry.getValue().withMetrics(metrics));
+        }
+
+        return new MultibaseDecoder(instrumented, metrics);
+    }
+
+    /**
+     * Returns the listener this decoder reports to.
+     *
+     * @return the listener, or {@code null} if this decoder is not instrumented
+     * @see #withMetrics(MultibaseMetrics)
+     */
+    public MultibaseMetrics metrics() {
+        return metrics;
+    }
+
     /**
      * Returns the {@link Multibase} encoding associated with the given prefix
      * character, if it was registered when this decoder was created.
@@ -60,7 +137,7 @@ public class MultibaseDecoder {
      *         or empty if not registered
      */
     public Optional<Multibase> getBase(final char prefix) {
-        return Optional.ofNullable(bases.get(prefix));
+        return Optional.ofNullable(base(prefix));
     }
 
     /**
@@ -78,7 +155,7 @@ public class MultibaseDecoder {
             throw new IllegalArgumentException("The encoded value must not be null.");
         }
 
-        if (encoded.trim().length() == 0) {
+        if (isBlank(encoded)) {
             throw new IllegalArgumentException("The encoded value must be non empty string.");
         }
 
@@ -100,9 +177,7 @@ public class MultibaseDecoder {
      * @throws NullPointerException if {@code name} is {@code null}
      */
     public final Optional<Multibase> findBase(final String name) {
-        return bases.values().stream()
-                .filter(base -> base.name().equals(name))
-                .findFirst();
+        return Optional.ofNullable(names.get(name));
     }
 
     /**
@@ -114,9 +189,239 @@ public class MultibaseDecoder {
      *                                  is invalid
      */
     public byte[] decode(final String encoded) {
-        return getBase(encoded)
-                .map(base -> base.decode(encoded))
-                .orElseThrow(() -> new IllegalArgumentException("Unsupported multibase encoding [" + encoded.charAt(0) + "]."));
+
+        if (encoded == null) {
+            unresolved(encoded, DecodeStatus.EMPTY);
+            throw new IllegalArgumentException("The encoded value must not be null.");
+        }
+
+        if (isBlank(encoded)) {
+            unresolved(encoded, DecodeStatus.EMPTY);
+            throw new IllegalArgumentException("The encoded value must be non empty string.");
+        }
+
+        final Multibase base = base(encoded.charAt(0));
+
+        if (base == null) {
+            unresolved(encoded, DecodeStatus.UNSUPPORTED_PREFIX);
+            throw new IllegalArgumentException("Unsupported multibase encoding [" + encoded.charAt(0) + "].");
+        }
+
+        return base.decode(encoded);
+    }
+
+    /**
+     * Decodes the given multibase-encoded characters holding a
+     * multicodec-prefixed value, resolving the encoding by the prefix
+     * character, and parses the unsigned varint header without copying the
+     * payload.
+     *
+     * @param encoded the multibase-encoded characters
+     * @return a view of the multicodec code and the payload
+     * @throws IllegalArgumentException if the encoding is not registered, input
+     *                                  is invalid or does not start with a valid
+     *                                  multicodec header
+     * @see Multibase#decodeMulticodec(CharSequence)
+     */
+    public MulticodecView decodeMulticodec(final CharSequence encoded) {
+
+        if (encoded == null) {
+            unresolved(encoded, DecodeStatus.EMPTY);
+            throw new IllegalArgumentException("The encoded value must not be null.");
+        }
+
+        if (isBlank(encoded)) {
+            unresolved(encoded, DecodeStatus.EMPTY);
+            throw new IllegalArgumentException("The encoded value must be non empty string.");
+        }
+
+        final Multibase base = base(encoded.charAt(0));
+
+        if (base == null) {
+            unresolved(encoded, DecodeStatus.UNSUPPORTED_PREFIX);
+            throw new IllegalArgumentException("Unsupported multibase encoding [" + encoded.charAt(0) + "].");
+        }
+
+        return base.decodeMulticodec(encoded);
+    }
+
+    /**
+     * Decodes the given multibase-encoded characters, resolving the encoding by
+     * the prefix character, without throwing an exception when they are
+     * malformed.
+     * <p>
+     * Meant for untrusted input where failures are common, a failure carries a
+     * reusable {@link DecodeStatus} and a detailed message is built only on
+     * demand.
+     * </p>
+     *
+     * @param encoded the multibase-encoded characters
+     * @return the decoded bytes, or the reason decoding has failed
+     * @see Multibase#tryDecode(CharSequence)
+     */
+    public DecodeResult tryDecode(final CharSequence encoded) {
+
+        if (encoded == null || isBlank(encoded)) {
+            unresolved(encoded, DecodeStatus.EMPTY);
+            return DecodeResult.failure(DecodeStatus.EMPTY, null, encoded);
+        }
+
+        final Multibase base = base(encoded.charAt(0));
+
+        if (base == null) {
+            unresolved(encoded, DecodeStatus.UNSUPPORTED_PREFIX);
+            return DecodeResult.failure(DecodeStatus.UNSUPPORTED_PREFIX, null, encoded);
+        }
+
+        return base.tryDecode(encoded);
+    }
+
+    /**
+     * Validates the given multibase-encoded characters without decoding them,
+     * resolving the encoding by the prefix character.
+     * <p>
+     * Unlike {@link #decode(String)}, no exception is thrown and no message is
+     * built for a malformed value.
+     * </p>
+     *
+     * @param encoded the multibase-encoded characters to validate
+     * @return {@link DecodeStatus#VALID} if the characters can be decoded,
+     *         otherwise the reason they cannot
+     * @see Multibase#validate(CharSequence)
+     */
+    public DecodeStatus validate(final CharSequence encoded) {
+
+        if (encoded == null || isBlank(encoded)) {
+            return DecodeStatus.EMPTY;
+        }
+
+        final Multibase base = base(encoded.charAt(0));
+
+        if (base == null) {
+            return DecodeStatus.UNSUPPORTED_PREFIX;
+        }
+
+        return base.validate(encoded);
+    }
+
+    /**
+     * Decodes the given multibase-encoded values, splitting the work across the
+     * common {@link ForkJoinPool} for batches of at least 1024 values.
+     *
+     * @param encoded the encoded values to decode
+     * @return the decoded byte arrays, in the order of the given values, and
+     *         errors of values that cannot be decoded
+     * @throws IllegalArgumentException if {@code encoded} is {@code null}
+     */
+    public BatchResult<byte[]> decodeAll(final List<? extends CharSequence> encoded) {
+        return decodeAll(encoded, ForkJoinPool.commonPool(), BatchTask.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Decodes the given multibase-encoded values, splitting the work across the
+     * given pool for batches of at least {@code threshold} values.
+     *
+     * @param encoded   the encoded values to decode
+     * @param pool      the pool to decode large batches in
+     * @param threshold the minimal number of values decoded in parallel
+     * @return the decoded byte arrays, in the order of the given values, and
+     *         errors of values that cannot be decoded
+     * @throws IllegalArgumentException if {@code encoded} or {@code pool} is
+     *                                  {@code null}
+     */
+    public BatchResult<byte[]> decodeAll(final List<? extends CharSequence> encoded, final ForkJoinPool pool, final int threshold) {
+
+        if (encoded == null) {
+            throw new IllegalArgumentException("The encoded values must not be null.");
+        }
+
+        if (pool == null) {
+            throw new IllegalArgumentException("The pool must not be null.");
+        }
+
+        final BatchResult<byte[]> result = new BatchResult<>(encoded.size());
+
+        BatchTask.run(encoded.size(), (index, scratch) -> {
+            try {
+                result.set(index, decode(encoded.get(index), scratch));
+
+            } catch (IllegalArgumentException e) {
+                result.fail(index, e);
+            }
+        }, pool, threshold);
+
+        return result;
+    }
+
+    /**
+     * Decodes the given value, using the scratch buffer for intermediate bytes.
+     */
+    byte[] decode(final CharSequence encoded, final BatchTask.Scratch scratch) {
+
+        if (encoded == null) {
+            unresolved(encoded, DecodeStatus.EMPTY);
+            throw new IllegalArgumentException("The encoded value must not be null.");
+        }
+
+        if (isBlank(encoded)) {
+            unresolved(encoded, DecodeStatus.EMPTY);
+            throw new IllegalArgumentException("The encoded value must be non empty string.");
+        }
+
+        final Multibase base = base(encoded.charAt(0));
+
+        if (base == null) {
+            unresolved(encoded, DecodeStatus.UNSUPPORTED_PREFIX);
+            throw new IllegalArgumentException("Unsupported multibase encoding [" + encoded.charAt(0) + "].");
+        }
+
+        final int maxLength = base.codec() != null
+                ? base.codec().maxDecodedLength(encoded.length() - 1)
+                : -1;
+
+        if (maxLength < 0) {
+            return base.decode(encoded.toString());
+        }
+
+        final byte[] decoded = scratch.bytes(maxLength);
+
+        return Arrays.copyOf(decoded, base.decodeTo(encoded, 0, encoded.length(), decoded, 0));
+    }
+
+    /**
+     * Returns the {@link Multibase} encoding associated with the given prefix
+     * character, or {@code null} if not registered.
+     *
+     * @param prefix the multibase prefix character
+     * @return the corresponding {@link Multibase} or {@code null}
+     */
+    protected Multibase base(final char prefix) {
+        return prefix < PREFIX_TABLE_SIZE
+                ? prefixes[prefix]
+                : bases.get(prefix);
+    }
+
+    /**
+     * Reports a value that cannot be attributed to an encoding, if this decoder
+     * is instrumented.
+     */
+    protected void unresolved(final CharSequence encoded, final DecodeStatus reason) {
+        if (metrics != null) {
+            metrics.onFailure(null, encoded != null ? encoded.length() : 0, reason);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the given value is empty or consists of whitespace
+     * only, as {@link String#trim()} would, without allocating.
+     */
+    static boolean isBlank(final CharSequence value) {
+        for (int index = 0; index < value.length(); index++) {
+            if (value.charAt(index) > ' ') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
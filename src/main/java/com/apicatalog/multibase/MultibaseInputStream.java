@@ -0,0 +1,359 @@
+package com.apicatalog.multibase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+import com.apicatalog.base.DecodeStatus;
+
+/**
+ * An input stream decoding multibase-encoded characters read from a
+ * {@link Reader}, or as US-ASCII from an {@link InputStream}.
+ * <p>
+ * The first character is read when the stream is created and resolved to a
+ * {@link Multibase} registered with the given {@link MultibaseDecoder}. Block
+ * aligned encodings, e.g. Base2, Base16, Base32 or Base64 variants, are then
+ * decoded chunk by chunk with bounded buffers regardless of the payload size.
+ * Other encodings, e.g. Base58, are decoded once the whole input is read.
+ * </p>
+ * <p>
+ * An instrumented base, see {@link MultibaseDecoder#withMetrics(MultibaseMetrics)},
+ * is reported a single decoding of all the characters read, including the
+ * prefix, at the end of input or when the stream is closed, or the failure
+ * of the chunk that cannot be decoded.
+ * </p>
+ *
+ * <pre>
+ * try (InputStream in = new MultibaseInputStream(MultibaseDecoder.getInstance(), reader)) {
+ *     in.transferTo(out);
+ * }
+ * </pre>
+ */
+public class MultibaseInputStream extends InputStream {
+
+    /** The number of encoded characters buffered before being decoded. */
+    protected static final int ENCODED_BUFFER_SIZE = 8192;
+
+    protected final Reader reader;
+    protected final InputStream in;
+
+    protected final Multibase base;
+    protected final BaseCodec codec;
+    protected final MultibaseMetrics metrics;
+
+    protected final char[] encoded;
+    protected final CharSequence encodedView;
+    protected final byte[] ascii;
+
+    protected byte[] decoded;
+
+    /** The number of buffered encoded characters. */
+    protected int length;
+
+    /** The index of the next decoded byte to read. */
+    protected int position;
+
+    /** The number of decoded bytes available. */
+    protected int limit;
+
+    protected boolean eof;
+
+    /** The number of characters decoded, without the prefix. */
+    protected long chars;
+
+    /** The number of bytes decoded, reported to the metrics. */
+    protected long bytes;
+
+    /** The time spent decoding, or {@code -1} if not measured. */
+    protected long nanos;
+
+    /** Whether the metrics have been reported to. */
+    protected boolean reported;
+
+    /**
+     * Creates a stream decoding characters read from the given reader. The
+     * prefix is read immediately.
+     *
+     * @param decoder the decoder resolving the prefix
+     * @param reader  the reader to read the encoded characters from
+     * @throws IOException if the prefix cannot be read or is not registered
+     */
+    public MultibaseInputStream(final MultibaseDecoder decoder, final Reader reader) throws IOException {
+        this(decoder, reader, null);
+    }
+
+    /**
+     * Creates a stream decoding US-ASCII characters read from the given input
+     * stream. The prefix is read immediately.
+     *
+     * @param decoder the decoder resolving the prefix
+     * @param in      the input stream to read the encoded characters from
+     * @throws IOException if the prefix cannot be read or is not registered
+     */
+    public MultibaseInputStream(final MultibaseDecoder decoder, final InputStream in) throws IOException {
+        this(decoder, null, in);
+    }
+
+    private MultibaseInputStream(final MultibaseDecoder decoder, final Reader reader, final InputStream in) throws IOException {
+
+        if (decoder == null) {
+            throw new IllegalArgumentException("The decoder must not be null.");
+        }
+
+        if (reader == null && in == null) {
+            throw new IllegalArgumentException("The input must not be null.");
+        }
+
+        this.reader = reader;
+        this.in = in;
+
+        final int prefix = reader != null ? reader.read() : in.read();
+
+        if (prefix == -1) {
+            throw new IOException("The encoded value must be non empty.");
+        }
+
+        this.base = decoder.getBase((char) prefix)
+                .orElseThrow(() -> new IOException("Unsupported multibase encoding [" + (char) prefix + "]."));
+
+        this.codec = base.codec() != null && base.codec().blockLength() > 0
+                ? base.codec()
+                : null;
+
+        // other encodings are decoded, and reported, by the base at once
+        this.metrics = codec != null ? base.metrics() : null;
+
+        final int blocks = codec != null
+                ? ENCODED_BUFFER_SIZE / codec.encodedBlockLength()
+                : 0;
+
+        this.encoded = new char[codec != null ? blocks * codec.encodedBlockLength() : ENCODED_BUFFER_SIZE];
+        this.encodedView = CharBuffer.wrap(encoded);
+        this.ascii = in != null ? new byte[encoded.length] : null;
+        this.decoded = codec != null ? new byte[blocks * codec.blockLength()] : null;
+
+        this.length = 0;
+        this.position = 0;
+        this.limit = 0;
+        this.eof = false;
+
+        this.chars = 0;
+        this.bytes = 0;
+        this.nanos = metrics != null && metrics.isTimed() ? 0 : -1;
+        this.reported = false;
+    }
+
+    /**
+     * Returns the encoding resolved from the prefix.
+     *
+     * @return the multibase the input is encoded with
+     */
+    public Multibase base() {
+        return base;
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (position == limit) {
+            if (eof) {
+                return -1;
+            }
+            fill();
+        }
+        return decoded[position++] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        if (len == 0) {
+            return 0;
+        }
+
+        while (position == limit) {
+            if (eof) {
+                return -1;
+            }
+            fill();
+        }
+
+        final int count = Math.min(len, limit - position);
+
+        System.arraycopy(decoded, position, b, off, count);
+        position += count;
+
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return limit - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        reportDecode();
+
+        if (reader != null) {
+            reader.close();
+            return;
+        }
+        in.close();
+    }
+
+    /**
+     * Reads more encoded characters and decodes all whole blocks but the last
+     * one, which might be padded, unless the end of input has been reached.
+     *
+     * @throws IOException if an I/O error occurs or the input is malformed
+     */
+    protected void fill() throws IOException {
+
+        if (codec == null) {
+            decodeAll();
+            return;
+        }
+
+        final int read = readEncoded(length, encoded.length - length);
+
+        if (read == -1) {
+            eof = true;
+
+        } else {
+            length += read;
+        }
+
+        final int block = codec.encodedBlockLength();
+
+        final int chunk = eof
+                ? length
+                // keep at least one character pending until the end of input
+                : ((length - 1) / block) * block;
+
+        if (chunk > 0) {
+            decode(chunk);
+        }
+
+        if (eof) {
+            reportDecode();
+        }
+    }
+
+    /**
+     * Decodes the given number of buffered characters.
+     *
+     * @param chunk the number of characters to decode
+     * @throws IOException if the characters are malformed
+     */
+    protected void decode(final int chunk) throws IOException {
+
+        final long start = nanos >= 0 ? System.nanoTime() : 0;
+
+        try {
+            limit = codec.decode(encodedView, 0, chunk, decoded, 0);
+
+        } catch (IllegalArgumentException e) {
+            reportFailure(chunk, codec.validate(encodedView, 0, chunk));
+            throw new IOException(e.getMessage(), e);
+        }
+
+        if (nanos >= 0) {
+            nanos += System.nanoTime() - start;
+        }
+
+        if (!eof && limit != (chunk / codec.encodedBlockLength()) * codec.blockLength()) {
+            reportFailure(chunk, DecodeStatus.INVALID_PADDING);
+            throw new IOException("Invalid multibase " + base.name() + " encoded data, unexpected padding.");
+        }
+
+        chars += chunk;
+        bytes += limit;
+
+        position = 0;
+
+        System.arraycopy(encoded, chunk, encoded, 0, length - chunk);
+        length -= chunk;
+    }
+
+    /**
+     * Reports the characters decoded so far, once.
+     */
+    protected void reportDecode() {
+        if (metrics != null && !reported) {
+            reported = true;
+            metrics.onDecode(base, MultibaseOutputStream.saturate(chars + 1), MultibaseOutputStream.saturate(bytes), nanos);
+        }
+    }
+
+    /**
+     * Reports the characters that cannot be decoded, including those decoded
+     * before, once.
+     *
+     * @param chunk  the number of characters that cannot be decoded
+     * @param reason the reason, {@link DecodeStatus#VALID} if unknown
+     */
+    protected void reportFailure(final int chunk, final DecodeStatus reason) {
+        if (metrics != null && !reported) {
+            reported = true;
+            metrics.onFailure(base, MultibaseOutputStream.saturate(chars + chunk + 1), reason != DecodeStatus.VALID
+                    ? reason
+                    : DecodeStatus.MALFORMED);
+        }
+    }
+
+    /**
+     * Reads and decodes the whole input at once.
+     *
+     * @throws IOException if an I/O error occurs or the input is malformed
+     */
+    protected void decodeAll() throws IOException {
+
+        final StringBuilder data = new StringBuilder(encoded.length).append(base.prefix());
+
+        int read;
+
+        while ((read = readEncoded(0, encoded.length)) != -1) {
+            data.append(encoded, 0, read);
+        }
+
+        eof = true;
+
+        try {
+            decoded = base.decode(data.toString());
+
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+
+        position = 0;
+        limit = decoded.length;
+    }
+
+    /**
+     * Reads encoded characters into the buffer.
+     *
+     * @param off the buffer offset to read the characters to
+     * @param len the maximum number of characters to read
+     * @return the number of characters read, or {@code -1} at the end of input
+     * @throws IOException if an I/O error occurs
+     */
+    protected int readEncoded(final int off, final int len) throws IOException {
+
+        if (reader != null) {
+            return reader.read(encoded, off, len);
+        }
+
+        final int read = in.read(ascii, 0, len);
+
+        for (int index = 0; index < read; index++) {
+            encoded[off + index] = (char) (ascii[index] & 0xff);
+        }
+        return read;
+    }
+}
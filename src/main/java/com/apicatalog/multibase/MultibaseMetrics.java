@@ -0,0 +1,66 @@
+package com.apicatalog.multibase;
+
+import com.apicatalog.base.DecodeStatus;
+
+/**
+ * Receives the outcome of every encoding and decoding performed by an
+ * instrumented {@link Multibase} or {@link MultibaseDecoder}.
+ * <p>
+ * A listener is attached with {@link Multibase#withMetrics(MultibaseMetrics)}
+ * or {@link MultibaseDecoder#withMetrics(MultibaseMetrics)}, returning an
+ * instrumented copy. The provided instances are never instrumented and do not
+ * pay any cost for the feature.
+ * </p>
+ * <p>
+ * Callbacks are invoked on the calling threads, concurrently, so an
+ * implementation must be thread-safe and should not block.
+ * </p>
+ *
+ * @see MultibaseStatistics
+ */
+public interface MultibaseMetrics {
+
+    /**
+     * Returns {@code true} if the duration of operations is to be measured. The
+     * clock is not read otherwise and callbacks receive {@code -1} instead of a
+     * duration.
+     *
+     * @return {@code true} to measure durations
+     */
+    default boolean isTimed() {
+        return false;
+    }
+
+    /**
+     * Called when bytes have been encoded.
+     *
+     * @param base  the encoding
+     * @param bytes the number of encoded bytes
+     * @param chars the number of characters produced, including the prefix
+     * @param nanos the duration in nanoseconds, or {@code -1} if not measured
+     */
+    void onEncode(Multibase base, int bytes, int chars, long nanos);
+
+    /**
+     * Called when characters have been decoded.
+     *
+     * @param base  the encoding
+     * @param chars the number of decoded characters, including the prefix
+     * @param bytes the number of bytes produced
+     * @param nanos the duration in nanoseconds, or {@code -1} if not measured
+     */
+    void onDecode(Multibase base, int chars, int bytes, long nanos);
+
+    /**
+     * Called when characters cannot be decoded.
+     *
+     * @param base   the encoding, or {@code null} if the value is empty or its
+     *               prefix is not registered
+     * @param chars  the number of characters, including the prefix
+     * @param reason the reason decoding has failed,
+     *               {@link DecodeStatus#MALFORMED} if the characters are valid
+     *               but the output does not fit the given array or the decoded
+     *               value is rejected, e.g. its multicodec header
+     */
+    void onFailure(Multibase base, int chars, DecodeStatus reason);
+}
@@ -0,0 +1,258 @@
+package com.apicatalog.multibase;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * An output stream encoding written bytes with a block aligned
+ * {@link Multibase}, e.g. Base2, Base16, Base32 or Base64 variants.
+ * <p>
+ * The base prefix is written first, then the data are encoded incrementally in
+ * whole blocks into the underlying {@link Writer}, or as US-ASCII into the
+ * underlying {@link OutputStream}. Memory use is bounded regardless of the
+ * payload size. The final block, including padding, is encoded when the stream
+ * is finished or closed.
+ * </p>
+ * <p>
+ * An instrumented base, see {@link Multibase#withMetrics(MultibaseMetrics)},
+ * is reported a single encoding of all the bytes written, including the
+ * prefix, when the stream is finished or closed.
+ * </p>
+ *
+ * <pre>
+ * try (OutputStream out = new MultibaseOutputStream(Multibase.BASE_64_URL, writer)) {
+ *     out.write(data);
+ * }
+ * </pre>
+ */
+public class MultibaseOutputStream extends OutputStream {
+
+    /** The number of encoded characters buffered before being written. */
+    protected static final int ENCODED_BUFFER_SIZE = 8192;
+
+    protected final Multibase base;
+    protected final BaseCodec codec;
+    protected final MultibaseMetrics metrics;
+
+    protected final Writer writer;
+    protected final OutputStream out;
+
+    protected final byte[] buffer;
+    protected final char[] encoded;
+    protected final byte[] ascii;
+
+    protected int count;
+    protected boolean finished;
+
+    /** The number of bytes encoded, reported to the metrics. */
+    protected long bytes;
+
+    /** The number of characters encoded, without the prefix. */
+    protected long chars;
+
+    /** The time spent encoding, or {@code -1} if not measured. */
+    protected long nanos;
+
+    /**
+     * Creates a stream writing the encoded characters into the given writer.
+     * The base prefix is written immediately.
+     *
+     * @param base   a block aligned multibase
+     * @param writer the writer to write the encoded characters to
+     * @throws IllegalArgumentException if the base is not block aligned
+     * @throws IOException              if the prefix cannot be written
+     */
+    public MultibaseOutputStream(final Multibase base, final Writer writer) throws IOException {
+        this(base, writer, null);
+        writer.write(base.prefix());
+    }
+
+    /**
+     * Creates a stream writing the encoded characters as US-ASCII bytes into the
+     * given output stream. The base prefix is written immediately.
+     *
+     * @param base a block aligned multibase
+     * @param out  the stream to write the encoded bytes to
+     * @throws IllegalArgumentException if the base is not block aligned
+     * @throws IOException              if the prefix cannot be written
+     */
+    public MultibaseOutputStream(final Multibase base, final OutputStream out) throws IOException {
+        this(base, null, out);
+        out.write(base.prefix());
+    }
+
+    private MultibaseOutputStream(final Multibase base, final Writer writer, final OutputStream out) {
+
+        if (base == null) {
+            throw new IllegalArgumentException("The multibase must not be null.");
+        }
+
+        if (writer == null && out == null) {
+            throw new IllegalArgumentException("The output must not be null.");
+        }
+
+        this.codec = base.codec();
+
+        if (codec == null || codec.blockLength() <= 0) {
+            throw new IllegalArgumentException("Multibase [" + base.name() + "] is not block aligned and cannot be encoded incrementally.");
+        }
+
+        this.base = base;
+        this.metrics = base.metrics();
+        this.writer = writer;
+        this.out = out;
+
+        final int blocks = ENCODED_BUFFER_SIZE / codec.encodedBlockLength();
+
+        this.buffer = new byte[blocks * codec.blockLength()];
+        this.encoded = writer != null ? new char[blocks * codec.encodedBlockLength()] : null;
+        this.ascii = out != null ? new byte[blocks * codec.encodedBlockLength()] : null;
+
+        this.count = 0;
+        this.finished = false;
+
+        this.bytes = 0;
+        this.chars = 0;
+        this.nanos = metrics != null && metrics.isTimed() ? 0 : -1;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        ensureOpen();
+
+        buffer[count++] = (byte) b;
+
+        if (count == buffer.length) {
+            encode(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // complete pending blocks first
+        if (count > 0) {
+            final int length = Math.min(len, buffer.length - count);
+
+            System.arraycopy(b, off, buffer, count, length);
+            count += length;
+            off += length;
+            len -= length;
+
+            if (count < buffer.length) {
+                return;
+            }
+
+            encode(buffer, 0, count);
+            count = 0;
+        }
+
+        // encode whole chunks directly from the given array
+        while (len >= buffer.length) {
+            encode(b, off, buffer.length);
+            off += buffer.length;
+            len -= buffer.length;
+        }
+
+        if (len > 0) {
+            System.arraycopy(b, off, buffer, 0, len);
+            count = len;
+        }
+    }
+
+    /**
+     * Flushes the underlying output. Bytes not forming a whole chunk yet are
+     * kept pending until more data are written or the stream is finished.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+            return;
+        }
+        out.flush();
+    }
+
+    /**
+     * Encodes pending bytes, including padding, and flushes the underlying output
+     * without closing it. No more data can be written afterwards.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+
+        finished = true;
+
+        if (count > 0) {
+            encode(buffer, 0, count);
+            count = 0;
+        }
+
+        if (metrics != null) {
+            metrics.onEncode(base, saturate(bytes), saturate(chars + 1), nanos);
+        }
+
+        flush();
+    }
+
+    /**
+     * Finishes encoding and closes the underlying output.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+
+        } finally {
+            if (writer != null) {
+                writer.close();
+
+            } else {
+                out.close();
+            }
+        }
+    }
+
+    protected void encode(final byte[] src, final int off, final int len) throws IOException {
+
+        final long start = nanos >= 0 ? System.nanoTime() : 0;
+
+        final int length = writer != null
+                ? codec.encode(src, off, len, encoded, 0)
+                : codec.encodeAscii(src, off, len, ascii, 0);
+
+        if (nanos >= 0) {
+            nanos += System.nanoTime() - start;
+        }
+
+        bytes += len;
+        chars += length;
+
+        if (writer != null) {
+            writer.write(encoded, 0, length);
+            return;
+        }
+
+        out.write(ascii, 0, length);
+    }
+
+    static int saturate(final long count) {
+        return (int) Math.min(Integer.MAX_VALUE, count);
+    }
+
+    protected void ensureOpen() throws IOException {
+        if (finished) {
+            throw new IOException("The stream has been finished.");
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.apicatalog.multibase;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.apicatalog.base.DecodeStatus;
+
+/**
+ * Counts calls, bytes and characters processed, failures by reason and,
+ * optionally, latency histograms per encoding.
+ * <p>
+ * Counters are backed by {@link LongAdder}s, striped across contending
+ * threads, so a single registry can be shared by all instrumented instances.
+ * Encodings are distinguished by their {@link Multibase#name()}.
+ * </p>
+ *
+ * <pre>
+ * MultibaseStatistics stats = new MultibaseStatistics(true);
+ * MultibaseDecoder decoder = MultibaseDecoder.getInstance().withMetrics(stats);
+ * ...
+ * stats.counters(Multibase.BASE_58_BTC).decodeLatency();
+ * </pre>
+ */
+public final class MultibaseStatistics implements MultibaseMetrics {
+
+    /**
+     * The number of latency histogram buckets. A bucket {@code i} counts
+     * durations of at least {@code 2^(i-1)} and less than {@code 2^i}
+     * nanoseconds.
+     */
+    public static final int LATENCY_BUCKETS = 64;
+
+    private final boolean timed;
+
+    private final Map<String, Counters> counters;
+
+    private final Counters unresolved;
+
+    /**
+     * Constructs a registry that does not measure durations.
+     */
+    public MultibaseStatistics() {
+        this(false);
+    }
+
+    /**
+     * Constructs a registry.
+     *
+     * @param timed {@code true} to measure durations and maintain latency
+     *              histograms
+     */
+    public MultibaseStatistics(final boolean timed) {
+        this.timed = timed;
+        this.counters = new ConcurrentHashMap<>();
+        this.unresolved = new Counters(false);
+    }
+
+    @Override
+    public boolean isTimed() {
+        return timed;
+    }
+
+    @Override
+    public void onEncode(final Multibase base, final int bytes, final int chars, final long nanos) {
+        counters(base).encoded(bytes, chars, nanos);
+    }
+
+    @Override
+    public void onDecode(final Multibase base, final int chars, final int bytes, final long nanos) {
+        counters(base).decoded(chars, bytes, nanos);
+    }
+
+    @Override
+    public void onFailure(final Multibase base, final int chars, final DecodeStatus reason) {
+        (base != null ? counters(base) : unresolved).failed(chars, reason);
+    }
+
+    /**
+     * Returns the counters of the given encoding, registering them if the
+     * encoding has not been used yet.
+     *
+     * @param base the encoding
+     * @return the live counters
+     * @throws IllegalArgumentException if {@code base} is {@code null}
+     */
+    public Counters counters(final Multibase base) {
+
+        if (base == null) {
+            throw new IllegalArgumentException("The base must not be null.");
+        }
+
+        // get first, putIfAbsent would lock the bin on every call
+        final Counters current = counters.get(base.name());
+
+        if (current != null) {
+            return current;
+        }
+
+        final Counters created = new Counters(timed);
+        final Counters previous = counters.putIfAbsent(base.name(), created);
+
+        return previous != null ? previous : created;
+    }
+
+    /**
+     * Returns the counters of all encodings used so far, by name.
+     *
+     * @return an unmodifiable live view of the counters
+     */
+    public Map<String, Counters> counters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * Returns the counters of values that cannot be attributed to an encoding,
+     * i.e. empty values and values with an unregistered prefix.
+     *
+     * @return the live counters, reporting failures only
+     */
+    public Counters unresolved() {
+        return unresolved;
+    }
+
+    /**
+     * Returns the latency histogram bucket of the given duration.
+     *
+     * @param nanos the duration in nanoseconds
+     * @return the bucket index
+     */
+    static int bucket(final long nanos) {
+        return 64 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * Counters of a single encoding. Values read while operations are in
+     * progress are not an atomic snapshot.
+     */
+    public static final class Counters {
+
+        private final LongAdder encodes;
+        private final LongAdder encodedBytes;
+        private final LongAdder encodedChars;
+
+        private final LongAdder decodes;
+        private final LongAdder decodedChars;
+        private final LongAdder decodedBytes;
+
+        /** Failures indexed by {@link DecodeStatus#ordinal()}. */
+        private final LongAdder[] failures;
+
+        private final LongAdder[] encodeLatency;
+        private final LongAdder[] decodeLatency;
+
+        Counters(final boolean timed) {
+            this.encodes = new LongAdder();
+            this.encodedBytes = new LongAdder();
+            this.encodedChars = new LongAdder();
+            this.decodes = new LongAdder();
+            this.decodedChars = new LongAdder();
+            this.decodedBytes = new LongAdder();
+            this.failures = adders(DecodeStatus.values().length);
+            this.encodeLatency = timed ? adders(LATENCY_BUCKETS) : null;
+            this.decodeLatency = timed ? adders(LATENCY_BUCKETS) : null;
+        }
+
+        void encoded(final int bytes, final int chars, final long nanos) {
+            encodes.increment();
+            encodedBytes.add(bytes);
+            encodedChars.add(chars);
+            if (encodeLatency != null && nanos >= 0) {
+                encodeLatency[bucket(nanos)].increment();
+            }
+        }
+
+        void decoded(final int chars, final int bytes, final long nanos) {
+            decodes.increment();
+            decodedChars.add(chars);
+            decodedBytes.add(bytes);
+            if (decodeLatency != null && nanos >= 0) {
+                decodeLatency[bucket(nanos)].increment();
+            }
+        }
+
+        void failed(final int chars, final DecodeStatus reason) {
+            decodes.increment();
+            decodedChars.add(chars);
+            failures[reason.ordinal()].increment();
+        }
+
+        /**
+         * Returns the number of encoding calls.
+         *
+         * @return the number of calls
+         */
+        public long encodes() {
+            return encodes.sum();
+        }
+
+        /**
+         * Returns the number of bytes encoded.
+         *
+         * @return the number of bytes in
+         */
+        public long encodedBytes() {
+            return encodedBytes.sum();
+        }
+
+        /**
+         * Returns the number of characters produced by encoding, including
+         * prefixes.
+         *
+         * @return the number of characters out
+         */
+        public long encodedChars() {
+            return encodedChars.sum();
+        }
+
+        /**
+         * Returns the number of decoding calls, including failed ones.
+         *
+         * @return the number of calls
+         */
+        public long decodes() {
+            return decodes.sum();
+        }
+
+        /**
+         * Returns the number of characters decoded, including prefixes and
+         * characters of failed calls.
+         *
+         * @return the number of characters in
+         */
+        public long decodedChars() {
+            return decodedChars.sum();
+        }
+
+        /**
+         * Returns the number of bytes produced by decoding.
+         *
+         * @return the number of bytes out
+         */
+        public long decodedBytes() {
+            return decodedBytes.sum();
+        }
+
+        /**
+         * Returns the number of decoding calls failed for the given reason.
+         *
+         * @param reason the reason
+         * @return the number of failures
+         */
+        public long failures(final DecodeStatus reason) {
+            return failures[reason.ordinal()].sum();
+        }
+
+        /**
+         * Returns the number of failed decoding calls.
+         *
+         * @return the number of failures
+         */
+        public long failures() {
+            long count = 0;
+            for (final LongAdder failure : failures) {
+                count += failure.sum();
+            }
+            return count;
+        }
+
+        /**
+         * Returns the encoding latency histogram of
+         * {@link MultibaseStatistics#LATENCY_BUCKETS} buckets.
+         *
+         * @return the counts per bucket, all zero if durations are not measured
+         */
+        public long[] encodeLatency() {
+            return sums(encodeLatency);
+        }
+
+        /**
+         * Returns the decoding latency histogram of
+         * {@link MultibaseStatistics#LATENCY_BUCKETS} buckets, failed calls
+         * excluded.
+         *
+         * @return the counts per bucket, all zero if durations are not measured
+         */
+        public long[] decodeLatency() {
+            return sums(decodeLatency);
+        }
+
+        @Override
+        public String toString() {
+            return "Counters [encodes=" + encodes() + ", decodes=" + decodes() + ", failures=" + failures() + "]";
+        }
+
+        private static LongAdder[] adders(final int length) {
+            final LongAdder[] adders = new LongAdder[length];
+            for (int index = 0; index < length; index++) {
+                adders[index] = new LongAdder();
+            }
+            return adders;
+        }
+
+        private static long[] sums(final LongAdder[] adders) {
+            final long[] sums = new long[LATENCY_BUCKETS];
+            if (adders != null) {
+                for (int index = 0; index < LATENCY_BUCKETS; index++) {
+                    sums[index] = adders[index].sum();
+                }
+            }
+            return sums;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.apicatalog.multibase;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A view of decoded bytes starting with a
+ * <a href="https://github.com/multiformats/multicodec">multicodec</a> header,
+ * an unsigned varint code followed by the payload.
+ * <p>
+ * The view references the array the value has been decoded into, so the
+ * payload is neither copied nor trimmed. The array may be longer than the
+ * decoded value, only the bytes in the range of {@link #offset()} and
+ * {@link #length()} belong to the payload.
+ * </p>
+ *
+ * <pre>
+ * MulticodecView key = decoder.decodeMulticodec("z6Mk...");
+ * if (key.code() == 0xed) {
+ *     verify(key.array(), key.offset(), key.length());
+ * }
+ * </pre>
+ *
+ * @see Multibase#decodeMulticodec(CharSequence)
+ * @see MultibaseDecoder#decodeMulticodec(CharSequence)
+ */
+public final class MulticodecView {
+
+    /** The maximal number of bytes of an unsigned varint, holding 63 bits. */
+    public static final int MAX_VARINT_LENGTH = 9;
+
+    private final byte[] array;
+    private final long code;
+    private final int offset;
+    private final int length;
+
+    private MulticodecView(final byte[] array, final long code, final int offset, final int length) {
+        this.array = array;
+        this.code = code;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Parses the multicodec header of the given range of decoded bytes.
+     *
+     * @throws IllegalArgumentException if the header is truncated, longer than
+     *                                  {@link #MAX_VARINT_LENGTH} bytes or not
+     *                                  minimally encoded
+     */
+    static MulticodecView of(final byte[] array, final int off, final int len) {
+
+        long code = 0;
+        int index = 0;
+
+        while (true) {
+
+            if (index == len) {
+                throw new IllegalArgumentException("Invalid multicodec header, the varint is truncated after " + index + " bytes.");
+            }
+
+            if (index == MAX_VARINT_LENGTH) {
+                throw new IllegalArgumentException("Invalid multicodec header, the varint exceeds " + MAX_VARINT_LENGTH + " bytes.");
+            }
+
+            final int octet = array[off + index] & 0xff;
+
+            code |= (long) (octet & 0x7f) << (7 * index);
+            index++;
+
+            if ((octet & 0x80) == 0) {
+                // a trailing zero group would allow more encodings of a code
+                if (octet == 0 && index > 1) {
+                    throw new IllegalArgumentException("Invalid multicodec header, the varint is not minimally encoded.");
+                }
+                return new MulticodecView(array, code, off + index, len - index);
+            }
+        }
+    }
+
+    /**
+     * Returns the array holding the decoded bytes, not a copy.
+     *
+     * @return the backing array
+     */
+    public byte[] array() {
+        return array;
+    }
+
+    /**
+     * Returns the multicodec code, e.g. {@code 0xed} for an Ed25519 public key.
+     *
+     * @return the code parsed from the header
+     */
+    public long code() {
+        return code;
+    }
+
+    /**
+     * Returns the index of the first payload byte in {@link #array()}.
+     *
+     * @return the payload offset
+     */
+    public int offset() {
+        return offset;
+    }
+
+    /**
+     * Returns the number of payload bytes.
+     *
+     * @return the payload length
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns a copy of the payload.
+     *
+     * @return a new array holding the payload bytes
+     */
+    public byte[] payload() {
+        return Arrays.copyOfRange(array, offset, offset + length);
+    }
+
+    /**
+     * Returns a read-only buffer of the payload, sharing {@link #array()}.
+     *
+     * @return a buffer positioned at the first payload byte
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(array, offset, length).slice().asReadOnlyBuffer();
+    }
+
+    @Override
+    public String toString() {
+        return "MulticodecView [code=0x" + Long.toHexString(code) + ", length=" + length + "]";
+    }
+}
@@ -19,6 +19,24 @@
  * <li>{@link com.apicatalog.multibase.MultibaseDecoder} – utility for resolving
  * a registered encoding from its prefix or name and decoding multibase-encoded
  * strings.</li>
+ * <li>{@link com.apicatalog.multibase.CachingMultibase} – an encoding keeping
+ * recently encoded strings in a bounded cache keyed on the encoded bytes.</li>
+ * <li>{@link com.apicatalog.multibase.CachingMultibaseDecoder} – a decoder
+ * keeping recently decoded values in a bounded cache.</li>
+ * <li>{@link com.apicatalog.multibase.BatchResult} – ordered results of bulk
+ * encoding and decoding, with per-item errors.</li>
+ * <li>{@link com.apicatalog.multibase.DecodeResult} – decoded bytes or the
+ * reason decoding has failed, without exceptions on malformed input.</li>
+ * <li>{@link com.apicatalog.multibase.MulticodecView} – a multicodec code
+ * and payload of a decoded value, referencing the decoded bytes.</li>
+ * <li>{@link com.apicatalog.multibase.MultibaseMetrics} – a listener of
+ * encoding and decoding operations, and
+ * {@link com.apicatalog.multibase.MultibaseStatistics}, per encoding counters
+ * and latency histograms.</li>
+ * <li>{@link com.apicatalog.multibase.MultibaseOutputStream} – incremental
+ * encoding of large payloads with block aligned encodings.</li>
+ * <li>{@link com.apicatalog.multibase.MultibaseInputStream} – incremental
+ * decoding of large payloads, resolving the encoding from the prefix.</li>
  * </ul>
  *
  * <p>
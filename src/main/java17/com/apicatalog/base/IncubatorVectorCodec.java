@@ -0,0 +1,373 @@
+package com.apicatalog.base;
+
+import static jdk.incubator.vector.VectorOperators.B2S;
+import static jdk.incubator.vector.VectorOperators.EQ;
+import static jdk.incubator.vector.VectorOperators.GE;
+import static jdk.incubator.vector.VectorOperators.GT;
+import static jdk.incubator.vector.VectorOperators.LSHL;
+import static jdk.incubator.vector.VectorOperators.LSHR;
+import static jdk.incubator.vector.VectorOperators.S2B;
+import static jdk.incubator.vector.VectorOperators.UNSIGNED_LT;
+
+import java.util.function.IntUnaryOperator;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link VectorCodec} built on {@code jdk.incubator.vector} with 256-bit
+ * vectors, loaded on JDK 17+ from the multi-release overlay.
+ */
+final class IncubatorVectorCodec implements VectorCodec {
+
+    private static final VectorSpecies<Byte> BYTES_128 = ByteVector.SPECIES_128;
+    private static final VectorSpecies<Byte> BYTES_256 = ByteVector.SPECIES_256;
+    private static final VectorSpecies<Short> SHORTS_256 = ShortVector.SPECIES_256;
+
+    /** Moves each 5 byte group into a little-endian 64-bit lane, big-endian. */
+    private static final VectorShuffle<Byte> GATHER_5 = shuffle(j -> (j & 7) <= 4 ? 5 * (j >>> 3) + 4 - (j & 7) : 0);
+
+    /** Moves 40-bit big-endian values out of little-endian 64-bit lanes. */
+    private static final VectorShuffle<Byte> SCATTER_5 = shuffle(j -> j < 20 ? 8 * (j / 5) + 4 - j % 5 : 0);
+
+    /** Moves each 3 byte group into a little-endian 32-bit lane, big-endian. */
+    private static final VectorShuffle<Byte> GATHER_3 = shuffle(j -> 3 * (j >>> 2) + Math.max(0, 2 - (j & 3)));
+
+    /** Moves 24-bit big-endian values out of little-endian 32-bit lanes. */
+    private static final VectorShuffle<Byte> SCATTER_3 = shuffle(j -> j < 24 ? 4 * (j / 3) + 2 - j % 3 : 0);
+
+    IncubatorVectorCodec() {
+        if (ByteVector.SPECIES_PREFERRED.vectorBitSize() < 256) {
+            throw new UnsupportedOperationException("256-bit vectors are not supported.");
+        }
+    }
+
+    @Override
+    public int encodeBase16(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final char[] alphabet) {
+
+        final short delta;
+
+        if (alphabet == Base16.ALPHABET_LOWER) {
+            delta = 'a' - '0' - 10;
+
+        } else if (alphabet == Base16.ALPHABET_UPPER) {
+            delta = 'A' - '0' - 10;
+
+        } else {
+            return 0;
+        }
+
+        int index = 0;
+
+        for (; index + 16 <= len; index += 16) {
+
+            // a byte per 16-bit lane, the low byte holding the first character
+            final ShortVector value = ((ShortVector) ByteVector.fromArray(BYTES_128, src, off + index)
+                    .convertShape(B2S, SHORTS_256, 0))
+                    .and((short) 0xff);
+
+            ShortVector high = value.lanewise(LSHR, 4);
+            ShortVector low = value.and((short) 0x0f);
+
+            high = high.add((short) '0').add(delta, high.compare(GT, (short) 9));
+            low = low.add((short) '0').add(delta, low.compare(GT, (short) 9));
+
+            high.or(low.lanewise(LSHL, 8))
+                    .reinterpretAsBytes()
+                    .intoArray(dst, dstOff + 2 * index);
+        }
+        return index;
+    }
+
+    @Override
+    public int decodeBase16(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) {
+
+        int index = 0;
+
+        for (; index + 32 <= len; index += 32) {
+
+            final ByteVector chars = ByteVector.fromArray(BYTES_256, src, off + index);
+
+            final ByteVector digits = chars.sub((byte) '0');
+            final VectorMask<Byte> isDigit = digits.compare(UNSIGNED_LT, (byte) 10);
+            final VectorMask<Byte> isUpper = chars.sub((byte) 'A').compare(UNSIGNED_LT, (byte) 6);
+            final VectorMask<Byte> isLower = chars.sub((byte) 'a').compare(UNSIGNED_LT, (byte) 6);
+
+            if (!isDigit.or(isUpper).or(isLower).allTrue()) {
+                break;
+            }
+
+            final ShortVector pairs = digits
+                    .blend(chars.sub((byte) ('A' - 10)), isUpper)
+                    .blend(chars.sub((byte) ('a' - 10)), isLower)
+                    .reinterpretAsShorts();
+
+            pairs.lanewise(LSHL, 4).or(pairs.lanewise(LSHR, 8)).and((short) 0xff)
+                    .convertShape(S2B, BYTES_128, 0)
+                    .reinterpretAsBytes()
+                    .intoArray(dst, dstOff + index / 2);
+        }
+        return index;
+    }
+
+    @Override
+    public int encodeBase32(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final char[] alphabet) {
+
+        // code + first, or code + first + delta for codes starting at split
+        final byte first;
+        final byte split;
+        final byte delta;
+
+        if (alphabet == Base32.ALPHABET_LOWER) {
+            first = 'a';
+            split = 26;
+            delta = '2' - 26 - 'a';
+
+        } else if (alphabet == Base32.ALPHABET_UPPER) {
+            first = 'A';
+            split = 26;
+            delta = '2' - 26 - 'A';
+
+        } else if (alphabet == Base32.ALPHABET_HEX_LOWER) {
+            first = '0';
+            split = 10;
+            delta = 'a' - 10 - '0';
+
+        } else if (alphabet == Base32.ALPHABET_HEX_UPPER) {
+            first = '0';
+            split = 10;
+            delta = 'A' - 10 - '0';
+
+        } else {
+            return 0;
+        }
+
+        int index = 0;
+        int encoded = dstOff;
+
+        // 20 bytes into 32 characters, reading 32 bytes
+        for (; index + 32 <= len; index += 20, encoded += 32) {
+
+            final LongVector block = ByteVector.fromArray(BYTES_256, src, off + index)
+                    .rearrange(GATHER_5)
+                    .reinterpretAsLongs()
+                    .and(0xff_ffff_ffffL);
+
+            // a 5-bit code per byte, the first code in the low byte
+            final ByteVector codes = block.lanewise(LSHR, 35)
+                    .or(block.lanewise(LSHR, 22).and(0x1fL << 8))
+                    .or(block.lanewise(LSHR, 9).and(0x1fL << 16))
+                    .or(block.lanewise(LSHL, 4).and(0x1fL << 24))
+                    .or(block.lanewise(LSHL, 17).and(0x1fL << 32))
+                    .or(block.lanewise(LSHL, 30).and(0x1fL << 40))
+                    .or(block.lanewise(LSHL, 43).and(0x1fL << 48))
+                    .or(block.lanewise(LSHL, 56).and(0x1fL << 56))
+                    .reinterpretAsBytes();
+
+            codes.add(first)
+                    .add(delta, codes.compare(GE, split))
+                    .intoArray(dst, encoded);
+        }
+        return index;
+    }
+
+    @Override
+    public int decodeBase32(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final byte[] codes) {
+
+        if (codes != Base32.CODES && codes != Base32.CODES_HEX) {
+            return 0;
+        }
+
+        final boolean hex = codes == Base32.CODES_HEX;
+
+        // 32 characters into 20 bytes, writing 32 bytes, so the last 12 bytes
+        // written must still lie within the bytes the range decodes to
+        final int end = dstOff + len / 8 * 5;
+
+        int index = 0;
+        int decoded = dstOff;
+
+        for (; index + 32 <= len && decoded + 32 <= end; index += 32, decoded += 20) {
+
+            final ByteVector chars = ByteVector.fromArray(BYTES_256, src, off + index);
+
+            final ByteVector value;
+
+            if (hex) {
+                final ByteVector digits = chars.sub((byte) '0');
+                final VectorMask<Byte> isDigit = digits.compare(UNSIGNED_LT, (byte) 10);
+                final VectorMask<Byte> isUpper = chars.sub((byte) 'A').compare(UNSIGNED_LT, (byte) 22);
+                final VectorMask<Byte> isLower = chars.sub((byte) 'a').compare(UNSIGNED_LT, (byte) 22);
+
+                if (!isDigit.or(isUpper).or(isLower).allTrue()) {
+                    break;
+                }
+
+                value = digits
+                        .blend(chars.sub((byte) ('A' - 10)), isUpper)
+                        .blend(chars.sub((byte) ('a' - 10)), isLower);
+
+            } else {
+                final ByteVector upper = chars.sub((byte) 'A');
+                final ByteVector lower = chars.sub((byte) 'a');
+                final VectorMask<Byte> isUpper = upper.compare(UNSIGNED_LT, (byte) 26);
+                final VectorMask<Byte> isLower = lower.compare(UNSIGNED_LT, (byte) 26);
+                final VectorMask<Byte> isDigit = chars.sub((byte) '2').compare(UNSIGNED_LT, (byte) 6);
+
+                if (!isDigit.or(isUpper).or(isLower).allTrue()) {
+                    break;
+                }
+
+                value = chars.sub((byte) ('2' - 26))
+                        .blend(upper, isUpper)
+                        .blend(lower, isLower);
+            }
+
+            // merge pairs of codes into 10, 20 and then 40 bits
+            final ShortVector pairs = value.reinterpretAsShorts();
+
+            final IntVector quads = pairs.lanewise(LSHL, 5).and((short) 0x3e0)
+                    .or(pairs.lanewise(LSHR, 8))
+                    .reinterpretAsInts();
+
+            final LongVector octets = quads.lanewise(LSHL, 10).and(0xffc00)
+                    .or(quads.lanewise(LSHR, 16))
+                    .reinterpretAsLongs();
+
+            octets.lanewise(LSHL, 20).and(0xff_fff0_0000L)
+                    .or(octets.lanewise(LSHR, 32))
+                    .reinterpretAsBytes()
+                    .rearrange(SCATTER_5)
+                    .intoArray(dst, decoded);
+        }
+        return index;
+    }
+
+    @Override
+    public int encodeBase64(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final char[] alphabet) {
+
+        // the characters of codes 62 and 63
+        final byte c62;
+        final byte c63;
+
+        if (alphabet == Base64.ALPHABET) {
+            c62 = '+';
+            c63 = '/';
+
+        } else if (alphabet == Base64.ALPHABET_URL) {
+            c62 = '-';
+            c63 = '_';
+
+        } else {
+            return 0;
+        }
+
+        int index = 0;
+        int encoded = dstOff;
+
+        // 24 bytes into 32 characters, reading 32 bytes
+        for (; index + 32 <= len; index += 24, encoded += 32) {
+
+            final IntVector block = ByteVector.fromArray(BYTES_256, src, off + index)
+                    .rearrange(GATHER_3)
+                    .reinterpretAsInts()
+                    .and(0xff_ffff);
+
+            // a 6-bit code per byte, the first code in the low byte
+            final ByteVector codes = block.lanewise(LSHR, 18)
+                    .or(block.lanewise(LSHR, 4).and(0x3f << 8))
+                    .or(block.lanewise(LSHL, 10).and(0x3f << 16))
+                    .or(block.lanewise(LSHL, 24).and(0x3f << 24))
+                    .reinterpretAsBytes();
+
+            codes.add((byte) 'A')
+                    .add((byte) ('a' - 'A' - 26), codes.compare(GE, (byte) 26))
+                    .add((byte) ('0' - 'a' - 26), codes.compare(GE, (byte) 52))
+                    .blend(c62, codes.compare(EQ, (byte) 62))
+                    .blend(c63, codes.compare(EQ, (byte) 63))
+                    .intoArray(dst, encoded);
+        }
+        return index;
+    }
+
+    @Override
+    public int decodeBase64(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final byte[] codes) {
+
+        // the accepted characters of codes 62 and 63
+        final byte c62;
+        final byte c63;
+        final byte c62url;
+        final byte c63url;
+
+        if (codes == Base64.CODES) {
+            c62 = c62url = '+';
+            c63 = c63url = '/';
+
+        } else if (codes == Base64.CODES_URL) {
+            c62 = c62url = '-';
+            c63 = c63url = '_';
+
+        } else if (codes == Base64.CODES_LENIENT) {
+            c62 = '+';
+            c63 = '/';
+            c62url = '-';
+            c63url = '_';
+
+        } else {
+            return 0;
+        }
+
+        // 32 characters into 24 bytes, writing 32 bytes, so the last 8 bytes
+        // written must still lie within the bytes the range decodes to
+        final int end = dstOff + len / 4 * 3;
+
+        int index = 0;
+        int decoded = dstOff;
+
+        for (; index + 32 <= len && decoded + 32 <= end; index += 32, decoded += 24) {
+
+            final ByteVector chars = ByteVector.fromArray(BYTES_256, src, off + index);
+
+            final VectorMask<Byte> isUpper = chars.sub((byte) 'A').compare(UNSIGNED_LT, (byte) 26);
+            final VectorMask<Byte> isLower = chars.sub((byte) 'a').compare(UNSIGNED_LT, (byte) 26);
+            final VectorMask<Byte> isDigit = chars.sub((byte) '0').compare(UNSIGNED_LT, (byte) 10);
+            final VectorMask<Byte> is62 = chars.compare(EQ, c62).or(chars.compare(EQ, c62url));
+            final VectorMask<Byte> is63 = chars.compare(EQ, c63).or(chars.compare(EQ, c63url));
+
+            if (!isUpper.or(isLower).or(isDigit).or(is62).or(is63).allTrue()) {
+                break;
+            }
+
+            final IntVector quads = chars.add((byte) (52 - '0'))
+                    .blend(chars.sub((byte) 'A'), isUpper)
+                    .blend(chars.sub((byte) ('a' - 26)), isLower)
+                    .blend((byte) 62, is62)
+                    .blend((byte) 63, is63)
+                    .reinterpretAsInts();
+
+            // 4 codes, the first in the low byte, into a 24-bit value
+            final IntVector block = quads.and(0x3f).lanewise(LSHL, 18)
+                    .or(quads.and(0x3f << 8).lanewise(LSHL, 4))
+                    .or(quads.and(0x3f << 16).lanewise(LSHR, 10))
+                    .or(quads.lanewise(LSHR, 24));
+
+            block.reinterpretAsBytes()
+                    .rearrange(SCATTER_3)
+                    .intoArray(dst, decoded);
+        }
+        return index;
+    }
+
+    private static VectorShuffle<Byte> shuffle(final IntUnaryOperator index) {
+        final int[] indexes = new int[BYTES_256.length()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = index.applyAsInt(i);
+        }
+        return VectorShuffle.fromArray(BYTES_256, indexes, 0);
+    }
+}
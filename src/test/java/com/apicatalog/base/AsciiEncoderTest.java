@@ -0,0 +1,120 @@
+package com.apicatalog.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Compares the character array encodings, widened in chunks, with the
+ * US-ASCII ones.
+ */
+class AsciiEncoderTest {
+
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("testLengths")
+    void testBase2(int length) {
+        final byte[] data = VectorCodecTest.random(length);
+
+        final char[] chars = new char[length * 8 + 2];
+        final byte[] ascii = new byte[length * 8 + 2];
+
+        assertEquals(length * 8, Base2.encode(data, 0, length, chars, 1));
+        assertEquals(length * 8, Base2.encode(data, 0, length, ascii, 1));
+        assertEquals(Base2.encode(data), new String(chars, 1, length * 8));
+        assertSame(ascii, chars, length * 8);
+    }
+
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("testLengths")
+    void testBase16(int length) {
+        final byte[] data = VectorCodecTest.random(length);
+
+        for (final char[] alphabet : new char[][] { Base16.ALPHABET_LOWER, Base16.ALPHABET_UPPER }) {
+
+            final char[] chars = new char[length * 2 + 2];
+            final byte[] ascii = new byte[length * 2 + 2];
+
+            assertEquals(length * 2, Base16.encode(data, 0, length, chars, 1, alphabet));
+            assertEquals(length * 2, Base16.encode(data, 0, length, ascii, 1, alphabet));
+            assertEquals(Base16.encode(data, alphabet), new String(chars, 1, length * 2));
+            assertSame(ascii, chars, length * 2);
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("testLengths")
+    void testBase32(int length) {
+        final byte[] data = VectorCodecTest.random(length);
+
+        for (final boolean padding : new boolean[] { false, true }) {
+            for (final char[] alphabet : new char[][] { Base32.ALPHABET_LOWER, Base32.ALPHABET_HEX_UPPER }) {
+
+                final int encoded = Base32.getEncodedLength(length, padding);
+
+                final char[] chars = new char[encoded + 2];
+                final byte[] ascii = new byte[encoded + 2];
+
+                assertEquals(encoded, Base32.encode(data, 0, length, chars, 1, alphabet, padding));
+                assertEquals(encoded, Base32.encode(data, 0, length, ascii, 1, alphabet, padding));
+                assertEquals(Base32.encode(data, alphabet, padding), new String(chars, 1, encoded));
+                assertSame(ascii, chars, encoded);
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("testLengths")
+    void testBase64(int length) {
+        final byte[] data = VectorCodecTest.random(length);
+
+        for (final boolean padding : new boolean[] { false, true }) {
+            for (final char[] alphabet : new char[][] { Base64.ALPHABET, Base64.ALPHABET_URL }) {
+
+                final int encoded = Base64.getEncodedLength(length, padding);
+
+                final char[] chars = new char[encoded + 2];
+                final byte[] ascii = new byte[encoded + 2];
+
+                assertEquals(encoded, Base64.encode(data, 0, length, chars, 1, alphabet, padding));
+                assertEquals(encoded, Base64.encode(data, 0, length, ascii, 1, alphabet, padding));
+                assertEquals(Base64.encode(data, alphabet, padding), new String(chars, 1, encoded));
+                assertSame(ascii, chars, encoded);
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("testLengths")
+    void testBase58(int length) {
+        final byte[] data = VectorCodecTest.random(length);
+
+        final String expected = Base58.encode(data);
+
+        final char[] chars = new char[expected.length() + 2];
+        final byte[] ascii = new byte[expected.length() + 2];
+
+        assertEquals(expected.length(), Base58.encode(data, 0, length, chars, 1));
+        assertEquals(expected.length(), Base58.encode(data, 0, length, ascii, 1));
+        assertEquals(expected, new String(chars, 1, expected.length()));
+        assertSame(ascii, chars, expected.length());
+    }
+
+    static void assertSame(byte[] ascii, char[] chars, int length) {
+        assertEquals(new String(ascii, 1, length, StandardCharsets.US_ASCII), new String(chars, 1, length));
+        assertEquals(0, chars[0]);
+        assertEquals(0, chars[length + 1]);
+    }
+
+    static Stream<Arguments> testLengths() {
+        return IntStream.concat(
+                IntStream.range(0, 20),
+                IntStream.of(127, 128, 129, 511, 512, 513, 639, 640, 641, 767, 768, 769, 1000, 4096 + 3))
+                .mapToObj(Arguments::of);
+    }
+}
@@ -2,12 +2,16 @@ package com.apicatalog.base;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Arrays;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 public class Base16Test {
 
@@ -25,6 +29,51 @@ public class Base16Test {
         assertArrayEquals(expected, output);
     }
 
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataU")
+    void testEncodeRange(String expected, byte[] data) {
+        final byte[] src = new byte[data.length + 2];
+        System.arraycopy(data, 0, src, 1, data.length);
+
+        final char[] dst = new char[expected.length() + 3];
+
+        assertEquals(expected.length(), Base16.encode(src, 1, data.length, dst, 2, Base16.ALPHABET_UPPER));
+        assertEquals(expected, new String(dst, 2, expected.length()));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataU")
+    void testDecodeRange(String encoded, byte[] expected) {
+        final byte[] dst = new byte[expected.length + 3];
+
+        assertEquals(expected.length, Base16.decode("x" + encoded + "x", 1, encoded.length(), dst, 2));
+        assertArrayEquals(expected, Arrays.copyOfRange(dst, 2, expected.length + 2));
+    }
+
+    @Test
+    void testAllBytes() {
+        final byte[] data = new byte[256 + 3];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        final StringBuilder lower = new StringBuilder();
+        for (final byte b : data) {
+            lower.append(String.format("%02x", b & 0xff));
+        }
+
+        assertEquals(lower.toString(), Base16.encode(data, Base16.ALPHABET_LOWER));
+        assertEquals(lower.toString().toUpperCase(), Base16.encode(data, Base16.ALPHABET_UPPER));
+        assertArrayEquals(data, Base16.decode(lower.toString()));
+        assertArrayEquals(data, Base16.decode(lower.toString().toUpperCase()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0g", "g0", "666F6F62617x", "x66F6F6261", "666F6F62\u00e961", "666F6F62\u0166", "0", "666F6F626" })
+    void testDecodeInvalid(String encoded) {
+        assertThrows(IllegalArgumentException.class, () -> Base16.decode(encoded));
+    }
+
     static Stream<Arguments> testDataU() {
         return Stream.of(
                 Arguments.of("", "".getBytes()),
@@ -2,12 +2,17 @@ package com.apicatalog.base;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class Base2Test {
 
@@ -25,6 +30,66 @@ class Base2Test {
         assertArrayEquals(expected, output);
     }
 
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testEncodeRange(String expected, byte[] data) {
+        final byte[] src = new byte[data.length + 2];
+        System.arraycopy(data, 0, src, 1, data.length);
+
+        final char[] dst = new char[expected.length() + 3];
+
+        assertEquals(expected.length(), Base2.encode(src, 1, data.length, dst, 2));
+        assertEquals(expected, new String(dst, 2, expected.length()));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testDecodeRange(String encoded, byte[] expected) {
+        final byte[] dst = new byte[expected.length + 3];
+
+        assertEquals(expected.length, Base2.decode("x" + encoded + "x", 1, encoded.length(), dst, 2));
+        assertArrayEquals(expected, Arrays.copyOfRange(dst, 2, expected.length + 2));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testAsciiRange(String encoded, byte[] data) {
+        final byte[] ascii = new byte[encoded.length() + 3];
+
+        assertEquals(encoded.length(), Base2.encode(data, 0, data.length, ascii, 2));
+        assertEquals(encoded, new String(ascii, 2, encoded.length(), StandardCharsets.US_ASCII));
+
+        final byte[] dst = new byte[data.length + 1];
+
+        assertEquals(data.length, Base2.decode(ascii, 2, encoded.length(), dst, 1));
+        assertArrayEquals(data, Arrays.copyOfRange(dst, 1, data.length + 1));
+    }
+
+    @Test
+    void testAllBytes() {
+        final byte[] data = new byte[256];
+        final StringBuilder expected = new StringBuilder();
+
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+            final String bits = Integer.toBinaryString(i);
+            for (int pad = bits.length(); pad < 8; pad++) {
+                expected.append('0');
+            }
+            expected.append(bits);
+        }
+
+        assertEquals(expected.toString(), Base2.encode(data));
+        assertArrayEquals(data, Base2.decode(expected.toString()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0000000", "00000002", "0000000/", "1111111a", "2000000000000000", "0000000\u0130", "\u3030000000000000", "0000000\u00b1" })
+    void testDecodeInvalid(String encoded) {
+        assertThrows(IllegalArgumentException.class, () -> Base2.decode(encoded));
+        assertThrows(IllegalArgumentException.class, () -> Base2.decode(encoded.getBytes(StandardCharsets.ISO_8859_1), 0, encoded.length(), new byte[2], 0));
+    }
+
     static Stream<Arguments> testData() {
         return Stream.of(
                 Arguments.of("", "".getBytes()),
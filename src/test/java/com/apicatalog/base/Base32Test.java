@@ -2,12 +2,16 @@ package com.apicatalog.base;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Arrays;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 public class Base32Test {
 
@@ -53,6 +57,103 @@ public class Base32Test {
         assertArrayEquals(expected, output);
     }
 
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataUPad")
+    void testEncodeRangeUpperPadding(String expected, byte[] data) {
+        final byte[] src = new byte[data.length + 2];
+        System.arraycopy(data, 0, src, 1, data.length);
+
+        final char[] dst = new char[expected.length() + 3];
+
+        assertEquals(expected.length(), Base32.encode(src, 1, data.length, dst, 2, Base32.ALPHABET_UPPER, true));
+        assertEquals(expected, new String(dst, 2, expected.length()));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataU")
+    void testDecodeRangeUpper(String encoded, byte[] expected) {
+        final byte[] dst = new byte[expected.length + 3];
+
+        assertEquals(expected.length, Base32.decode("x" + encoded + "x", 1, encoded.length(), dst, 2, Base32.CODES, false));
+        assertArrayEquals(expected, Arrays.copyOfRange(dst, 2, expected.length + 2));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataUPad")
+    void testDecodeTableUpperPadding(String encoded, byte[] expected) {
+        assertArrayEquals(expected, Base32.decode(encoded, Base32.CODES, true));
+        assertArrayEquals(expected, Base32.decode(encoded.toLowerCase(), Base32.CODES, true));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataU")
+    void testDecodeTableUpper(String encoded, byte[] expected) {
+        assertArrayEquals(expected, Base32.decode(encoded, Base32.CODES, false));
+        assertArrayEquals(expected, Base32.decode(encoded.toLowerCase(), Base32.CODES, false));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataHexUPad")
+    void testDecodeTableHexUpperPadding(String encoded, byte[] expected) {
+        assertArrayEquals(expected, Base32.decode(encoded, Base32.CODES_HEX, true));
+        assertArrayEquals(expected, Base32.decode(encoded.toLowerCase(), Base32.CODES_HEX, true));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @ValueSource(strings = { "A", "AAA", "AAAAAA", "AB", "MZXW6YTBOJ", "MZXW6YT1", "MZXW6YT=", "MZXW6YTĀ", "MZ=W6YTB" })
+    void testDecodeTableInvalid(String encoded) {
+        assertThrows(IllegalArgumentException.class, () -> Base32.decode(encoded, Base32.CODES, false));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @ValueSource(strings = { "MY=====", "M=======", "MZX=====", "MZXW6Y==", "MZXW6YQ==" })
+    void testDecodeTableInvalidPadding(String encoded) {
+        assertThrows(IllegalArgumentException.class, () -> Base32.decode(encoded, Base32.CODES, true));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataU")
+    void testValidateUpper(String encoded, byte[] expected) {
+        assertEquals(DecodeStatus.VALID, Base32.validate(encoded, 0, encoded.length(), Base32.CODES, false));
+        assertEquals(DecodeStatus.VALID, Base32.validate(encoded.toLowerCase(), 0, encoded.length(), Base32.CODES, false));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataUPad")
+    void testValidateUpperPadding(String encoded, byte[] expected) {
+        assertEquals(DecodeStatus.VALID, Base32.validate(encoded, 0, encoded.length(), Base32.CODES, true));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @CsvSource({
+            "A, INVALID_LENGTH",
+            "AAA, INVALID_LENGTH",
+            "AAAAAA, INVALID_LENGTH",
+            "AB, LEFTOVER_BITS",
+            "MZXW6YTBOJ, LEFTOVER_BITS",
+            "MZXW6YT1, INVALID_CHARACTER",
+            "MZXW6YT=, INVALID_CHARACTER",
+            "MZXW6YTĀ, INVALID_CHARACTER",
+            "MZ=W6YTB, INVALID_CHARACTER",
+    })
+    void testValidateInvalid(String encoded, DecodeStatus expected) {
+        assertEquals(expected, Base32.validate(encoded, 0, encoded.length(), Base32.CODES, false));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @CsvSource({
+            "MY=====, INVALID_LENGTH",
+            "M=======, INVALID_PADDING",
+            "MZX=====, INVALID_PADDING",
+            "MZXW6Y==, INVALID_PADDING",
+            "MZXW6YQ==, INVALID_LENGTH",
+            "MZ======, LEFTOVER_BITS",
+            "M1======, INVALID_CHARACTER",
+    })
+    void testValidateInvalidPadding(String encoded, DecodeStatus expected) {
+        assertEquals(expected, Base32.validate(encoded, 0, encoded.length(), Base32.CODES, true));
+    }
+
     static Stream<Arguments> testDataUPad() {
         return Stream.of(
                 Arguments.of("", "".getBytes()),
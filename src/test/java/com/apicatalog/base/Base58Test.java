@@ -2,15 +2,23 @@ package com.apicatalog.base;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 public class Base58Test {
 
+    static final BigInteger RADIX = BigInteger.valueOf(58);
+
     @ParameterizedTest(name = "{index}: {0}")
     @MethodSource("testData")
     void testEncode(String expected, byte[] data) {
@@ -25,10 +33,87 @@ public class Base58Test {
         assertArrayEquals(expected, output);
     }
 
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("lengths")
+    void testEncodeDecode(int length) {
+        final byte[] data = random(length);
+
+        final String encoded = Base58.encode(data);
+
+        assertEquals(reference(data), encoded);
+        assertArrayEquals(data, Base58.decode(encoded));
+    }
+
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("lengths")
+    void testEncodeDecodeRange(int length) {
+        final byte[] data = random(length);
+        final String expected = reference(data);
+
+        final byte[] src = new byte[length + 2];
+        System.arraycopy(data, 0, src, 1, length);
+
+        final char[] encoded = new char[expected.length() + 3];
+
+        assertEquals(expected.length(), Base58.encode(src, 1, length, encoded, 2));
+        assertEquals(expected, new String(encoded, 2, expected.length()));
+
+        final byte[] decoded = new byte[length + 3];
+
+        assertEquals(length, Base58.decode("x" + expected + "x", 1, expected.length(), decoded, 2));
+        assertArrayEquals(data, Arrays.copyOfRange(decoded, 2, length + 2));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @ValueSource(strings = { "0", "O", "I", "l", "+", "1110", "é" })
+    void testInvalidCharacter(String encoded) {
+        assertThrows(IllegalArgumentException.class, () -> Base58.decode(encoded));
+    }
+
     static Stream<Arguments> testData() {
         return Stream.of(
+                Arguments.of("1", new byte[] { 0 }),
+                Arguments.of("1112", new byte[] { 0, 0, 0, 1 }),
+                Arguments.of("5Q", new byte[] { (byte) 255 }),
                 Arguments.of("2NEpo7TZRRrLZSi2U", "Hello World!".getBytes()),
                 Arguments.of("USm3fpXnKG5EUBx2ndxBDMPVciP5hGey2Jh4NDv6gmeo1LkMeiKrLJUUBk6Z", "The quick brown fox jumps over the lazy dog.".getBytes()),
                 Arguments.of("UXE7GvtEk8XTXs1GF8HSGbVA9FCX9SEBPe", "Decentralize everything!!".getBytes()));
     }
+
+    static IntStream lengths() {
+        return IntStream.concat(
+                IntStream.rangeClosed(0, 70),
+                // word-at-a-time and divide-and-conquer boundaries
+                IntStream.of(4095, 4096, 4097, 4100, 5000, 9999));
+    }
+
+    static byte[] random(int length) {
+        final byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        // leading zeros
+        for (int i = 0; i < Math.min(length % 4, length); i++) {
+            data[i] = 0;
+        }
+        return data;
+    }
+
+    /**
+     * Straightforward conversion used as a reference.
+     */
+    static String reference(byte[] data) {
+        final StringBuilder encoded = new StringBuilder();
+
+        BigInteger number = new BigInteger(1, data);
+
+        while (number.signum() > 0) {
+            final BigInteger[] qr = number.divideAndRemainder(RADIX);
+            encoded.append(Base58.ALPHABET[qr[1].intValue()]);
+            number = qr[0];
+        }
+
+        for (int i = 0; i < data.length && data[i] == 0; i++) {
+            encoded.append(Base58.ALPHABET[0]);
+        }
+        return encoded.reverse().toString();
+    }
 }
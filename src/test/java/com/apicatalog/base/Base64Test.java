@@ -0,0 +1,194 @@
+package com.apicatalog.base;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class Base64Test {
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataPad")
+    void testEncodePadding(String expected, byte[] data) {
+        assertEquals(expected, Base64.encode(data, Base64.ALPHABET, true));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataPad")
+    void testEncode(String expected, byte[] data) {
+        assertEquals(expected.replace("=", ""), Base64.encode(data, Base64.ALPHABET, false));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataPad")
+    void testDecode(String encoded, byte[] expected) {
+        assertArrayEquals(expected, Base64.decode(encoded, Base64.CODES));
+        assertArrayEquals(expected, Base64.decode(encoded.replace("=", ""), Base64.CODES));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataPad")
+    void testEncodeRange(String expected, byte[] data) {
+        final byte[] src = new byte[data.length + 2];
+        System.arraycopy(data, 0, src, 1, data.length);
+
+        final char[] dst = new char[expected.length() + 3];
+
+        assertEquals(expected.length(), Base64.encode(src, 1, data.length, dst, 2, Base64.ALPHABET, true));
+        assertEquals(expected, new String(dst, 2, expected.length()));
+
+        final byte[] ascii = new byte[expected.length() + 3];
+
+        assertEquals(expected.length(), Base64.encode(src, 1, data.length, ascii, 2, Base64.ALPHABET, true));
+        assertEquals(expected, new String(ascii, 2, expected.length(), StandardCharsets.US_ASCII));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataPad")
+    void testDecodeRange(String encoded, byte[] expected) {
+        final byte[] dst = new byte[expected.length + 3];
+
+        assertEquals(expected.length, Base64.decode("x" + encoded + "x", 1, encoded.length(), dst, 2, Base64.CODES));
+        assertArrayEquals(expected, Arrays.copyOfRange(dst, 2, expected.length + 2));
+
+        final byte[] ascii = ("x" + encoded + "x").getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(expected.length, Base64.decode(ascii, 1, encoded.length(), dst, 2, Base64.CODES));
+        assertArrayEquals(expected, Arrays.copyOfRange(dst, 2, expected.length + 2));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testDataPad")
+    void testValidate(String encoded, byte[] expected) {
+        assertEquals(DecodeStatus.VALID, Base64.validate(encoded, 0, encoded.length(), Base64.CODES));
+        assertEquals(expected.length, Base64.getDecodedLength(encoded, 0, encoded.length()));
+    }
+
+    @Test
+    void testRandom() {
+        final Random random = new Random(64);
+
+        for (int length = 0; length < 200; length++) {
+
+            final byte[] data = new byte[length];
+            random.nextBytes(data);
+
+            final String std = java.util.Base64.getEncoder().encodeToString(data);
+            final String url = java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(data);
+
+            assertEquals(std, Base64.encode(data, Base64.ALPHABET, true));
+            assertEquals(url, Base64.encode(data, Base64.ALPHABET_URL, false));
+
+            assertArrayEquals(data, Base64.decode(std, Base64.CODES));
+            assertArrayEquals(data, Base64.decode(url, Base64.CODES_URL));
+            assertArrayEquals(data, Base64.decode(std, Base64.CODES_LENIENT));
+            assertArrayEquals(data, Base64.decode(url, Base64.CODES_LENIENT));
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @ValueSource(ints = { 128, 129, 130, 1000, 65536 })
+    void testIntrinsic(int length) {
+        final byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+
+        for (final boolean padding : new boolean[] { true, false }) {
+
+            final String encoded = Base64.encode(data, Base64.ALPHABET_URL, padding);
+
+            // a range is never delegated to java.util.Base64
+            final byte[] range = new byte[encoded.length() + 1];
+            assertEquals(encoded.length(), Base64.encode(data, 0, length, range, 1, Base64.ALPHABET_URL, padding));
+            assertEquals(encoded, new String(range, 1, encoded.length(), StandardCharsets.US_ASCII));
+
+            final byte[] ascii = new byte[encoded.length()];
+            assertEquals(encoded.length(), Base64.encode(data, 0, length, ascii, 0, Base64.ALPHABET_URL, padding));
+            assertEquals(encoded, new String(ascii, StandardCharsets.US_ASCII));
+
+            assertArrayEquals(data, Base64.decode(encoded, Base64.CODES_URL));
+
+            final byte[] decoded = new byte[length];
+            assertEquals(length, Base64.decode(ascii, 0, ascii.length, decoded, 0, Base64.CODES_URL));
+            assertArrayEquals(data, decoded);
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @ValueSource(strings = { "Zh", "Zm9", "Zm9v-_", "Zm9vY\u0100==", "Zm9v*YmFy" })
+    void testIntrinsicInvalid(String suffix) {
+        final String encoded = Base64.encode(new byte[192], Base64.ALPHABET, false) + suffix;
+
+        // a range is never delegated to java.util.Base64
+        final String expected = assertThrows(IllegalArgumentException.class,
+                () -> Base64.decode(" " + encoded, 1, encoded.length(), new byte[encoded.length()], 0, Base64.CODES)).getMessage();
+
+        assertEquals(expected, assertThrows(IllegalArgumentException.class, () -> Base64.decode(encoded, Base64.CODES)).getMessage());
+
+        final byte[] ascii = encoded.getBytes(StandardCharsets.ISO_8859_1);
+
+        assertThrows(IllegalArgumentException.class, () -> Base64.decode(ascii, 0, ascii.length, new byte[ascii.length], 0, Base64.CODES));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @CsvSource({
+            "Zm9v+/+/, Zm9v-_+/",
+            "+/+/, -_-/",
+    })
+    void testDecodeLenient(String standard, String mixed) {
+        assertArrayEquals(Base64.decode(standard, Base64.CODES), Base64.decode(mixed, Base64.CODES_LENIENT));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @CsvSource({
+            "Z, INVALID_LENGTH",
+            "Zm9vY, INVALID_LENGTH",
+            "Zh, LEFTOVER_BITS",
+            "Zm9, LEFTOVER_BITS",
+            "Zm9v-_, INVALID_CHARACTER",
+            "Zm=v, INVALID_CHARACTER",
+            "Zm9vYĀ==, INVALID_CHARACTER",
+            "Zm9vYg=, INVALID_PADDING",
+            "Zm9v====, INVALID_PADDING",
+            "Zg===, INVALID_PADDING",
+            "Z===, INVALID_PADDING",
+    })
+    void testDecodeInvalid(String encoded, DecodeStatus expected) {
+        assertEquals(expected, Base64.validate(encoded, 0, encoded.length(), Base64.CODES));
+        assertThrows(IllegalArgumentException.class, () -> Base64.decode(encoded, Base64.CODES));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @ValueSource(strings = { "Zm9v+/", "Zm9v\r\nYmFy" })
+    void testDecodeInvalidUrl(String encoded) {
+        assertThrows(IllegalArgumentException.class, () -> Base64.decode(encoded, Base64.CODES_URL));
+    }
+
+    @Test
+    void testDecodeTooSmall() {
+        assertThrows(IllegalArgumentException.class, () -> Base64.decode("Zm9vYg", 0, 6, new byte[3], 0, Base64.CODES));
+    }
+
+    static Stream<Arguments> testDataPad() {
+        // RFC 4648, section 10
+        return Stream.of(
+                Arguments.of("", "".getBytes()),
+                Arguments.of("Zg==", "f".getBytes()),
+                Arguments.of("Zm8=", "fo".getBytes()),
+                Arguments.of("Zm9v", "foo".getBytes()),
+                Arguments.of("Zm9vYg==", "foob".getBytes()),
+                Arguments.of("Zm9vYmE=", "fooba".getBytes()),
+                Arguments.of("Zm9vYmFy", "foobar".getBytes()),
+                Arguments.of("+/+/", new byte[] { (byte) 0xfb, (byte) 0xff, (byte) 0xbf }));
+    }
+}
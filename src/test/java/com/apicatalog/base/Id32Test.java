@@ -20,6 +20,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.UUID;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
@@ -105,6 +110,116 @@ public class Id32Test {
         assertEquals(10000000000l, Id32.decodeLong("jkyz3yy"));
     }
 
+    @Test
+    public void testOverflow() {
+        final String max = Id32.encodeLong(Long.MAX_VALUE);
+
+        assertEquals("8999999999999", max);
+        assertEquals(Long.MAX_VALUE, Id32.decodeLong(max));
+        assertThrows(IllegalArgumentException.class, () -> Id32.decodeLong("H999999999999"));
+        assertThrows(IllegalArgumentException.class, () -> Id32.decodeLong("9999999999999"));
+        assertThrows(IllegalArgumentException.class, () -> Id32.decodeLong("YYYYYYYYYYYYYY"));
+    }
+
+    @Test
+    public void testLeadingZeros() {
+        assertEquals(Id32.decodeLong("N"), Id32.decodeLong("YYYYYYYYYYYYN"));
+    }
+
+    @Test
+    public void testUnsupportedCharacter() {
+        assertThrows(IllegalArgumentException.class, () -> Id32.decodeLong("NN-"));
+        assertThrows(IllegalArgumentException.class, () -> Id32.decodeLong("N\u00d1"));
+        assertThrows(IllegalArgumentException.class, () -> Id32.decodeLong("\u0100N"));
+    }
+
+    @Test
+    public void testAllValues() {
+        for (long value = 0; value < 40000; value++) {
+            encodeDecode(value);
+            encodeDecode(Long.MAX_VALUE - value);
+        }
+    }
+
+    @Test
+    public void testInvalidAlphabet() {
+        assertThrows(IllegalArgumentException.class, () -> new Alphabet(new char[] { 'A', 'B' }, new int[26], new int[10]));
+    }
+
+    @Test
+    public void testEncodeToArray() {
+        final char[] dst = new char[16];
+
+        assertEquals(13, Id32.encodeLong(Long.MAX_VALUE, dst, 2));
+        assertEquals(Id32.encodeLong(Long.MAX_VALUE), new String(dst, 2, 13));
+        assertEquals(1, Id32.encodeLong(0, dst, 15));
+        assertEquals('Y', dst[15]);
+        assertThrows(IllegalArgumentException.class, () -> Id32.encodeLong(Long.MAX_VALUE, dst, 4));
+    }
+
+    @Test
+    public void testEncodeToAppendable() throws IOException {
+        final StringWriter writer = new StringWriter();
+
+        assertEquals(7, Id32.encodeLong(10000000000l, writer));
+        assertEquals(1, Id32.encodeLong(0, writer));
+        assertEquals("JKYZ3YYY", writer.toString());
+    }
+
+    @Test
+    public void testDecodeRange() {
+        assertEquals(10000000000l, Id32.decodeLong("[jkyz3yy]", 1, 8));
+        assertEquals(2, Id32.decodeLong(new StringBuilder("YN"), 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> Id32.decodeLong("jkyz3yy", 3, 3));
+        assertThrows(IllegalArgumentException.class, () -> Id32.decodeLong("jkyz-3yy", 0, 6));
+    }
+
+    @Test
+    public void testBulk() {
+        final long[] numbers = new long[] { 0, 2, 31, 10000000000l, Long.MAX_VALUE };
+
+        final String[] encoded = Id32.encode(numbers);
+
+        assertArrayEquals(new String[] { "Y", "N", "9", "JKYZ3YY", "8999999999999" }, encoded);
+        assertArrayEquals(numbers, Id32.decode(encoded));
+        assertEquals("Y,N,9,JKYZ3YY,8999999999999", new String(Id32.encode(numbers, ',')));
+        assertEquals(0, Id32.encode(new long[0], ',').length);
+        assertThrows(IllegalArgumentException.class, () -> Id32.encode(new long[] { 1, -1 }));
+    }
+
+    @Test
+    public void testUuid() {
+        final Random random = new Random(128);
+
+        for (int i = 0; i < 1000; i++) {
+
+            final UUID uuid = i == 0 ? new UUID(0, 0) : i == 1 ? new UUID(-1, -1) : new UUID(random.nextLong(), random.nextLong());
+
+            final String encoded = Id32.encodeUuid(uuid);
+
+            assertEquals(Id32.ENCODED_128_SIZE, encoded.length());
+            assertEquals(encode128(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()), encoded);
+            assertEquals(uuid, Id32.decodeUuid(encoded));
+            assertEquals(uuid, Id32.decodeUuid(encoded.toLowerCase()));
+        }
+    }
+
+    @Test
+    public void testEncode128() {
+        assertEquals("YYYYYYYYYYYYYYYYYYYYYYYYYY", Id32.encode128(0, 0));
+        assertEquals("YYYYYYYYYYYYYYYYYYYYYYYYYN", Id32.encode128(0, 2));
+        assertEquals("89999999999999999999999999", Id32.encode128(-1, -1));
+        assertEquals(Id32.encodeLong(Long.MAX_VALUE), Id32.encode128(0, Long.MAX_VALUE).substring(13));
+    }
+
+    @Test
+    public void testDecodeUuidInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> Id32.decodeUuid("YYYYYYYYYYYYYYYYYYYYYYYYY"));
+        assertThrows(IllegalArgumentException.class, () -> Id32.decodeUuid("H9999999999999999999999999"));
+        assertThrows(IllegalArgumentException.class, () -> Id32.decodeUuid("YYYYYYYYYYYYYAYYYYYYYYYYYY"));
+        assertThrows(IllegalArgumentException.class, () -> Id32.decodeUuid(null));
+    }
+
     @Test
     public void testDefaultAlphabetOf() {
 
@@ -168,6 +283,22 @@ public class Id32Test {
         assertThrows(IllegalArgumentException.class, () -> Alphabet.of(null));
     }
 
+    static String encode128(long hi, long lo) {
+        BigInteger value = new BigInteger(1, new byte[] {
+                (byte) (hi >>> 56), (byte) (hi >>> 48), (byte) (hi >>> 40), (byte) (hi >>> 32),
+                (byte) (hi >>> 24), (byte) (hi >>> 16), (byte) (hi >>> 8), (byte) hi,
+                (byte) (lo >>> 56), (byte) (lo >>> 48), (byte) (lo >>> 40), (byte) (lo >>> 32),
+                (byte) (lo >>> 24), (byte) (lo >>> 16), (byte) (lo >>> 8), (byte) lo,
+        });
+
+        final char[] chars = new char[Id32.ENCODED_128_SIZE];
+        for (int index = chars.length - 1; index >= 0; index--) {
+            chars[index] = Alphabet.DEFAULT.characters[value.intValue() & 0x1f];
+            value = value.shiftRight(5);
+        }
+        return new String(chars);
+    }
+
     static void encodeDecode(Long number) {
 
         final String e1 = Id32.encodeLong(number);
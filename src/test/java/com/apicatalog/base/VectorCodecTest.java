@@ -0,0 +1,181 @@
+package com.apicatalog.base;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Compares US-ASCII paths, vectorized when {@link VectorCodec} is available,
+ * with the scalar character paths.
+ */
+class VectorCodecTest {
+
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("testLengths")
+    void testBase16(int length) {
+        final byte[] data = random(length);
+
+        for (final char[] alphabet : new char[][] { Base16.ALPHABET_LOWER, Base16.ALPHABET_UPPER }) {
+
+            final String expected = Base16.encode(data, alphabet);
+
+            final byte[] encoded = new byte[expected.length() + 2];
+            assertEquals(expected.length(), Base16.encode(data, 0, length, encoded, 1, alphabet));
+            assertEquals(expected, new String(encoded, 1, expected.length(), StandardCharsets.US_ASCII));
+
+            final byte[] decoded = new byte[length + 2];
+            assertEquals(length, Base16.decode(encoded, 1, expected.length(), decoded, 1));
+            assertArrayEquals(data, Arrays.copyOfRange(decoded, 1, length + 1));
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("testLengths")
+    void testBase16Invalid(int length) {
+        final byte[] encoded = Base16.encode(random(length), Base16.ALPHABET_LOWER).getBytes(StandardCharsets.US_ASCII);
+
+        for (int index = 0; index < encoded.length; index += Math.max(7, encoded.length / 50)) {
+            final byte[] invalid = encoded.clone();
+            invalid[index] = 'g';
+            assertThrows(IllegalArgumentException.class, () -> Base16.decode(invalid, 0, invalid.length, new byte[length], 0));
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("testLengths")
+    void testBase32(int length) {
+        final byte[] data = random(length);
+
+        for (final boolean padding : new boolean[] { false, true }) {
+            testBase32(data, Base32.ALPHABET_LOWER, Base32.CODES, padding);
+            testBase32(data, Base32.ALPHABET_UPPER, Base32.CODES, padding);
+            testBase32(data, Base32.ALPHABET_HEX_LOWER, Base32.CODES_HEX, padding);
+            testBase32(data, Base32.ALPHABET_HEX_UPPER, Base32.CODES_HEX, padding);
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("testLengths")
+    void testBase32Invalid(int length) {
+        final byte[] encoded = Base32.encode(random(length), Base32.ALPHABET_LOWER, true).getBytes(StandardCharsets.US_ASCII);
+
+        for (int index = 0; index < encoded.length - 8; index += Math.max(7, encoded.length / 50)) {
+            final byte[] invalid = encoded.clone();
+            invalid[index] = (byte) (index % 2 == 0 ? '1' : '=');
+            assertThrows(IllegalArgumentException.class, () -> Base32.decode(invalid, 0, invalid.length, new byte[length], 0, Base32.CODES, true));
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("testLengths")
+    void testBase64(int length) {
+        final byte[] data = random(length);
+
+        for (final boolean padding : new boolean[] { false, true }) {
+            testBase64(data, Base64.ALPHABET, Base64.CODES, padding);
+            testBase64(data, Base64.ALPHABET, Base64.CODES_LENIENT, padding);
+            testBase64(data, Base64.ALPHABET_URL, Base64.CODES_URL, padding);
+            testBase64(data, Base64.ALPHABET_URL, Base64.CODES_LENIENT, padding);
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("testLengths")
+    void testBase64Invalid(int length) {
+        final byte[] encoded = Base64.encode(random(length), Base64.ALPHABET_URL, true).getBytes(StandardCharsets.US_ASCII);
+
+        for (int index = 0; index < encoded.length - 4; index += Math.max(7, encoded.length / 50)) {
+            final byte[] invalid = encoded.clone();
+            invalid[index] = (byte) (index % 3 == 0 ? '+' : index % 3 == 1 ? '=' : '.');
+            assertThrows(IllegalArgumentException.class, () -> Base64.decode(invalid, 0, invalid.length, new byte[length], 0, Base64.CODES_URL));
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0} bytes")
+    @MethodSource("testLengths")
+    void testOversizedOutput(int length) {
+        final byte[] data = random(length);
+
+        final byte[] base16 = Base16.encode(data, Base16.ALPHABET_LOWER).getBytes(StandardCharsets.US_ASCII);
+        final byte[] decoded16 = sentinel(length);
+        assertSentinel(data, Base16.decode(base16, 0, base16.length, decoded16, 1), decoded16);
+
+        for (final boolean padding : new boolean[] { false, true }) {
+            final byte[] base32 = Base32.encode(data, Base32.ALPHABET_LOWER, padding).getBytes(StandardCharsets.US_ASCII);
+            final byte[] decoded32 = sentinel(length);
+            assertSentinel(data, Base32.decode(base32, 0, base32.length, decoded32, 1, Base32.CODES, padding), decoded32);
+
+            final byte[] base64 = Base64.encode(data, Base64.ALPHABET, padding).getBytes(StandardCharsets.US_ASCII);
+            final byte[] decoded64 = sentinel(length);
+            assertSentinel(data, Base64.decode(base64, 0, base64.length, decoded64, 1, Base64.CODES), decoded64);
+        }
+    }
+
+    static void testBase32(byte[] data, char[] alphabet, byte[] codes, boolean padding) {
+
+        final String expected = Base32.encode(data, alphabet, padding);
+
+        final byte[] encoded = new byte[expected.length() + 2];
+        assertEquals(expected.length(), Base32.encode(data, 0, data.length, encoded, 1, alphabet, padding));
+        assertEquals(expected, new String(encoded, 1, expected.length(), StandardCharsets.US_ASCII));
+
+        final byte[] decoded = new byte[data.length + 2];
+        assertEquals(data.length, Base32.decode(encoded, 1, expected.length(), decoded, 1, codes, padding));
+        assertArrayEquals(data, Arrays.copyOfRange(decoded, 1, data.length + 1));
+    }
+
+    static void testBase64(byte[] data, char[] alphabet, byte[] codes, boolean padding) {
+
+        final String expected = Base64.encode(data, alphabet, padding);
+
+        final byte[] encoded = new byte[expected.length() + 2];
+        assertEquals(expected.length(), Base64.encode(data, 0, data.length, encoded, 1, alphabet, padding));
+        assertEquals(expected, new String(encoded, 1, expected.length(), StandardCharsets.US_ASCII));
+        assertEquals(java.util.Base64.getEncoder().encodeToString(data), Base64.encode(data, Base64.ALPHABET, true));
+
+        final byte[] decoded = new byte[data.length + 2];
+        assertEquals(data.length, Base64.decode(encoded, 1, expected.length(), decoded, 1, codes));
+        assertArrayEquals(data, Arrays.copyOfRange(decoded, 1, data.length + 1));
+    }
+
+    static Stream<Arguments> testLengths() {
+        return IntStream.concat(
+                IntStream.range(0, 130),
+                IntStream.of(1000, 4096 + 3))
+                .mapToObj(Arguments::of);
+    }
+
+    /**
+     * Returns an output array far larger than needed, filled with a sentinel.
+     */
+    static byte[] sentinel(int length) {
+        final byte[] dst = new byte[2 * length + 64];
+        Arrays.fill(dst, (byte) 0x55);
+        return dst;
+    }
+
+    static void assertSentinel(byte[] data, int length, byte[] decoded) {
+        assertEquals(data.length, length);
+        assertArrayEquals(data, Arrays.copyOfRange(decoded, 1, length + 1));
+        assertEquals(0x55, decoded[0]);
+        for (int index = length + 1; index < decoded.length; index++) {
+            assertEquals(0x55, decoded[index], "a byte written at " + index);
+        }
+    }
+
+    static byte[] random(int length) {
+        final byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,77 @@
+package com.apicatalog.multibase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class BoundedCacheTest {
+
+    @Test
+    void testRejectedReplacement() {
+
+        final BoundedCache<String, String> cache = new BoundedCache<>(16, 100);
+
+        cache.put("key", "light", 10);
+        cache.put("key", "heavy", 101);
+
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.statistics().size());
+        assertEquals(0, cache.statistics().weight());
+    }
+
+    @Test
+    void testRejectedAbsent() {
+
+        final BoundedCache<String, String> cache = new BoundedCache<>(16, 100);
+
+        cache.put("key", "light", 10);
+
+        assertEquals("light", cache.putIfAbsent("key", "heavy", 101));
+        assertEquals("light", cache.get("key"));
+        assertEquals(10, cache.statistics().weight());
+    }
+
+    @Test
+    void testReplacedWeight() {
+
+        final BoundedCache<String, String> cache = new BoundedCache<>(16, 100);
+
+        cache.put("key", "first", 60);
+        cache.put("key", "second", 70);
+
+        assertEquals("second", cache.get("key"));
+        assertEquals(70, cache.statistics().weight());
+        assertEquals(0, cache.statistics().evictions());
+    }
+
+    @Test
+    void testGlobalWeight() throws InterruptedException {
+
+        // 16 segments sharing the weight
+        final BoundedCache<Integer, Integer> cache = new BoundedCache<>(1024, 1000);
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        pool.submit(() -> IntStream.range(0, 10_000).parallel().forEach(index -> cache.put(index, index, 1 + index % 50)));
+        pool.shutdown();
+
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+        final CacheStatistics statistics = cache.statistics();
+
+        assertTrue(statistics.weight() <= 1000, () -> "weight " + statistics.weight());
+        // each of the threads may evict an entry more than needed
+        assertTrue(statistics.weight() > 1000 - 4 * 50, () -> "weight " + statistics.weight());
+
+        cache.clear();
+
+        assertEquals(0, cache.statistics().size());
+        assertEquals(0, cache.statistics().weight());
+    }
+}
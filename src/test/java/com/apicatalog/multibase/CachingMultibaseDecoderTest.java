@@ -0,0 +1,259 @@
+package com.apicatalog.multibase;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class CachingMultibaseDecoderTest {
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("com.apicatalog.multibase.MultibaseTest#testData")
+    void testDecode(String encoded, byte[] expected, Multibase base) {
+
+        final CachingMultibaseDecoder decoder = CachingMultibaseDecoder.getInstance(16);
+
+        assertArrayEquals(expected, decoder.decode(encoded));
+        assertArrayEquals(expected, decoder.decode(encoded));
+        assertArrayEquals(expected, decoder.tryDecode(encoded).value());
+        assertEquals(base, decoder.tryDecode(encoded).base());
+
+        final ByteBuffer buffer = decoder.decodeReadOnly(encoded);
+        final byte[] viewed = new byte[buffer.remaining()];
+        buffer.get(viewed);
+
+        assertArrayEquals(expected, viewed);
+
+        final CacheStatistics statistics = decoder.cacheStatistics();
+
+        assertEquals(1, statistics.misses());
+        assertEquals(4, statistics.hits());
+        assertEquals(0.8, statistics.hitRate());
+        assertEquals(1, statistics.size());
+        assertEquals(encoded.length() + expected.length, statistics.weight());
+    }
+
+    @Test
+    void testDefensiveCopy() {
+
+        final CachingMultibaseDecoder decoder = CachingMultibaseDecoder.getInstance(16);
+
+        final byte[] decoded = decoder.decode("z2NEpo7TZRRrLZSi2U");
+        final byte[] expected = decoded.clone();
+
+        decoded[0] = 0;
+
+        final byte[] cached = decoder.decode("z2NEpo7TZRRrLZSi2U");
+
+        assertArrayEquals(expected, cached);
+        assertNotSame(cached, decoder.decode("z2NEpo7TZRRrLZSi2U"));
+
+        cached[0] = 0;
+
+        assertArrayEquals(expected, decoder.tryDecode("z2NEpo7TZRRrLZSi2U").value());
+        assertTrue(decoder.decodeReadOnly("z2NEpo7TZRRrLZSi2U").isReadOnly());
+    }
+
+    @Test
+    void testEvictSize() {
+
+        final CachingMultibaseDecoder decoder = CachingMultibaseDecoder.getInstance(1);
+
+        decoder.decode("f00");
+        decoder.decode("f01");
+        decoder.decode("f00");
+
+        final CacheStatistics statistics = decoder.cacheStatistics();
+
+        assertEquals(0, statistics.hits());
+        assertEquals(3, statistics.misses());
+        assertEquals(2, statistics.evictions());
+        assertEquals(1, statistics.size());
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsed() {
+
+        final CachingMultibaseDecoder decoder = CachingMultibaseDecoder.getInstance(MultibaseDecoder.getInstance(), 2, 10);
+
+        decoder.decode("f00");  // weight 4
+        decoder.decode("f01");
+        decoder.decode("f00");  // hit, f01 is the eldest
+        decoder.decode("f02");  // evicts f01
+
+        assertEquals(1, decoder.cacheStatistics().evictions());
+        assertEquals(8, decoder.cacheStatistics().weight());
+
+        decoder.decode("f00");
+        decoder.decode("f01");
+
+        assertEquals(2, decoder.cacheStatistics().hits());
+        assertEquals(4, decoder.cacheStatistics().misses());
+    }
+
+    @Test
+    void testEvictWeight() {
+
+        final CachingMultibaseDecoder decoder = CachingMultibaseDecoder.getInstance(MultibaseDecoder.getInstance(), 100, 10);
+
+        decoder.decode("f00");
+        decoder.decode("f0102");    // weight 7, evicts f00
+        decoder.decode("f010203");  // weight 10, evicts f0102
+        decoder.decode("f01020304");  // too heavy, not cached
+
+        final CacheStatistics statistics = decoder.cacheStatistics();
+
+        assertEquals(2, statistics.evictions());
+        assertEquals(1, statistics.size());
+        assertEquals(10, statistics.weight());
+    }
+
+    @Test
+    void testSegmentLimits() {
+
+        // 16 segments, each limited to 64 entries
+        final CachingMultibaseDecoder decoder = CachingMultibaseDecoder.getInstance(MultibaseDecoder.getInstance(), 1024, 16_000);
+
+        // values hashing into the same segment
+        final List<String> encoded = IntStream.range(0, 10_000)
+                .mapToObj(index -> Multibase.BASE_16.encode(new byte[] { (byte) (index >>> 8), (byte) index }))
+                .filter(value -> ((value.hashCode() ^ (value.hashCode() >>> 16)) & 15) == 0)
+                .limit(100)
+                .collect(Collectors.toList());
+
+        assertEquals(100, encoded.size());
+
+        encoded.forEach(decoder::decode);
+
+        assertEquals(64, decoder.cacheStatistics().size());
+        assertEquals(36, decoder.cacheStatistics().evictions());
+
+        // heavier than the share of a segment, the weight is limited globally
+        decoder.invalidateAll();
+        decoder.decode(Multibase.BASE_16.encode(new byte[4000]));
+
+        assertEquals(1, decoder.cacheStatistics().size());
+        assertEquals(12_001, decoder.cacheStatistics().weight());
+
+        // heavier than the maximal weight
+        decoder.invalidateAll();
+        decoder.decode(Multibase.BASE_16.encode(new byte[6000]));
+
+        assertEquals(0, decoder.cacheStatistics().size());
+        assertEquals(0, decoder.cacheStatistics().weight());
+    }
+
+    @Test
+    void testGlobalWeight() {
+
+        // 16 segments, sharing a weight of 1000
+        final CachingMultibaseDecoder decoder = CachingMultibaseDecoder.getInstance(MultibaseDecoder.getInstance(), 1024, 1000);
+
+        // 201 characters and 100 bytes each, hashing into any segment
+        final List<String> encoded = IntStream.range(0, 10)
+                .mapToObj(index -> Multibase.BASE_16.encode(new byte[] { (byte) index }) + Multibase.BASE_16.encode(new byte[99]).substring(1))
+                .collect(Collectors.toList());
+
+        encoded.forEach(decoder::decode);
+
+        assertEquals(3, decoder.cacheStatistics().size());
+        assertEquals(903, decoder.cacheStatistics().weight());
+        assertEquals(7, decoder.cacheStatistics().evictions());
+
+        // the most recently decoded value is kept
+        decoder.decode(encoded.get(9));
+
+        assertEquals(1, decoder.cacheStatistics().hits());
+    }
+
+    @Test
+    void testFailureNotCached() {
+
+        final CachingMultibaseDecoder decoder = CachingMultibaseDecoder.getInstance(16);
+
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("z0"));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("z0"));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(null));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decodeReadOnly("x00"));
+        assertFalse(decoder.tryDecode("z0").isSuccess());
+        assertFalse(decoder.tryDecode(null).isSuccess());
+
+        assertEquals(0, decoder.cacheStatistics().size());
+        assertEquals(0, decoder.cacheStatistics().hits());
+    }
+
+    @Test
+    void testDecodeAll() {
+
+        final CachingMultibaseDecoder decoder = CachingMultibaseDecoder.getInstance(64);
+
+        final List<String> encoded = Arrays.asList("z2NEpo7TZRRrLZSi2U", "f00", "z2NEpo7TZRRrLZSi2U", "f00");
+
+        final BatchResult<byte[]> decoded = decoder.decodeAll(encoded);
+
+        for (int index = 0; index < encoded.size(); index++) {
+            assertArrayEquals(MultibaseDecoder.getInstance().decode(encoded.get(index)), decoded.get(index));
+        }
+        assertEquals(2, decoder.cacheStatistics().size());
+        assertEquals(4, decoder.cacheStatistics().requests());
+    }
+
+    @Test
+    void testConcurrent() {
+
+        final Random random = new Random(23);
+
+        final List<byte[]> data = IntStream.range(0, 100)
+                .mapToObj(index -> {
+                    final byte[] bytes = new byte[1 + random.nextInt(40)];
+                    random.nextBytes(bytes);
+                    return bytes;
+                })
+                .collect(Collectors.toList());
+
+        final CachingMultibaseDecoder decoder = CachingMultibaseDecoder.getInstance(256);
+
+        IntStream.range(0, 10_000).parallel().forEach(index -> {
+            final byte[] expected = data.get(index % data.size());
+            assertArrayEquals(expected, decoder.decode(Multibase.BASE_58_BTC.encode(expected)));
+        });
+
+        final CacheStatistics statistics = decoder.cacheStatistics();
+
+        assertEquals(10_000, statistics.requests());
+        assertEquals(100, statistics.size());
+    }
+
+    @Test
+    void testMetrics() {
+
+        final MultibaseStatistics stats = new MultibaseStatistics();
+        final CachingMultibaseDecoder decoder = CachingMultibaseDecoder.getInstance(16).withMetrics(stats);
+
+        decoder.decode("f00");
+        decoder.decode("f00");
+
+        assertEquals(1, stats.counters(Multibase.BASE_16).decodes());
+        assertEquals(1, decoder.cacheStatistics().hits());
+    }
+
+    @Test
+    void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> CachingMultibaseDecoder.getInstance(0));
+        assertThrows(IllegalArgumentException.class, () -> CachingMultibaseDecoder.getInstance(MultibaseDecoder.getInstance(), 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> CachingMultibaseDecoder.getInstance(null, 1, 1));
+    }
+}
@@ -0,0 +1,207 @@
+package com.apicatalog.multibase;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class CachingMultibaseTest {
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("com.apicatalog.multibase.MultibaseTest#testData")
+    void testEncode(String expected, byte[] data, Multibase base) {
+
+        final CachingMultibase caching = CachingMultibase.getInstance(base, 16, 1);
+
+        final String encoded = caching.encode(data);
+
+        assertEquals(expected, encoded);
+        assertSame(encoded, caching.encode(data.clone()));
+        assertArrayEquals(data, caching.decode(encoded));
+        assertEquals(base, caching);
+
+        final CacheStatistics statistics = caching.cacheStatistics();
+
+        assertEquals(1, statistics.hits());
+        assertEquals(1, statistics.misses());
+        assertEquals(1, statistics.size());
+    }
+
+    @Test
+    void testMutatedInput() {
+
+        final CachingMultibase caching = CachingMultibase.getInstance(Multibase.BASE_58_BTC, 16, 1);
+
+        final byte[] data = new byte[] { 1, 2, 3 };
+
+        final String encoded = caching.encode(data);
+
+        data[0] = 0;
+
+        assertEquals(Multibase.BASE_58_BTC.encode(data), caching.encode(data));
+        assertSame(encoded, caching.encode(new byte[] { 1, 2, 3 }));
+    }
+
+    @Test
+    void testMinLength() {
+
+        final CachingMultibase caching = CachingMultibase.getInstance(Multibase.BASE_64_URL, 16);
+
+        assertEquals(Multibase.BASE_64_URL.encode(new byte[63]), caching.encode(new byte[63]));
+        assertEquals(Multibase.BASE_64_URL.encode(new byte[64]), caching.encode(new byte[64]));
+
+        assertEquals(1, caching.cacheStatistics().requests());
+        assertThrows(IllegalArgumentException.class, () -> caching.encode((byte[]) null));
+        assertThrows(IllegalArgumentException.class, () -> caching.encode(new byte[0]));
+    }
+
+    @Test
+    void testDefaultMinLength() {
+
+        assertEquals(CachingMultibase.DEFAULT_MIN_LENGTH_BASE58, CachingMultibase.defaultMinLength(Multibase.BASE_58_BTC));
+
+        for (final Multibase base : Multibase.provided()) {
+            if (base != Multibase.BASE_58_BTC) {
+                assertEquals(CachingMultibase.DEFAULT_MIN_LENGTH, CachingMultibase.defaultMinLength(base));
+            }
+        }
+
+        final CachingMultibase caching = CachingMultibase.getInstance(Multibase.BASE_58_BTC, 16);
+
+        caching.encode(new byte[7]);
+        caching.encode(new byte[8]);
+
+        assertEquals(1, caching.cacheStatistics().requests());
+    }
+
+    @Test
+    void testEvict() {
+
+        final CachingMultibase caching = CachingMultibase.getInstance(Multibase.BASE_58_BTC, 2, 1);
+
+        caching.encode(new byte[] { 1 });
+        caching.encode(new byte[] { 2 });
+        caching.encode(new byte[] { 1 });
+        caching.encode(new byte[] { 3 });   // evicts { 2 }
+        caching.encode(new byte[] { 2 });
+
+        final CacheStatistics statistics = caching.cacheStatistics();
+
+        assertEquals(1, statistics.hits());
+        assertEquals(4, statistics.misses());
+        assertEquals(2, statistics.evictions());
+        assertEquals(2, statistics.size());
+    }
+
+    @Test
+    void testEncodeAll() {
+
+        final CachingMultibase caching = CachingMultibase.getInstance(Multibase.BASE_58_BTC, 16);
+
+        final byte[] data = new byte[32];
+        new Random(24).nextBytes(data);
+
+        final BatchResult<String> encoded = caching.encodeAll(Arrays.asList(data, data.clone(), new byte[0]));
+
+        assertEquals(Multibase.BASE_58_BTC.encode(data), encoded.get(0));
+        assertSame(encoded.get(0), encoded.get(1));
+        assertTrue(encoded.isFailed(2));
+        assertSame(encoded.get(0), caching.encode(data));
+    }
+
+    @Test
+    void testConcurrent() {
+
+        final Random random = new Random(24);
+
+        final List<byte[]> data = IntStream.range(0, 100)
+                .mapToObj(index -> {
+                    final byte[] bytes = new byte[16 + random.nextInt(40)];
+                    random.nextBytes(bytes);
+                    return bytes;
+                })
+                .collect(Collectors.toList());
+
+        final CachingMultibase caching = CachingMultibase.getInstance(Multibase.BASE_58_BTC, 256);
+
+        IntStream.range(0, 10_000).parallel().forEach(index -> {
+            final byte[] bytes = data.get(index % data.size());
+            assertEquals(Multibase.BASE_58_BTC.encode(bytes), caching.encode(bytes));
+        });
+
+        assertEquals(10_000, caching.cacheStatistics().requests());
+        assertEquals(100, caching.cacheStatistics().size());
+    }
+
+    @Test
+    void testHash() {
+
+        final Random random = new Random(24);
+        final Set<Integer> hashes = new HashSet<>();
+
+        for (int length = 0; length < 64; length++) {
+            final byte[] data = new byte[length];
+            random.nextBytes(data);
+            hashes.add(CachingMultibase.hash(data));
+            assertEquals(CachingMultibase.hash(data), CachingMultibase.hash(data.clone()));
+        }
+        assertEquals(64, hashes.size());
+
+        assertNotEquals(CachingMultibase.hash(new byte[] { 0 }), CachingMultibase.hash(new byte[] { 0, 0 }));
+        assertNotEquals(CachingMultibase.hash(new byte[] { 1, 0 }), CachingMultibase.hash(new byte[] { 0, 1 }));
+    }
+
+    @Test
+    void testMetrics() {
+
+        final MultibaseStatistics stats = new MultibaseStatistics();
+        final CachingMultibase caching = CachingMultibase.getInstance(Multibase.BASE_16, 16, 1).withMetrics(stats);
+
+        caching.encode(new byte[] { 1 });
+        caching.encode(new byte[] { 1 });
+
+        assertSame(stats, caching.metrics());
+        assertEquals(1, stats.counters(Multibase.BASE_16).encodes());
+        assertEquals(1, caching.cacheStatistics().hits());
+    }
+
+    @Test
+    void testMetricsNotCached() {
+
+        final MultibaseStatistics stats = new MultibaseStatistics();
+        final CachingMultibase caching = CachingMultibase.getInstance(Multibase.BASE_16, 16, 1).withMetrics(stats);
+
+        caching.decode("f01");
+        caching.tryDecode("f0g");
+        caching.decodeTo("f0102", new byte[2], 0);
+        caching.encodeAscii(new byte[] { 1 });
+        caching.encodeTo(new byte[] { 1 }, new char[3], 0);
+        caching.encode(ByteBuffer.wrap(new byte[] { 1 }));
+
+        assertEquals(3, stats.counters(Multibase.BASE_16).decodes());
+        assertEquals(1, stats.counters(Multibase.BASE_16).failures());
+        assertEquals(3, stats.counters(Multibase.BASE_16).encodes());
+        assertEquals(0, caching.cacheStatistics().requests());
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> CachingMultibase.getInstance(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> CachingMultibase.getInstance(Multibase.BASE_16, 0));
+    }
+}
@@ -0,0 +1,135 @@
+package com.apicatalog.multibase;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MultibaseInputStreamTest {
+
+    @ParameterizedTest(name = "{index}: {0} {1} bytes")
+    @MethodSource("testData")
+    void testReader(Multibase base, int length) throws IOException {
+        final byte[] data = MultibaseOutputStreamTest.random(length);
+
+        try (MultibaseInputStream in = new MultibaseInputStream(MultibaseDecoder.getInstance(), new ChunkedReader(base.encode(data)))) {
+            assertEquals(base, in.base());
+            assertArrayEquals(data, read(in, length));
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0} {1} bytes")
+    @MethodSource("testData")
+    void testInputStream(Multibase base, int length) throws IOException {
+        final byte[] data = MultibaseOutputStreamTest.random(length);
+
+        final byte[] encoded = base.encode(data).getBytes(StandardCharsets.US_ASCII);
+
+        try (InputStream in = new MultibaseInputStream(MultibaseDecoder.getInstance(), new ByteArrayInputStream(encoded))) {
+            assertArrayEquals(data, read(in, length));
+        }
+    }
+
+    @Test
+    void testPrefixOnly() throws IOException {
+        try (InputStream in = new MultibaseInputStream(MultibaseDecoder.getInstance(), new StringReader("f"))) {
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "x666f6f", "f66x6f", "f666", "cMY======MZXQ====", "z0OIl" })
+    void testInvalid(String encoded) {
+        assertThrows(IOException.class, () -> {
+            try (InputStream in = new MultibaseInputStream(MultibaseDecoder.getInstance(), new StringReader(encoded))) {
+                while (in.read() != -1)
+                    ;
+            }
+        });
+    }
+
+    @Test
+    void testInvalidLarge() {
+        final char[] encoded = new char[30000];
+        Arrays.fill(encoded, 'a');
+        encoded[0] = 'f';
+        encoded[20001] = 'x';
+
+        assertThrows(IOException.class, () -> {
+            try (InputStream in = new MultibaseInputStream(MultibaseDecoder.getInstance(), new StringReader(new String(encoded)))) {
+                while (in.read() != -1)
+                    ;
+            }
+        });
+    }
+
+    static Stream<Arguments> testData() {
+        return Stream.concat(
+                MultibaseOutputStreamTest.testData(),
+                Stream.of(Multibase.BASE_58_BTC, Multibase.BASE_64_PAD)
+                        .flatMap(base -> IntStream.of(1, 2, 3, 4, 5, 1024)
+                                .mapToObj(length -> Arguments.of(base, length))));
+    }
+
+    /**
+     * Reads single bytes and chunks of varying length.
+     */
+    static byte[] read(InputStream in, int length) throws IOException {
+        final Random random = new Random(length);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+        final byte[] buffer = new byte[10000];
+
+        while (true) {
+            if (random.nextInt(4) == 0) {
+                final int value = in.read();
+                if (value == -1) {
+                    break;
+                }
+                out.write(value);
+                continue;
+            }
+            final int count = in.read(buffer, 0, 1 + random.nextInt(buffer.length - 1));
+            if (count == -1) {
+                break;
+            }
+            out.write(buffer, 0, count);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns characters in short chunks of varying length.
+     */
+    static class ChunkedReader extends FilterReader {
+
+        final Random random;
+
+        ChunkedReader(String value) {
+            super(new StringReader(value));
+            this.random = new Random(value.length());
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            return super.read(cbuf, off, Math.min(len, 1 + random.nextInt(3000)));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.apicatalog.multibase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class MultibaseOutputStreamTest {
+
+    @ParameterizedTest(name = "{index}: {0} {1} bytes")
+    @MethodSource("testData")
+    void testWriter(Multibase base, int length) throws IOException {
+        final byte[] data = random(length);
+
+        final StringWriter writer = new StringWriter();
+
+        try (OutputStream out = new MultibaseOutputStream(base, writer)) {
+            write(out, data);
+        }
+
+        assertEquals(base.encode(data), writer.toString());
+    }
+
+    @ParameterizedTest(name = "{index}: {0} {1} bytes")
+    @MethodSource("testData")
+    void testOutputStream(Multibase base, int length) throws IOException {
+        final byte[] data = random(length);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (OutputStream out = new MultibaseOutputStream(base, bytes)) {
+            write(out, data);
+        }
+
+        assertEquals(base.encode(data), new String(bytes.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testEmpty() throws IOException {
+        final StringWriter writer = new StringWriter();
+
+        new MultibaseOutputStream(Multibase.BASE_32_PAD, writer).close();
+
+        assertEquals("c", writer.toString());
+    }
+
+    @Test
+    void testFinish() throws IOException {
+        final StringWriter writer = new StringWriter();
+
+        final MultibaseOutputStream out = new MultibaseOutputStream(Multibase.BASE_64_URL_PAD, writer);
+        out.write("fooba".getBytes());
+        out.finish();
+
+        writer.write(",");
+
+        assertEquals("UZm9vYmE=,", writer.toString());
+        assertThrows(IOException.class, () -> out.write(1));
+    }
+
+    @Test
+    void testNotBlockAligned() {
+        assertThrows(IllegalArgumentException.class, () -> new MultibaseOutputStream(Multibase.BASE_58_BTC, new StringWriter()));
+    }
+
+    static Stream<Arguments> testData() {
+        return Stream.of(
+                Multibase.BASE_2,
+                Multibase.BASE_16,
+                Multibase.BASE_16_UPPER,
+                Multibase.BASE_32,
+                Multibase.BASE_32_UPPER,
+                Multibase.BASE_32_PAD,
+                Multibase.BASE_32_PAD_UPPER,
+                Multibase.BASE_32_HEX,
+                Multibase.BASE_32_HEX_UPPER,
+                Multibase.BASE_32_HEX_PAD,
+                Multibase.BASE_32_HEX_PAD_UPPER,
+                Multibase.BASE_64,
+                Multibase.BASE_64_URL,
+                Multibase.BASE_64_URL_PAD)
+                .flatMap(base -> IntStream.of(1, 2, 3, 4, 5, 6, 7, 1024, 6143, 6144, 6145, 20000, 65537)
+                        .mapToObj(length -> Arguments.of(base, length)));
+    }
+
+    /**
+     * Writes single bytes and chunks of varying length.
+     */
+    static void write(OutputStream out, byte[] data) throws IOException {
+        final Random random = new Random(data.length);
+
+        int index = 0;
+
+        while (index < data.length) {
+            if (random.nextInt(4) == 0) {
+                out.write(data[index++]);
+                continue;
+            }
+            final int length = Math.min(data.length - index, random.nextInt(10000));
+            out.write(data, index, length);
+            index += length;
+        }
+    }
+
+    static byte[] random(int length) {
+        final byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
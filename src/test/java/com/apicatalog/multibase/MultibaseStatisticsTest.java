@@ -0,0 +1,273 @@
+package com.apicatalog.multibase;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.apicatalog.base.DecodeStatus;
+
+public class MultibaseStatisticsTest {
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("com.apicatalog.multibase.MultibaseTest#testData")
+    void testCounters(String encoded, byte[] expected, Multibase base) {
+
+        final MultibaseStatistics stats = new MultibaseStatistics();
+        final MultibaseDecoder decoder = MultibaseDecoder.getInstance().withMetrics(stats);
+
+        assertArrayEquals(expected, decoder.decode(encoded));
+        assertArrayEquals(expected, decoder.tryDecode(encoded).value());
+        assertEquals(encoded, decoder.getBase(encoded).get().encode(expected));
+
+        final MultibaseStatistics.Counters counters = stats.counters(base);
+
+        assertEquals(1, stats.counters().size());
+        assertEquals(2, counters.decodes());
+        assertEquals(2 * encoded.length(), counters.decodedChars());
+        assertEquals(2 * expected.length, counters.decodedBytes());
+        assertEquals(1, counters.encodes());
+        assertEquals(expected.length, counters.encodedBytes());
+        assertEquals(encoded.length(), counters.encodedChars());
+        assertEquals(0, counters.failures());
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @CsvSource({
+            "z0, INVALID_CHARACTER",
+            "mZh, LEFTOVER_BITS",
+            "f6, INVALID_LENGTH",
+            "MZm9vYg=, INVALID_PADDING",
+    })
+    void testFailures(String encoded, DecodeStatus reason) {
+
+        final MultibaseStatistics stats = new MultibaseStatistics();
+        final MultibaseDecoder decoder = MultibaseDecoder.getInstance().withMetrics(stats);
+
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(encoded));
+        assertEquals(reason, decoder.tryDecode(encoded).status());
+
+        final MultibaseStatistics.Counters counters = stats.counters(decoder.getBase(encoded).get());
+
+        assertEquals(2, counters.decodes());
+        assertEquals(2, counters.failures(reason));
+        assertEquals(2, counters.failures());
+        assertEquals(0, counters.decodedBytes());
+        assertEquals(0, stats.unresolved().failures());
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @CsvSource({
+            "u, 100000",
+            "f, 1",
+            "c, 12345",
+            "z, 100",
+    })
+    void testStreams(char prefix, int length) throws IOException {
+
+        final MultibaseStatistics stats = new MultibaseStatistics();
+        final MultibaseDecoder decoder = MultibaseDecoder.getInstance().withMetrics(stats);
+
+        final Multibase base = decoder.getBase(prefix).get();
+
+        final byte[] data = new byte[length];
+        Arrays.fill(data, (byte) 0x5a);
+
+        final String encoded = base.encode(data);
+
+        // other encodings are not streamed
+        final boolean streamed = base.codec() != null && base.codec().blockLength() > 0;
+
+        if (streamed) {
+
+            final StringWriter writer = new StringWriter();
+
+            try (OutputStream out = new MultibaseOutputStream(base, writer)) {
+                out.write(data);
+            }
+            assertEquals(encoded, writer.toString());
+        }
+
+        final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+
+        try (InputStream in = new MultibaseInputStream(decoder, new StringReader(encoded))) {
+            final byte[] buffer = new byte[1000];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                decoded.write(buffer, 0, read);
+            }
+        }
+        assertArrayEquals(data, decoded.toByteArray());
+
+        final MultibaseStatistics.Counters counters = stats.counters(base);
+
+        assertEquals(streamed ? 2 : 1, counters.encodes());
+        assertEquals((streamed ? 2L : 1L) * length, counters.encodedBytes());
+        assertEquals((streamed ? 2L : 1L) * encoded.length(), counters.encodedChars());
+        assertEquals(1, counters.decodes());
+        assertEquals(encoded.length(), counters.decodedChars());
+        assertEquals(length, counters.decodedBytes());
+    }
+
+    @Test
+    void testStreamFailure() throws IOException {
+
+        final MultibaseStatistics stats = new MultibaseStatistics();
+        final MultibaseDecoder decoder = MultibaseDecoder.getInstance().withMetrics(stats);
+
+        try (InputStream in = new MultibaseInputStream(decoder, new StringReader("f666f6"))) {
+            assertThrows(IOException.class, () -> {
+                while (in.read() != -1) {
+                    // the last character cannot be decoded
+                }
+            });
+        }
+
+        final MultibaseStatistics.Counters counters = stats.counters(Multibase.BASE_16);
+
+        assertEquals(1, counters.decodes());
+        assertEquals(1, counters.failures(DecodeStatus.INVALID_LENGTH));
+        assertEquals(0, counters.decodedBytes());
+    }
+
+    @Test
+    void testUnresolved() {
+
+        final MultibaseStatistics stats = new MultibaseStatistics();
+        final MultibaseDecoder decoder = MultibaseDecoder.getInstance().withMetrics(stats);
+
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("x666f6f"));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(" "));
+        assertFalse(decoder.tryDecode("").isSuccess());
+
+        assertEquals(3, stats.unresolved().decodes());
+        assertEquals(1, stats.unresolved().failures(DecodeStatus.UNSUPPORTED_PREFIX));
+        assertEquals(2, stats.unresolved().failures(DecodeStatus.EMPTY));
+        assertEquals(0, stats.counters().size());
+    }
+
+    @Test
+    void testOutputTooSmall() {
+
+        final MultibaseStatistics stats = new MultibaseStatistics();
+        final Multibase base = Multibase.BASE_58_BTC.withMetrics(stats);
+
+        assertThrows(IllegalArgumentException.class, () -> base.decodeTo("z2NEpo7TZRRrLZSi2U", new byte[2], 0));
+
+        assertEquals(1, stats.counters(base).failures(DecodeStatus.MALFORMED));
+    }
+
+    @Test
+    void testReportedOnce() {
+
+        final MultibaseStatistics stats = new MultibaseStatistics();
+        final Multibase base = Multibase.BASE_32.withMetrics(stats);
+
+        final byte[] data = "Hello World!".getBytes();
+
+        base.encodeAscii(data);
+        base.encodeTo(data, new char[64], 0);
+        base.encode(ByteBuffer.wrap(data));
+        base.encodeAll(Arrays.asList(data, data));
+
+        final String encoded = base.encode(data);
+
+        base.decode(CharBuffer.wrap(encoded));
+        base.decode(ByteBuffer.wrap(encoded.getBytes()));
+        MultibaseDecoder.getInstance(base).decodeAll(Arrays.asList(encoded, encoded));
+
+        final MultibaseStatistics.Counters counters = stats.counters(base);
+
+        assertEquals(6, counters.encodes());
+        assertEquals(6 * data.length, counters.encodedBytes());
+        assertEquals(6 * encoded.length(), counters.encodedChars());
+        assertEquals(4, counters.decodes());
+        assertEquals(4 * data.length, counters.decodedBytes());
+        assertEquals(4 * encoded.length(), counters.decodedChars());
+    }
+
+    @Test
+    void testLatency() {
+
+        final MultibaseStatistics stats = new MultibaseStatistics(true);
+        final Multibase base = Multibase.BASE_58_BTC.withMetrics(stats);
+
+        for (int index = 0; index < 100; index++) {
+            base.decode(base.encode(new byte[] { (byte) index, 1, 2, 3 }));
+        }
+        assertFalse(base.tryDecode("z0").isSuccess());
+
+        final MultibaseStatistics.Counters counters = stats.counters(base);
+
+        assertEquals(MultibaseStatistics.LATENCY_BUCKETS, counters.decodeLatency().length);
+        assertEquals(100, LongStream.of(counters.encodeLatency()).sum());
+        assertEquals(100, LongStream.of(counters.decodeLatency()).sum());
+        assertEquals(101, counters.decodes());
+    }
+
+    @Test
+    void testUntimed() {
+
+        final MultibaseStatistics stats = new MultibaseStatistics();
+        final Multibase base = Multibase.BASE_16.withMetrics(stats);
+
+        base.decode(base.encode(new byte[] { 1, 2, 3 }));
+
+        assertEquals(0, LongStream.of(stats.counters(base).encodeLatency()).sum());
+        assertEquals(0, LongStream.of(stats.counters(base).decodeLatency()).sum());
+    }
+
+    @Test
+    void testBucket() {
+        assertEquals(0, MultibaseStatistics.bucket(0));
+        assertEquals(1, MultibaseStatistics.bucket(1));
+        assertEquals(2, MultibaseStatistics.bucket(3));
+        assertEquals(11, MultibaseStatistics.bucket(1024));
+        assertEquals(63, MultibaseStatistics.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testInstrumentedCopy() {
+
+        final MultibaseStatistics stats = new MultibaseStatistics();
+        final Multibase base = Multibase.BASE_64.withMetrics(stats);
+
+        assertEquals(Multibase.BASE_64, base);
+        assertEquals(base, Multibase.BASE_64);
+        assertEquals(Multibase.BASE_64.hashCode(), base.hashCode());
+        assertSame(stats, base.metrics());
+        assertNull(Multibase.BASE_64.metrics());
+
+        assertSame(Multibase.BASE_64, base.withMetrics(null));
+        assertSame(Multibase.BASE_64, Multibase.BASE_64.withMetrics(null));
+        assertSame(Multibase.BASE_64, ((MeteredMultibase) base.withMetrics(new MultibaseStatistics())).withMetrics(null));
+
+        final MultibaseDecoder decoder = MultibaseDecoder.getInstance().withMetrics(stats);
+
+        assertSame(stats, decoder.getBase('z').get().metrics());
+        assertNull(decoder.withMetrics(null).getBase('z').get().metrics());
+        assertNull(MultibaseDecoder.getInstance().metrics());
+
+        Multibase.BASE_64.encode(new byte[] { 1 });
+
+        assertEquals(0, stats.counters().size());
+    }
+}
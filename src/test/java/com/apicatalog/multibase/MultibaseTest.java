@@ -2,13 +2,31 @@ package com.apicatalog.multibase;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.apicatalog.base.Base16;
+import com.apicatalog.base.DecodeStatus;
 
 public class MultibaseTest {
 
@@ -27,6 +45,32 @@ public class MultibaseTest {
         assertEquals(base, DECODER.getBase(encoded.charAt(0)).orElse(null));
     }
 
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testDecoderFindBase(String encoded, byte[] expected, Multibase base) {
+        assertEquals(base, DECODER.findBase(base.name()).orElse(null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", " ", "x666f6f", "\u00e9666f6f" })
+    void testDecoderUnsupported(String encoded) {
+        assertThrows(IllegalArgumentException.class, () -> DECODER.decode(encoded));
+    }
+
+    @Test
+    void testDecoderCustomBase() {
+        final Multibase custom = new Multibase("custom", '\u00e9', 16, Base16::decode, d -> Base16.encode(d, Base16.ALPHABET_LOWER));
+
+        final MultibaseDecoder decoder = MultibaseDecoder.getInstance(custom, Multibase.BASE_58_BTC);
+
+        assertEquals(custom, decoder.getBase('\u00e9').orElse(null));
+        assertArrayEquals("foo".getBytes(), decoder.decode("\u00e9666f6f"));
+        assertEquals(custom, decoder.findBase("custom").orElse(null));
+        assertFalse(decoder.getBase('f').isPresent());
+        assertFalse(decoder.findBase("base16").isPresent());
+        assertEquals(2, decoder.size());
+    }
+
     @ParameterizedTest(name = "{index}: {0}")
     @MethodSource("testData")
     void testDecode(String encoded, byte[] expected, Multibase base) {
@@ -39,16 +83,425 @@ public class MultibaseTest {
         assertEquals(encoded, base.encode(data));
     }
 
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testEncodeTo(String encoded, byte[] data, Multibase base) {
+        final byte[] src = new byte[data.length + 3];
+        System.arraycopy(data, 0, src, 2, data.length);
+
+        final char[] dst = new char[encoded.length() + 4];
+
+        assertEquals(encoded.length(), base.encodeTo(src, 2, data.length, dst, 3));
+        assertEquals(encoded, new String(dst, 3, encoded.length()));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testEncodeAscii(String encoded, byte[] data, Multibase base) {
+        assertArrayEquals(encoded.getBytes(StandardCharsets.US_ASCII), base.encodeAscii(data));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testAppendAscii(String encoded, byte[] data, Multibase base) {
+        final byte[] src = new byte[data.length + 3];
+        System.arraycopy(data, 0, src, 2, data.length);
+
+        final byte[] dst = new byte[encoded.length() + 4];
+
+        assertEquals(encoded.length(), base.appendAscii(src, 2, data.length, dst, 3));
+        assertEquals(encoded, new String(dst, 3, encoded.length(), StandardCharsets.US_ASCII));
+        assertThrows(IllegalArgumentException.class, () -> base.appendAscii(data, new byte[encoded.length() - 1], 0));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testDecodeTo(String encoded, byte[] expected, Multibase base) {
+        final byte[] dst = new byte[expected.length + 2];
+
+        assertEquals(expected.length, base.decodeTo("::" + encoded + ":", 2, encoded.length(), dst, 1));
+        assertArrayEquals(expected, Arrays.copyOfRange(dst, 1, expected.length + 1));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testEncodeToTooSmall(String encoded, byte[] data, Multibase base) {
+        assertThrows(IllegalArgumentException.class, () -> base.encodeTo(data, new char[encoded.length() - 1], 0));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testEncodeBuffer(String encoded, byte[] data, Multibase base) {
+        final ByteBuffer heap = ByteBuffer.wrap(data);
+        assertEquals(encoded, base.encode(heap).toString());
+        assertEquals(0, heap.remaining());
+
+        final ByteBuffer direct = direct(data);
+        assertEquals(encoded, StandardCharsets.US_ASCII.decode(base.encodeAscii(direct)).toString());
+        assertEquals(0, direct.remaining());
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testDecodeBuffer(String encoded, byte[] expected, Multibase base) {
+        final CharBuffer chars = CharBuffer.wrap("::" + encoded, 2, encoded.length() + 2);
+        assertEquals(ByteBuffer.wrap(expected), base.decode(chars));
+        assertEquals(0, chars.remaining());
+
+        final ByteBuffer direct = direct(encoded.getBytes(StandardCharsets.US_ASCII));
+        assertEquals(ByteBuffer.wrap(expected), base.decode(direct));
+        assertEquals(0, direct.remaining());
+
+        final ByteBuffer heap = ByteBuffer.wrap((":" + encoded).getBytes(StandardCharsets.US_ASCII), 1, encoded.length()).slice();
+        assertEquals(ByteBuffer.wrap(expected), base.decode(heap));
+        assertEquals(0, heap.remaining());
+    }
+
+    @ParameterizedTest(name = "{index}: {0} {1} bytes")
+    @MethodSource("testBufferData")
+    void testBufferRoundTrip(Multibase base, int length) {
+        final byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+
+        final ByteBuffer encoded = base.encodeAscii(direct(data));
+
+        assertEquals(base.encode(data), StandardCharsets.US_ASCII.decode(encoded.duplicate()).toString());
+        assertEquals(ByteBuffer.wrap(data), base.decode(direct(encoded.duplicate())));
+        assertEquals(ByteBuffer.wrap(data), base.decode(encoded));
+    }
+
+    @ParameterizedTest(name = "threshold {0}")
+    @ValueSource(ints = { 1, 1000000 })
+    void testBatch(int threshold) {
+        final List<byte[]> data = new ArrayList<>();
+        final List<String> encoded = new ArrayList<>();
+
+        for (int index = 0; index < 5000; index++) {
+            final Multibase base = Multibase.provided()[index % Multibase.provided().length];
+            final byte[] bytes = new byte[1 + index % 100];
+            new Random(index).nextBytes(bytes);
+            data.add(bytes);
+            encoded.add(index % 7 == 0 ? "x" + index : base.encode(bytes));
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            final BatchResult<byte[]> decoded = DECODER.decodeAll(encoded, pool, threshold);
+
+            assertEquals(data.size(), decoded.size());
+            assertTrue(decoded.hasErrors());
+
+            for (int index = 0; index < data.size(); index++) {
+                if (index % 7 == 0) {
+                    assertTrue(decoded.isFailed(index));
+                    assertNull(decoded.get(index));
+                    continue;
+                }
+                assertNull(decoded.error(index));
+                assertArrayEquals(data.get(index), decoded.get(index));
+            }
+
+            final BatchResult<String> reencoded = Multibase.BASE_32.encodeAll(data, pool, threshold);
+
+            assertFalse(reencoded.hasErrors());
+
+            for (int index = 0; index < data.size(); index++) {
+                assertEquals(Multibase.BASE_32.encode(data.get(index)), reencoded.get(index));
+            }
+
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testEncodeAllErrors() {
+        final BatchResult<String> result = Multibase.BASE_58_BTC.encodeAll(Arrays.asList(new byte[] { 0, 1 }, new byte[0], null));
+
+        assertEquals(Arrays.asList("z12", null, null), result.values());
+        assertTrue(result.isFailed(1));
+        assertTrue(result.isFailed(2));
+    }
+
     @ParameterizedTest(name = "{index}: {0}")
     @MethodSource("testData")
     void testIsEncoded(String encoded, byte[] data, Multibase base) {
         assertTrue(base.isEncoded(encoded));
     }
 
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testValidate(String encoded, byte[] data, Multibase base) {
+        assertEquals(DecodeStatus.VALID, base.validate(encoded));
+        assertEquals(DecodeStatus.VALID, DECODER.validate(encoded));
+        assertTrue(base.isValid(encoded));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @CsvSource({
+            "'', EMPTY",
+            "' ', EMPTY",
+            "x666f6f, UNSUPPORTED_PREFIX",
+            "\u00e9666f6f, UNSUPPORTED_PREFIX",
+            "f666f6, INVALID_LENGTH",
+            "f666g6f, INVALID_CHARACTER",
+            "F666F6\u0166, INVALID_CHARACTER",
+            "00011001, INVALID_LENGTH",
+            "00011001x, INVALID_CHARACTER",
+            "bmzxw6yr, LEFTOVER_BITS",
+            "bmzxw6y0, INVALID_CHARACTER",
+            "cmzxw6y=, INVALID_LENGTH",
+            "cmzxw6y==, INVALID_PADDING",
+            "zSt0, INVALID_CHARACTER",
+            "zStl, INVALID_CHARACTER",
+            "m!!!, INVALID_CHARACTER",
+            "mZm9vYh, LEFTOVER_BITS",
+            "MZm9vYg=, INVALID_PADDING",
+    })
+    void testValidateInvalid(String encoded, DecodeStatus expected) {
+        assertEquals(expected, DECODER.validate(encoded));
+
+        final IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> DECODER.decode(encoded));
+
+        final DecodeResult result = DECODER.tryDecode(encoded);
+
+        assertFalse(result.isSuccess());
+        assertEquals(expected, result.status());
+        assertNull(result.value());
+        assertEquals(error.getMessage(), result.message());
+        assertEquals(error.getMessage(), assertThrows(IllegalArgumentException.class, result::orElseThrow).getMessage());
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testTryDecode(String encoded, byte[] expected, Multibase base) {
+        final DecodeResult result = DECODER.tryDecode(encoded);
+
+        assertTrue(result.isSuccess());
+        assertEquals(DecodeStatus.VALID, result.status());
+        assertEquals(base, result.base());
+        assertArrayEquals(expected, result.value());
+        assertArrayEquals(expected, base.tryDecode(encoded).orElseThrow());
+        assertNull(result.message());
+    }
+
+    @Test
+    void testTryDecodeCustomBase() {
+        final Multibase custom = new Multibase("custom", '\u00e9', 16, Base16::decode, d -> Base16.encode(d, Base16.ALPHABET_LOWER));
+
+        assertArrayEquals("foo".getBytes(), custom.tryDecode("\u00e9666f6f").value());
+        assertEquals(DecodeStatus.MALFORMED, custom.tryDecode("\u00e9666f6").status());
+        assertEquals(DecodeStatus.UNSUPPORTED_PREFIX, custom.tryDecode("f666f6f").status());
+        assertEquals(DecodeStatus.EMPTY, custom.tryDecode(null).status());
+    }
+
+    @Test
+    void testValidateCustomBase() {
+        final Multibase custom = new Multibase("custom", '\u00e9', 16, Base16::decode, d -> Base16.encode(d, Base16.ALPHABET_LOWER));
+
+        assertTrue(custom.isValid("\u00e9666f6f"));
+        assertEquals(DecodeStatus.MALFORMED, custom.validate("\u00e9666f6"));
+        assertEquals(DecodeStatus.UNSUPPORTED_PREFIX, custom.validate("f666f6f"));
+        assertEquals(DecodeStatus.EMPTY, custom.validate(null));
+    }
+
+    @Test
+    void testValidateMutations() {
+        final Random random = new Random(42);
+        final char[] mutations = "019aAfFgGlIoO0=-_/+ \u00e9".toCharArray();
+
+        for (final Multibase base : Multibase.provided()) {
+            for (int length = 1; length < 24; length++) {
+
+                final byte[] data = new byte[length];
+                random.nextBytes(data);
+
+                final char[] encoded = base.encode(data).toCharArray();
+
+                for (int index = 1; index < encoded.length; index++) {
+
+                    final char[] mutated = encoded.clone();
+                    mutated[index] = mutations[random.nextInt(mutations.length)];
+
+                    final String value = new String(mutated);
+
+                    boolean decoded = true;
+                    try {
+                        base.decode(value);
+
+                    } catch (IllegalArgumentException e) {
+                        decoded = false;
+                    }
+                    assertEquals(decoded, base.isValid(value), value);
+                    assertEquals(decoded, base.tryDecode(value).isSuccess(), value);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTryDecodeWithoutException() {
+        final Random random = new Random(21);
+        final char[] mutations = "019aAfFgGlIoO0=-_/+ \u00e9".toCharArray();
+
+        for (final Multibase base : Multibase.provided()) {
+
+            // only the non-throwing primitives are allowed on the way
+            final BaseCodec codec = new BaseCodec() {
+
+                @Override
+                public int encode(byte[] src, int off, int len, char[] dst, int dstOff) {
+                    throw new AssertionError();
+                }
+
+                @Override
+                public int decode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+                    throw new AssertionError("decoded through an exception");
+                }
+
+                @Override
+                public DecodeStatus validate(CharSequence src, int off, int len) {
+                    throw new AssertionError("validated twice");
+                }
+
+                @Override
+                public int decodedLength(CharSequence src, int off, int len) {
+                    throw new AssertionError("sized through an exception");
+                }
+
+                @Override
+                public int tryDecode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+                    return base.codec().tryDecode(src, off, len, dst, dstOff);
+                }
+
+                @Override
+                public int tryDecodedLength(CharSequence src, int off, int len) {
+                    return base.codec().tryDecodedLength(src, off, len);
+                }
+            };
+
+            final Multibase tested = new Multibase(base.name(), base.prefix(), base.length(), null, null, codec);
+
+            for (int length = 1; length < 24; length++) {
+
+                final byte[] data = new byte[length];
+                random.nextBytes(data);
+
+                final String encoded = base.encode(data);
+
+                assertArrayEquals(data, tested.tryDecode(encoded).value(), encoded);
+
+                for (int index = 1; index < encoded.length(); index++) {
+
+                    final char[] mutated = encoded.toCharArray();
+                    mutated[index] = mutations[random.nextInt(mutations.length)];
+
+                    final String value = new String(mutated);
+
+                    assertEquals(base.validate(value), tested.tryDecode(value).status(), value);
+                }
+
+                // truncated and overlong
+                assertEquals(base.validate(encoded.substring(0, encoded.length() - 1)), tested.tryDecode(encoded.substring(0, encoded.length() - 1)).status());
+                assertEquals(base.validate(encoded + "0"), tested.tryDecode(encoded + "0").status());
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testLengthData")
+    void testEncodedLength(Multibase base, byte[] data) {
+        final String encoded = base.encode(data);
+
+        if (base.codec() == null) {
+            assertEquals(-1, base.encodedLength(data.length));
+            assertEquals(-1, base.encodedLength(data));
+
+        } else if (base.codec().blockLength() == 0) {
+            assertTrue(base.encodedLength(data.length) >= encoded.length());
+            assertTrue(base.encodedLength(data) >= encoded.length());
+            assertTrue(base.encodedLength(data) <= base.encodedLength(data.length));
+
+        } else {
+            assertEquals(encoded.length(), base.encodedLength(data.length));
+            assertEquals(encoded.length(), base.encodedLength(data));
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testLengthData")
+    void testDecodedLength(Multibase base, byte[] data) {
+        final String encoded = base.encode(data);
+
+        if (base.codec() == null) {
+            assertEquals(-1, base.decodedLength(encoded));
+
+        } else if (base.codec().blockLength() == 0) {
+            assertTrue(base.decodedLength(encoded) >= data.length);
+
+        } else {
+            assertEquals(data.length, base.decodedLength(encoded));
+        }
+    }
+
+    @Test
+    void testBase58LengthZeros() {
+        final byte[] data = new byte[20];
+        final String encoded = Multibase.BASE_58_BTC.encode(data);
+
+        assertEquals(encoded.length(), Multibase.BASE_58_BTC.encodedLength(data));
+        assertEquals(data.length, Multibase.BASE_58_BTC.decodedLength(encoded));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "f666", "0011", "bmzx", "cmzxw6y=", "mZm9vY", "x666f6f" })
+    void testDecodedLengthInvalid(String encoded) {
+        assertThrows(IllegalArgumentException.class, () -> DECODER.getBase(encoded)
+                .orElse(Multibase.BASE_16)
+                .decodedLength(encoded));
+    }
+
+    static Stream<Arguments> testLengthData() {
+        final Random random = new Random(7);
+        return Arrays.stream(Multibase.provided())
+                .flatMap(base -> IntStream.range(1, 70)
+                        .mapToObj(length -> {
+                            final byte[] data = new byte[length];
+                            random.nextBytes(data);
+                            // leading zeros are counted exactly by base58
+                            data[0] = (byte) (length % 3 == 0 ? 0 : data[0]);
+                            return Arguments.of(base, data);
+                        }));
+    }
+
+    static Stream<Arguments> testBufferData() {
+        return Arrays.stream(Multibase.provided())
+                .flatMap(base -> IntStream.of(1, 7, 8191, 8192, 8193, 30000)
+                        .mapToObj(length -> Arguments.of(base, length)));
+    }
+
+    static ByteBuffer direct(byte[] data) {
+        return direct(ByteBuffer.wrap(data));
+    }
+
+    static ByteBuffer direct(ByteBuffer data) {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(data.remaining() + 2);
+        buffer.position(1);
+        buffer.put(data);
+        buffer.flip();
+        buffer.position(1);
+        return buffer;
+    }
+
     static Stream<Arguments> testData() {
         return Stream.of(
                 Arguments.of("F666F6F6261", "fooba".getBytes(), Multibase.BASE_16_UPPER),
                 Arguments.of("VCPNMUOG", "foob".getBytes(), Multibase.BASE_32_HEX_UPPER),
+                Arguments.of("vcpnmuog", "foob".getBytes(), Multibase.BASE_32_HEX),
+                Arguments.of("tcpnmuog=", "foob".getBytes(), Multibase.BASE_32_HEX_PAD),
+                Arguments.of("TCPNMUOG=", "foob".getBytes(), Multibase.BASE_32_HEX_PAD_UPPER),
+                Arguments.of("cmzxw6yq=", "foob".getBytes(), Multibase.BASE_32_PAD),
                 Arguments.of("bmzxw6ytboi", "foobar".getBytes(), Multibase.BASE_32),
                 Arguments.of("BMZXW6YTBOI", "foobar".getBytes(), Multibase.BASE_32_UPPER),
                 Arguments.of("CMZXW6YTBOI======", "foobar".getBytes(), Multibase.BASE_32_PAD_UPPER),
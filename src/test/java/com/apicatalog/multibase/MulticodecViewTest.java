@@ -0,0 +1,174 @@
+package com.apicatalog.multibase;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.apicatalog.base.DecodeStatus;
+
+public class MulticodecViewTest {
+
+    static final String ED25519_KEY = "z6MkhaXgBZDvotDkL5257faiztiGiC2QtKLGpbnnEGta2doK";
+
+    @Test
+    void testEd25519Key() {
+
+        final MulticodecView key = MultibaseDecoder.getInstance().decodeMulticodec(ED25519_KEY);
+
+        assertEquals(0xed, key.code());
+        assertEquals(2, key.offset());
+        assertEquals(32, key.length());
+        assertArrayEquals(Arrays.copyOfRange(Multibase.BASE_58_BTC.decode(ED25519_KEY), 2, 34), key.payload());
+
+        final ByteBuffer buffer = key.toByteBuffer();
+
+        assertTrue(buffer.isReadOnly());
+        assertEquals(0, buffer.position());
+        assertEquals(32, buffer.remaining());
+        assertEquals(key.array()[2], buffer.get(0));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testBases")
+    void testDecodeMulticodec(Multibase base) {
+
+        final Random random = new Random(25);
+
+        for (final long code : new long[] { 0, 0x12, 0x7f, 0x80, 0xed, 0x1200, 0x3fff, 0x4000, Long.MAX_VALUE }) {
+            for (final int length : new int[] { 0, 1, 32, 100 }) {
+
+                final byte[] payload = new byte[length];
+                random.nextBytes(payload);
+
+                final byte[] header = varint(code);
+                final byte[] data = Arrays.copyOf(header, header.length + length);
+                System.arraycopy(payload, 0, data, header.length, length);
+
+                final String encoded = base.encode(data);
+
+                final MulticodecView view = base.decodeMulticodec(encoded);
+
+                assertEquals(code, view.code());
+                assertEquals(header.length, view.offset());
+                assertEquals(length, view.length());
+                assertArrayEquals(payload, view.payload());
+                assertTrue(view.array().length >= view.offset() + view.length());
+
+                assertEquals(code, MultibaseDecoder.getInstance().decodeMulticodec(encoded).code());
+                assertArrayEquals(payload, CachingMultibaseDecoder.getInstance(16).decodeMulticodec(encoded).payload());
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testHeaders")
+    void testHeader(byte[] header, long expected) {
+
+        final MulticodecView view = MulticodecView.of(header, 0, header.length);
+
+        assertEquals(expected, view.code());
+        assertEquals(header.length, view.offset());
+        assertEquals(0, view.length());
+    }
+
+    @Test
+    void testHeaderRange() {
+
+        final MulticodecView view = MulticodecView.of(new byte[] { 9, (byte) 0xed, 0x01, 1, 2, 9 }, 1, 4);
+
+        assertEquals(0xed, view.code());
+        assertEquals(3, view.offset());
+        assertEquals(2, view.length());
+        assertArrayEquals(new byte[] { 1, 2 }, view.payload());
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testInvalidHeaders")
+    void testInvalidHeader(byte[] header) {
+        assertThrows(IllegalArgumentException.class, () -> MulticodecView.of(header, 0, header.length));
+        assertThrows(IllegalArgumentException.class, () -> Multibase.BASE_16.decodeMulticodec(Multibase.BASE_16.encode(header)));
+    }
+
+    @Test
+    void testInvalid() {
+
+        final MultibaseDecoder decoder = MultibaseDecoder.getInstance();
+
+        assertThrows(IllegalArgumentException.class, () -> decoder.decodeMulticodec(null));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decodeMulticodec(" "));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decodeMulticodec("x00"));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decodeMulticodec("z0"));
+        assertThrows(IllegalArgumentException.class, () -> Multibase.BASE_58_BTC.decodeMulticodec("f00"));
+    }
+
+    @Test
+    void testMetrics() {
+
+        final MultibaseStatistics stats = new MultibaseStatistics();
+        final MultibaseDecoder decoder = MultibaseDecoder.getInstance().withMetrics(stats);
+
+        decoder.decodeMulticodec(ED25519_KEY);
+
+        assertThrows(IllegalArgumentException.class, () -> decoder.decodeMulticodec("f80"));
+
+        assertEquals(1, stats.counters(Multibase.BASE_58_BTC).decodes());
+        assertEquals(34, stats.counters(Multibase.BASE_58_BTC).decodedBytes());
+        assertEquals(1, stats.counters(Multibase.BASE_16).failures(DecodeStatus.MALFORMED));
+    }
+
+    static Stream<Multibase> testBases() {
+        return Stream.of(Multibase.provided());
+    }
+
+    static Stream<Arguments> testHeaders() {
+        return Stream.of(
+                Arguments.of(bytes(0x00), 0L),
+                Arguments.of(bytes(0x01), 1L),
+                Arguments.of(bytes(0x7f), 0x7fL),
+                Arguments.of(bytes(0x80, 0x01), 0x80L),
+                Arguments.of(bytes(0xed, 0x01), 0xedL),
+                Arguments.of(bytes(0xff, 0x7f), 0x3fffL),
+                Arguments.of(bytes(0x80, 0x80, 0x01), 0x4000L),
+                Arguments.of(bytes(0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0x7f), Long.MAX_VALUE));
+    }
+
+    static Stream<byte[]> testInvalidHeaders() {
+        return Stream.of(
+                bytes(),
+                bytes(0x80),
+                bytes(0xed),
+                bytes(0x81, 0x00),
+                bytes(0xff, 0x80, 0x00),
+                bytes(0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0x01));
+    }
+
+    static byte[] varint(long value) {
+        final byte[] varint = new byte[MulticodecView.MAX_VARINT_LENGTH];
+        int index = 0;
+        while ((value & ~0x7fL) != 0) {
+            varint[index++] = (byte) (value & 0x7f | 0x80);
+            value >>>= 7;
+        }
+        varint[index++] = (byte) value;
+        return Arrays.copyOf(varint, index);
+    }
+
+    static byte[] bytes(int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int index = 0; index < values.length; index++) {
+            bytes[index] = (byte) values[index];
+        }
+        return bytes;
+    }
+}